@@ -0,0 +1,132 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.SmartPoolBuilder;
+import com.smart.pool.core.ThreadPoolManager;
+import com.smart.pool.core.queue.QueueType;
+
+import java.util.concurrent.*;
+
+/**
+ * 基准测试用线程池工厂
+ * <p>
+ * 按名称创建被测执行器，保证各实现使用相同的线程数和队列配置，
+ * 使结果只反映执行器本身的开销。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class BenchmarkExecutors {
+
+    /**
+     * 被测执行器的线程数
+     */
+    static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 有界队列容量
+     */
+    static final int QUEUE_CAPACITY = 1 << 16;
+
+    /**
+     * DYNAMIC_DRAIN模式下工作线程单次批量出队的最大任务数
+     */
+    static final int DRAIN_BATCH = 32;
+
+    private BenchmarkExecutors() {
+    }
+
+    /**
+     * 创建基于工作队列的被测执行器
+     *
+     * @param executorType DYNAMIC / DYNAMIC_FAST_PATH / DYNAMIC_DRAIN / THREAD_POOL
+     * @param queueType    LINKED / RESIZABLE_LINKED / ARRAY / MPMC
+     * @return 执行器
+     */
+    static ExecutorService create(String executorType, String queueType) {
+        switch (executorType) {
+            case "DYNAMIC":
+            case "DYNAMIC_FAST_PATH":
+            case "DYNAMIC_DRAIN":
+                return SmartPoolBuilder.create("bench-" + executorType.toLowerCase())
+                        .corePoolSize(THREADS)
+                        .maxPoolSize(THREADS)
+                        .workQueue(newQueue(queueType))
+                        .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                        .fastPath(!"DYNAMIC".equals(executorType))
+                        .drainBatch("DYNAMIC_DRAIN".equals(executorType) ? DRAIN_BATCH : 1)
+                        .build();
+            case "THREAD_POOL":
+                return new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                        newQueue(queueType), new ThreadPoolExecutor.AbortPolicy());
+            default:
+                throw new IllegalArgumentException("Unknown executor type: " + executorType);
+        }
+    }
+
+    /**
+     * 创建ForkJoin被测执行器，不使用共享工作队列，因此没有队列类型参数
+     *
+     * @param executorType FORK_JOIN / DYNAMIC_FORK_JOIN
+     * @return 执行器
+     */
+    static ExecutorService createForkJoin(String executorType) {
+        switch (executorType) {
+            case "FORK_JOIN":
+                return new ForkJoinPool(THREADS);
+            case "DYNAMIC_FORK_JOIN":
+                return SmartPoolBuilder.create("bench-dynamic-fork-join")
+                        .parallelism(THREADS)
+                        .buildForkJoin();
+            default:
+                throw new IllegalArgumentException("Unknown executor type: " + executorType);
+        }
+    }
+
+    /**
+     * 创建默认容量的工作队列
+     *
+     * @param queueType LINKED / RESIZABLE_LINKED / ARRAY / MPMC
+     * @return 工作队列
+     */
+    static BlockingQueue<Runnable> newQueue(String queueType) {
+        return newQueue(queueType, QUEUE_CAPACITY);
+    }
+
+    /**
+     * 创建工作队列
+     *
+     * @param queueType LINKED / RESIZABLE_LINKED / ARRAY / MPMC
+     * @param capacity  队列容量
+     * @return 工作队列
+     */
+    static BlockingQueue<Runnable> newQueue(String queueType, int capacity) {
+        return QueueType.valueOf(queueType).create(capacity);
+    }
+
+    /**
+     * 关闭执行器并从线程池管理器中移除
+     *
+     * @param executor 执行器
+     */
+    static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        ThreadPoolManager.clear();
+    }
+
+    /**
+     * 模拟指定时长的CPU计算
+     *
+     * @param nanos 计算时长（纳秒），0表示空任务
+     */
+    static void work(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + nanos;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
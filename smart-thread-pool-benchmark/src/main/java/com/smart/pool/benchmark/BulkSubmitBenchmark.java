@@ -0,0 +1,78 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.DynamicThreadPoolExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量提交基准
+ * <p>
+ * 每次操作提交batchSize个空任务并等待全部执行完，对比逐个execute与{@link DynamicThreadPoolExecutor#executeAll}
+ * 的扇出开销。队列容量足够容纳整批任务，两种方式都不会触发拒绝。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar BulkSubmitBenchmark
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkSubmitBenchmark {
+
+    @Param({"RESIZABLE_LINKED", "PRIORITY"})
+    public String queueType;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private DynamicThreadPoolExecutor executor;
+
+    private Phaser phaser;
+
+    private List<Runnable> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = (DynamicThreadPoolExecutor) BenchmarkExecutors.create("DYNAMIC", queueType);
+        phaser = new Phaser(1);
+        Phaser p = phaser;
+        Runnable task = p::arriveAndDeregister;
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(task);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(executor);
+    }
+
+    @Benchmark
+    public void executeLoop() {
+        phaser.bulkRegister(batchSize);
+        for (Runnable task : batch) {
+            executor.execute(task);
+        }
+        phaser.arriveAndAwaitAdvance();
+    }
+
+    @Benchmark
+    public void executeAll() {
+        phaser.bulkRegister(batchSize);
+        executor.executeAll(batch);
+        phaser.arriveAndAwaitAdvance();
+    }
+}
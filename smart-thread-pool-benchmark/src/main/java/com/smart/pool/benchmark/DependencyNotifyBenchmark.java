@@ -0,0 +1,48 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.ThreadPoolDependencyManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 依赖通知开销基准
+ * <p>
+ * 衡量每次任务完成都会调用的ThreadPoolDependencyManager.notifyCompletion在多线程下的开销：
+ * 没有依赖的线程池（绝大多数情况）和依赖了未注册线程池的线程池。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DependencyNotifyBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadPoolDependencyManager.clearDependencies();
+        ThreadPoolDependencyManager.addDependency("bench-upstream", "bench-unregistered-downstream");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadPoolDependencyManager.clearDependencies();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void noDependents() {
+        ThreadPoolDependencyManager.notifyCompletion("bench-independent");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void withDependents() {
+        ThreadPoolDependencyManager.notifyCompletion("bench-upstream");
+    }
+}
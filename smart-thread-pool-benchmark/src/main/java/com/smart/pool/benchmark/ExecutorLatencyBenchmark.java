@@ -0,0 +1,123 @@
+package com.smart.pool.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行器往返延迟基准
+ * <p>
+ * 每次操作提交一个任务并自旋等待其执行结束，使用SampleTime模式输出提交到完成的延迟分位数
+ * （p50/p90/p99/p99.9/p99.99）。每个生产者线程复用同一个任务对象，
+ * 配合 -prof gc 可以直接看出执行器每个任务的分配字节数。
+ * 不使用工作队列的ForkJoinPool和DynamicForkJoinPool见{@link ForkJoinLatencyBenchmark}。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar ExecutorLatencyBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorLatencyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutorHolder {
+
+        @Param({"DYNAMIC", "DYNAMIC_FAST_PATH", "DYNAMIC_DRAIN", "THREAD_POOL"})
+        public String executorType;
+
+        @Param({"LINKED", "RESIZABLE_LINKED", "ARRAY", "MPMC"})
+        public String queueType;
+
+        /**
+         * 任务耗时：空任务、1µs、100µs
+         */
+        @Param({"0", "1000", "100000"})
+        public long taskNanos;
+
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = BenchmarkExecutors.create(executorType, queueType);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            BenchmarkExecutors.shutdown(executor);
+        }
+    }
+
+    /**
+     * 每个生产者线程独享的可复用任务
+     */
+    @State(Scope.Thread)
+    public static class RoundTrip implements Runnable {
+
+        volatile boolean done;
+
+        long taskNanos;
+
+        @Setup(Level.Trial)
+        public void setUp(ExecutorHolder holder) {
+            taskNanos = holder.taskNanos;
+        }
+
+        @Override
+        public void run() {
+            BenchmarkExecutors.work(taskNanos);
+            done = true;
+        }
+
+        void await() {
+            // 先自旋，再让出CPU，避免生产者线程多于CPU时饿死工作线程
+            int spins = 0;
+            while (!done) {
+                if (++spins < 1000) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    private static void roundTrip(ExecutorHolder holder, RoundTrip task) {
+        task.done = false;
+        holder.executor.execute(task);
+        task.await();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers01(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers04(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void producers64(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+}
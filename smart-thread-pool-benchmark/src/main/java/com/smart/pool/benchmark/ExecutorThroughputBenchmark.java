@@ -0,0 +1,103 @@
+package com.smart.pool.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行器吞吐量基准
+ * <p>
+ * 对比SmartPoolBuilder构建的DynamicThreadPoolExecutor（普通模式、快速路径模式和批量出队模式）
+ * 与裸ThreadPoolExecutor在不同任务大小、队列类型和生产者数量下的持续吞吐量。
+ * 每次操作提交一个任务，通过信号量限制在途任务数，避免队列无限增长。
+ * 不使用工作队列的ForkJoinPool和DynamicForkJoinPool见{@link ForkJoinThroughputBenchmark}。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar ExecutorThroughputBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorThroughputBenchmark {
+
+    /**
+     * 在途任务上限
+     */
+    private static final int MAX_IN_FLIGHT = 4096;
+
+    @Param({"DYNAMIC", "DYNAMIC_FAST_PATH", "DYNAMIC_DRAIN", "THREAD_POOL"})
+    public String executorType;
+
+    @Param({"LINKED", "RESIZABLE_LINKED", "ARRAY", "MPMC"})
+    public String queueType;
+
+    /**
+     * 任务耗时：空任务、1µs、100µs
+     */
+    @Param({"0", "1000", "100000"})
+    public long taskNanos;
+
+    private ExecutorService executor;
+
+    private Semaphore inFlight;
+
+    private Runnable task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = BenchmarkExecutors.create(executorType, queueType);
+        inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long nanos = taskNanos;
+        Semaphore permits = inFlight;
+        // 任务对象复用，测得的分配只来自执行器本身
+        task = () -> {
+            BenchmarkExecutors.work(nanos);
+            permits.release();
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(executor);
+    }
+
+    private void submit() throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(task);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers01() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers04() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void producers64() throws InterruptedException {
+        submit();
+    }
+}
@@ -0,0 +1,119 @@
+package com.smart.pool.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ForkJoin执行器往返延迟基准
+ * <p>
+ * 对比ForkJoinPool和DynamicForkJoinPool的往返延迟，测量方式与{@link ExecutorLatencyBenchmark}相同：
+ * 每次操作提交一个任务并自旋等待其执行结束，使用SampleTime模式输出延迟分位数。
+ * ForkJoin不使用共享工作队列，单独成类以免与队列类型参数交叉出重复结果。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar ForkJoinLatencyBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForkJoinLatencyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutorHolder {
+
+        @Param({"FORK_JOIN", "DYNAMIC_FORK_JOIN"})
+        public String executorType;
+
+        /**
+         * 任务耗时：空任务、1µs、100µs
+         */
+        @Param({"0", "1000", "100000"})
+        public long taskNanos;
+
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = BenchmarkExecutors.createForkJoin(executorType);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            BenchmarkExecutors.shutdown(executor);
+        }
+    }
+
+    /**
+     * 每个生产者线程独享的可复用任务
+     */
+    @State(Scope.Thread)
+    public static class RoundTrip implements Runnable {
+
+        volatile boolean done;
+
+        long taskNanos;
+
+        @Setup(Level.Trial)
+        public void setUp(ExecutorHolder holder) {
+            taskNanos = holder.taskNanos;
+        }
+
+        @Override
+        public void run() {
+            BenchmarkExecutors.work(taskNanos);
+            done = true;
+        }
+
+        void await() {
+            // 先自旋，再让出CPU，避免生产者线程多于CPU时饿死工作线程
+            int spins = 0;
+            while (!done) {
+                if (++spins < 1000) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    private static void roundTrip(ExecutorHolder holder, RoundTrip task) {
+        task.done = false;
+        holder.executor.execute(task);
+        task.await();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers01(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers04(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void producers64(ExecutorHolder holder, RoundTrip task) {
+        roundTrip(holder, task);
+    }
+}
@@ -0,0 +1,98 @@
+package com.smart.pool.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ForkJoin执行器吞吐量基准
+ * <p>
+ * 对比ForkJoinPool和DynamicForkJoinPool在不同任务大小和生产者数量下的持续吞吐量，
+ * 测量方式与{@link ExecutorThroughputBenchmark}相同。ForkJoin不使用共享工作队列，单独成类以免与队列类型参数交叉出重复结果。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar ForkJoinThroughputBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForkJoinThroughputBenchmark {
+
+    /**
+     * 在途任务上限
+     */
+    private static final int MAX_IN_FLIGHT = 4096;
+
+    @Param({"FORK_JOIN", "DYNAMIC_FORK_JOIN"})
+    public String executorType;
+
+    /**
+     * 任务耗时：空任务、1µs、100µs
+     */
+    @Param({"0", "1000", "100000"})
+    public long taskNanos;
+
+    private ExecutorService executor;
+
+    private Semaphore inFlight;
+
+    private Runnable task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = BenchmarkExecutors.createForkJoin(executorType);
+        inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long nanos = taskNanos;
+        Semaphore permits = inFlight;
+        // 任务对象复用，测得的分配只来自执行器本身
+        task = () -> {
+            BenchmarkExecutors.work(nanos);
+            permits.release();
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(executor);
+    }
+
+    private void submit() throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(task);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers01() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers04() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16() throws InterruptedException {
+        submit();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void producers64() throws InterruptedException {
+        submit();
+    }
+}
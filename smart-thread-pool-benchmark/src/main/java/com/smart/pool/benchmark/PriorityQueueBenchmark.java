@@ -0,0 +1,76 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.PriorityTask;
+import com.smart.pool.core.queue.QueueType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 优先级队列开销基准
+ * <p>
+ * 队列中预先积压backlog个随机优先级（0~15）的任务，每次调用出队一个、再入队一个，保持积压量不变，
+ * 衡量单次入队+出队的耗时。堆实现的开销随积压量按O(log n)增长，分级桶实现应与积压量无关。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar PriorityQueueBenchmark
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriorityQueueBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    /**
+     * 预先创建的任务种类数，入队时循环使用
+     */
+    private static final int TASK_POOL_SIZE = 1024;
+
+    @Param({"PRIORITY", "BUCKETED_PRIORITY"})
+    public String queueType;
+
+    /**
+     * 积压任务数
+     */
+    @Param({"1000", "100000"})
+    public int backlog;
+
+    private BlockingQueue<Runnable> queue;
+
+    private PriorityTask[] tasks;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = QueueType.valueOf(queueType).create(backlog + 1);
+        tasks = new PriorityTask[TASK_POOL_SIZE];
+        long seed = 42L;
+        for (int i = 0; i < TASK_POOL_SIZE; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            tasks[i] = new PriorityTask(NOOP, (int) (seed >>> 60));
+        }
+        for (int i = 0; i < backlog; i++) {
+            queue.offer(tasks[i & (TASK_POOL_SIZE - 1)]);
+        }
+    }
+
+    @Benchmark
+    public Runnable pollThenOffer() {
+        Runnable r = queue.poll();
+        queue.offer(tasks[cursor++ & (TASK_POOL_SIZE - 1)]);
+        return r;
+    }
+}
@@ -0,0 +1,107 @@
+package com.smart.pool.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工作队列吞吐量基准
+ * <p>
+ * 脱离线程池单独衡量队列的入队/出队吞吐量：生产者线程offer、消费者线程poll，队列满或空时自旋重试，
+ * 结果中offer与poll两项之和约为两倍的传递次数。用于对比各队列实现，例如验证
+ * ResizableLinkedBlockingQueue不慢于LinkedBlockingQueue，以及MPMC在大量生产者下相对两种JDK队列的表现。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar QueueBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class QueueBenchmark {
+
+    private static final Runnable ELEMENT = () -> {
+    };
+
+    @Param({"LINKED", "RESIZABLE_LINKED", "ARRAY", "MPMC"})
+    public String queueType;
+
+    /**
+     * 队列容量
+     */
+    @Param({"1024"})
+    public int capacity;
+
+    private BlockingQueue<Runnable> queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = BenchmarkExecutors.newQueue(queueType, capacity);
+    }
+
+    private void offer(Control control) {
+        while (!queue.offer(ELEMENT) && !control.stopMeasurement) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Runnable poll(Control control) {
+        Runnable e;
+        while ((e = queue.poll()) == null && !control.stopMeasurement) {
+            Thread.onSpinWait();
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void p1c1Offer(Control control) {
+        offer(control);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public Runnable p1c1Poll(Control control) {
+        return poll(control);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void p4c4Offer(Control control) {
+        offer(control);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public Runnable p4c4Poll(Control control) {
+        return poll(control);
+    }
+
+    @Benchmark
+    @Group("p64c4")
+    @GroupThreads(64)
+    public void p64c4Offer(Control control) {
+        offer(control);
+    }
+
+    @Benchmark
+    @Group("p64c4")
+    @GroupThreads(4)
+    public Runnable p64c4Poll(Control control) {
+        return poll(control);
+    }
+}
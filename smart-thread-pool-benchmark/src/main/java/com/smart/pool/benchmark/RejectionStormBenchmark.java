@@ -0,0 +1,109 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartPoolBuilder;
+import com.smart.pool.core.ThreadPoolManager;
+import com.smart.pool.core.reject.RejectedStrategyManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * 拒绝风暴基准
+ * <p>
+ * 线程池的唯一工作线程被阻塞、队列容量为1，之后的每次提交都会进入拒绝路径，
+ * 用于衡量不同拒绝处理方式在持续拒绝下对提交线程的开销：
+ * </p>
+ * <ul>
+ *     <li>DISCARD：ThreadPoolExecutor.DiscardPolicy，作为基线</li>
+ *     <li>ABORT：AbortPolicy，包含DynamicThreadPoolExecutor记录拒绝日志与抛出异常的开销</li>
+ *     <li>SPI：RejectedStrategyManager::handleRejected，遍历SPI并回退到默认重试策略
+ *     （默认策略每次最多阻塞3×100ms，结果主要反映该等待时间）</li>
+ * </ul>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectionStormBenchmark {
+
+    @Param({"DISCARD", "ABORT", "SPI"})
+    public String handlerType;
+
+    private DynamicThreadPoolExecutor executor;
+
+    private CountDownLatch release;
+
+    private final Runnable task = () -> {
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        executor = SmartPoolBuilder.create("bench-reject")
+                .corePoolSize(1)
+                .maxPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(handler())
+                .build();
+        release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        // 填满队列，之后的提交全部被拒绝
+        executor.execute(task);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        ThreadPoolManager.clear();
+    }
+
+    private RejectedExecutionHandler handler() {
+        switch (handlerType) {
+            case "DISCARD":
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case "ABORT":
+                return new ThreadPoolExecutor.AbortPolicy();
+            case "SPI":
+                return RejectedStrategyManager::handleRejected;
+            default:
+                throw new IllegalArgumentException("Unknown handler type: " + handlerType);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean producers01() {
+        return submit();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean producers08() {
+        return submit();
+    }
+
+    private boolean submit() {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartPoolBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 提交路径分配基准
+ * <p>
+ * 每次操作提交BATCH个带一个参数的任务并等待全部执行完，比较三种提交方式：
+ * <ul>
+ *     <li>SUBMIT：submit预先创建的Runnable，每个任务分配一个FutureTask</li>
+ *     <li>EXECUTE_LAMBDA：execute捕获参数的lambda，每个任务分配一个lambda对象</li>
+ *     <li>EXECUTE_POOLED：{@link DynamicThreadPoolExecutor#executePooled}，任务对象回收复用</li>
+ * </ul>
+ * 链表队列每次入队还会分配一个节点，数组队列不分配。配合{@code -prof gc}查看gc.alloc.rate.norm，
+ * 即每个任务的分配字节数，EXECUTE_POOLED配合MPMC队列应接近0。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar SubmitAllocationBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmitAllocationBenchmark {
+
+    /**
+     * 每次操作提交的任务数
+     */
+    private static final int BATCH = 1000;
+
+    /**
+     * 不捕获变量的任务逻辑，参数在提交时传入
+     */
+    private static final Consumer<Phaser> ARRIVE = Phaser::arriveAndDeregister;
+
+    @Param({"SUBMIT", "EXECUTE_LAMBDA", "EXECUTE_POOLED"})
+    public String mode;
+
+    @Param({"RESIZABLE_LINKED", "MPMC"})
+    public String queueType;
+
+    private DynamicThreadPoolExecutor executor;
+
+    private Phaser phaser;
+
+    private Runnable task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = SmartPoolBuilder.create("bench-alloc-" + mode.toLowerCase() + "-" + queueType.toLowerCase())
+                .corePoolSize(BenchmarkExecutors.THREADS)
+                .maxPoolSize(BenchmarkExecutors.THREADS)
+                .workQueue(BenchmarkExecutors.newQueue(queueType))
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        phaser = new Phaser(1);
+        Phaser p = phaser;
+        task = p::arriveAndDeregister;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(executor);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void submit() {
+        Phaser p = phaser;
+        p.bulkRegister(BATCH);
+        switch (mode) {
+            case "SUBMIT":
+                for (int i = 0; i < BATCH; i++) {
+                    executor.submit(task);
+                }
+                break;
+            case "EXECUTE_LAMBDA":
+                for (int i = 0; i < BATCH; i++) {
+                    executor.execute(() -> ARRIVE.accept(p));
+                }
+                break;
+            default:
+                for (int i = 0; i < BATCH; i++) {
+                    executor.executePooled(ARRIVE, p);
+                }
+                break;
+        }
+        p.arriveAndAwaitAdvance();
+    }
+}
@@ -0,0 +1,139 @@
+package com.smart.pool.benchmark;
+
+import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartPoolBuilder;
+import com.smart.pool.core.TaskDecorator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务上下文传递开销基准
+ * <p>
+ * 每次操作提交BATCH个任务并等待全部执行完，提交线程上带有一个链路追踪ID，比较三种方式：
+ * <ul>
+ *     <li>NONE：不传递上下文，作为基线</li>
+ *     <li>LAMBDA：每个任务包装一层捕获追踪ID的lambda，在工作线程中设置再清除</li>
+ *     <li>DECORATOR：通过{@link TaskDecorator}传递，上下文保存在线程池回收复用的载体中</li>
+ * </ul>
+ * 工作队列使用无锁数组队列，入队本身不分配对象。配合{@code -prof gc}查看gc.alloc.rate.norm，
+ * 该值为每个任务的分配字节数：DECORATOR应与NONE相同，LAMBDA每个任务多出包装对象的分配。
+ * </p>
+ *
+ * 运行示例：
+ * <pre>
+ * java -jar smart-thread-pool-benchmark/target/benchmarks.jar TaskDecoratorBenchmark -prof gc
+ * </pre>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDecoratorBenchmark {
+
+    /**
+     * 每次操作提交的任务数
+     */
+    private static final int BATCH = 1000;
+
+    /**
+     * 模拟MDC的线程上下文
+     */
+    private static final ThreadLocal<String> TRACE_ID = new ThreadLocal<>();
+
+    @Param({"NONE", "LAMBDA", "DECORATOR"})
+    public String mode;
+
+    private DynamicThreadPoolExecutor executor;
+
+    private Phaser phaser;
+
+    private Runnable task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SmartPoolBuilder builder = SmartPoolBuilder.create("bench-decorator-" + mode.toLowerCase())
+                .corePoolSize(BenchmarkExecutors.THREADS)
+                .maxPoolSize(BenchmarkExecutors.THREADS)
+                .workQueue(BenchmarkExecutors.newQueue("MPMC"))
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy());
+        if ("DECORATOR".equals(mode)) {
+            builder.taskDecorator(new TraceIdDecorator());
+        }
+        executor = builder.build();
+        phaser = new Phaser(1);
+        Phaser p = phaser;
+        task = p::arriveAndDeregister;
+        TRACE_ID.set("trace-0001");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        TRACE_ID.remove();
+        BenchmarkExecutors.shutdown(executor);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void submit() {
+        phaser.bulkRegister(BATCH);
+        if ("LAMBDA".equals(mode)) {
+            for (int i = 0; i < BATCH; i++) {
+                String traceId = TRACE_ID.get();
+                Runnable r = task;
+                executor.execute(() -> {
+                    TRACE_ID.set(traceId);
+                    try {
+                        r.run();
+                    } finally {
+                        TRACE_ID.set(null);
+                    }
+                });
+            }
+        } else {
+            for (int i = 0; i < BATCH; i++) {
+                executor.execute(task);
+            }
+        }
+        phaser.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * 传递追踪ID的装饰器，容器只保存一个引用
+     */
+    static final class TraceIdDecorator implements TaskDecorator<String[]> {
+
+        @Override
+        public String[] newContext() {
+            return new String[1];
+        }
+
+        @Override
+        public void capture(String[] context) {
+            context[0] = TRACE_ID.get();
+        }
+
+        @Override
+        public void restore(String[] context) {
+            TRACE_ID.set(context[0]);
+        }
+
+        @Override
+        public void clear(String[] context) {
+            // set(null)保留ThreadLocalMap中的条目，remove之后的下一次set会重新分配条目
+            TRACE_ID.set(null);
+        }
+
+        @Override
+        public void release(String[] context) {
+            context[0] = null;
+        }
+    }
+}
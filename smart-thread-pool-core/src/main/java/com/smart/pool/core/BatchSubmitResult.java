@@ -0,0 +1,65 @@
+package com.smart.pool.core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量提交结果
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#executeAll}返回，逐个列出未能进入线程池的任务，
+ * 调用方可以据此重试、降级或记录，而不是让整批任务共享一个异常。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class BatchSubmitResult {
+
+    /**
+     * 被线程池接收的任务数
+     */
+    private final int acceptedCount;
+
+    /**
+     * 被拒绝的任务，保持提交顺序
+     */
+    private final List<Runnable> rejected;
+
+    /**
+     * 构造批量提交结果
+     *
+     * @param acceptedCount 被接收的任务数
+     * @param rejected      被拒绝的任务
+     */
+    public BatchSubmitResult(int acceptedCount, List<Runnable> rejected) {
+        this.acceptedCount = acceptedCount;
+        this.rejected = Collections.unmodifiableList(rejected);
+    }
+
+    /**
+     * 获取被接收的任务数
+     *
+     * @return 被接收的任务数
+     */
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * 获取被拒绝的任务
+     *
+     * @return 被拒绝的任务，不可修改
+     */
+    public List<Runnable> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * 是否全部任务都被接收
+     *
+     * @return 没有任务被拒绝返回true
+     */
+    public boolean isAllAccepted() {
+        return rejected.isEmpty();
+    }
+}
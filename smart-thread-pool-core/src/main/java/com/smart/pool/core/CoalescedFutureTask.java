@@ -0,0 +1,66 @@
+package com.smart.pool.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按键合并提交的FutureTask
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#submitCoalesced}创建。任务在排队期间登记在线程池的待执行表中，
+ * 同一键的后续提交直接共享该任务的Future；任务开始执行、被取消或被拒绝时从表中移除，
+ * 之后的提交会创建新任务，因此执行过程中发生的变化不会被漏掉。
+ * </p>
+ *
+ * @param <V> 任务结果类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+class CoalescedFutureTask<V> extends TimedFutureTask<V> {
+
+    /**
+     * 合并键
+     */
+    private final Object key;
+
+    /**
+     * 所属线程池的待执行表
+     */
+    private final ConcurrentMap<Object, CoalescedFutureTask<?>> pending;
+
+    /**
+     * 构造合并任务
+     *
+     * @param key      合并键
+     * @param callable 要执行的任务
+     * @param pending  所属线程池的待执行表
+     */
+    CoalescedFutureTask(Object key, Callable<V> callable, ConcurrentMap<Object, CoalescedFutureTask<?>> pending) {
+        super(callable);
+        this.key = key;
+        this.pending = pending;
+    }
+
+    /**
+     * 从待执行表中移除，此后同一键的提交不再合并到本任务
+     */
+    void unregister() {
+        pending.remove(key, this);
+    }
+
+    /**
+     * 开始执行前先移除登记，执行期间的新提交会重新排队
+     */
+    @Override
+    public void run() {
+        unregister();
+        super.run();
+    }
+
+    /**
+     * 排队期间被取消时同样移除登记
+     */
+    @Override
+    protected void done() {
+        unregister();
+    }
+}
@@ -0,0 +1,129 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.limit.ConcurrencyLimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程池的并发准入控制
+ * <p>
+ * 统计已准入、尚未执行完成的任务数（排队和正在执行），提交时以CAS在上限内占用额度，
+ * 多个线程同时提交也不会超出{@link ConcurrencyLimit}的当前上限；任务执行完成、被拒绝或从队列移除时归还额度，
+ * 执行完成的任务再把执行耗时交给上限算法。
+ * </p>
+ * <p>
+ * 归还的额度不会使计数小于0：设置并发上限之前已入队的任务、拒绝处理器直接放回队列的任务没有占用额度，
+ * 执行完成时的归还被忽略。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class ConcurrencyLimiter {
+
+    private final ConcurrencyLimit limit;
+
+    /**
+     * 已准入、尚未执行完成的任务数
+     */
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    /**
+     * 正在执行的任务数
+     */
+    private final AtomicInteger executing = new AtomicInteger();
+
+    /**
+     * 因超过并发上限被拒绝的任务数
+     */
+    private final LongAdder limitedCount = new LongAdder();
+
+    ConcurrencyLimiter(ConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    ConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * 占用一个任务的额度
+     *
+     * @return 占用成功返回true，已达到上限时计入被限制的任务数并返回false
+     */
+    boolean tryAcquire() {
+        return acquire(1) == 1;
+    }
+
+    /**
+     * 在上限内占用一批任务的额度，超出的部分计入被限制的任务数
+     *
+     * @param requested 请求接收的任务数
+     * @return 占用成功的任务数
+     */
+    int acquire(int requested) {
+        int max = limit.getLimit();
+        while (true) {
+            int current = admitted.get();
+            int granted = Math.max(0, Math.min(requested, max - current));
+            if (granted == 0 || admitted.compareAndSet(current, current + granted)) {
+                if (granted < requested) {
+                    limitedCount.add(requested - granted);
+                }
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * 已准入的任务不会再执行（被拒绝、从队列移除），归还额度
+     *
+     * @param count 任务数
+     */
+    void release(int count) {
+        while (true) {
+            int current = admitted.get();
+            int next = Math.max(0, current - count);
+            if (next == current || admitted.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 任务开始执行
+     */
+    void onStart() {
+        executing.incrementAndGet();
+    }
+
+    /**
+     * 任务执行结束，归还额度并把样本交给上限算法
+     *
+     * @param startNanos 开始执行时间
+     * @param endNanos   执行结束时间
+     * @param dropped    任务是否以异常结束
+     */
+    void onComplete(long startNanos, long endNanos, boolean dropped) {
+        int inflight = executing.getAndDecrement();
+        release(1);
+        limit.onSample(startNanos, endNanos - startNanos, inflight, dropped);
+    }
+
+    /**
+     * 任务未真正执行（如出队时已过期）就结束，归还额度，不产生采样
+     */
+    void onDiscard() {
+        executing.decrementAndGet();
+        release(1);
+    }
+
+    int getExecuting() {
+        return executing.get();
+    }
+
+    long getLimitedCount() {
+        return limitedCount.sum();
+    }
+}
@@ -0,0 +1,165 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.queue.MpmcArrayBlockingQueue;
+import com.smart.pool.core.queue.Prioritized;
+
+/**
+ * 携带提交线程上下文的可回收任务载体
+ * <p>
+ * 配置了{@link TaskDecorator}时，{@link DynamicThreadPoolExecutor}把提交的任务放入载体再入队：
+ * 提交时捕获上下文，beforeExecute中恢复，afterExecute中清除并回收载体。载体的入队时间和优先级
+ * 转交给被包装的任务，队列和指标对载体的处理与原任务相同。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class ContextCarrier implements TimedTask, Prioritized {
+
+    /**
+     * 所属载体池
+     */
+    private final Pool pool;
+
+    /**
+     * 上下文容器，由装饰器创建并在载体的整个生命周期内复用
+     */
+    private final Object context;
+
+    /**
+     * 被包装的任务，回收后为null
+     */
+    private Runnable task;
+
+    /**
+     * 被包装的任务不记录入队时间时使用的入队时间
+     */
+    private long enqueueNanos;
+
+    private ContextCarrier(Pool pool) {
+        this.pool = pool;
+        this.context = pool.decorator.newContext();
+    }
+
+    /**
+     * 获取被包装的任务
+     *
+     * @return 原任务
+     */
+    Runnable getTask() {
+        return task;
+    }
+
+    /**
+     * 在工作线程中恢复上下文
+     */
+    void restore() {
+        pool.decorator.restore(context);
+    }
+
+    /**
+     * 在工作线程中清除上下文并回收载体
+     */
+    void clearAndRecycle() {
+        try {
+            pool.decorator.clear(context);
+        } finally {
+            recycle();
+        }
+    }
+
+    /**
+     * 释放上下文和任务引用后放回载体池，载体池已满时丢弃
+     */
+    void recycle() {
+        try {
+            pool.decorator.release(context);
+        } finally {
+            task = null;
+            enqueueNanos = 0L;
+            pool.free.offer(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        task.run();
+    }
+
+    @Override
+    public long getEnqueueNanos() {
+        Runnable r = task;
+        return r instanceof TimedTask ? ((TimedTask) r).getEnqueueNanos() : enqueueNanos;
+    }
+
+    @Override
+    public void setEnqueueNanos(long enqueueNanos) {
+        Runnable r = task;
+        if (r instanceof TimedTask) {
+            ((TimedTask) r).setEnqueueNanos(enqueueNanos);
+        } else {
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+    @Override
+    public int getPriority() {
+        Runnable r = task;
+        return r instanceof Prioritized ? ((Prioritized) r).getPriority() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(task);
+    }
+
+    /**
+     * 载体池
+     * <p>
+     * 载体由提交线程取出、由工作线程归还，按线程缓存无法复用，因此使用所有线程共享的无锁环形缓冲区，
+     * 取出和归还都不分配对象。池空时新建载体，池满时归还的载体交给GC。
+     * </p>
+     */
+    static final class Pool {
+
+        /**
+         * 默认载体池容量
+         */
+        static final int DEFAULT_CAPACITY = 1024;
+
+        private final TaskDecorator<Object> decorator;
+
+        private final MpmcArrayBlockingQueue<ContextCarrier> free;
+
+        @SuppressWarnings("unchecked")
+        Pool(TaskDecorator<?> decorator, int capacity) {
+            this.decorator = (TaskDecorator<Object>) decorator;
+            this.free = new MpmcArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * 获取载体装饰器
+         *
+         * @return 装饰器
+         */
+        TaskDecorator<?> getDecorator() {
+            return decorator;
+        }
+
+        /**
+         * 在提交线程中捕获上下文并包装任务
+         *
+         * @param task 原任务
+         * @return 载体
+         */
+        ContextCarrier wrap(Runnable task) {
+            ContextCarrier carrier = free.poll();
+            if (carrier == null) {
+                carrier = new ContextCarrier(this);
+            }
+            carrier.task = task;
+            decorator.capture(carrier.context);
+            return carrier;
+        }
+    }
+}
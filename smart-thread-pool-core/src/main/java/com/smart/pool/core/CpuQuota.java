@@ -0,0 +1,216 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.strategy.AdaptiveStrategyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器CPU配额
+ * <p>
+ * 读取cgroup限制的CPU配额计算实际可用的CPU数：cgroup v2读取{@code /sys/fs/cgroup/cpu.max}，
+ * cgroup v1读取{@code cpu.cfs_quota_us}与{@code cpu.cfs_period_us}。结果不超过JVM可见的处理器数，
+ * 没有配额限制或不在容器中时等于{@link Runtime#availableProcessors()}。配额可以是小数，例如0.5核。
+ * </p>
+ * <p>
+ * 通过{@link #watch(SmartExecutor, PoolSizing)}登记的线程池由一个守护线程定期重新读取配额，
+ * 配额变化时按{@link PoolSizing}重新计算最大线程数；配额不变时不做任何调整。策略链为空的线程池
+ * 同时把核心线程数设为新的线程数，由{@link AdaptiveStrategyManager}中的策略管理的线程池只在核心线程数
+ * 超过新上限时压低核心线程数，不覆盖策略做出的调整。登记使用弱引用，不阻止线程池被回收，
+ * 线程池关闭或从{@link ThreadPoolManager}移除后取消登记。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public final class CpuQuota {
+
+    private static final Logger log = LoggerFactory.getLogger(CpuQuota.class);
+
+    /**
+     * 重新读取配额的周期（秒）
+     */
+    public static final long REFRESH_SECONDS = 10L;
+
+    private static final Path CGROUP_V2_CPU_MAX = Paths.get("/sys/fs/cgroup/cpu.max");
+
+    private static final Path[] CGROUP_V1_CPU_DIRS = {
+            Paths.get("/sys/fs/cgroup/cpu"),
+            Paths.get("/sys/fs/cgroup/cpu,cpuacct")
+    };
+
+    /**
+     * 登记的线程池及其线程数规则
+     */
+    private static final Map<SmartExecutor, PoolSizing> WATCHED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 上次应用到线程池的CPU数
+     */
+    private static volatile double appliedCpus = -1;
+
+    /**
+     * 定期读取配额的调度器，首次登记时创建
+     */
+    private static ScheduledExecutorService refresher;
+
+    private CpuQuota() {
+    }
+
+    /**
+     * 获取实际可用的CPU数
+     *
+     * @return 可用CPU数，取cgroup配额与处理器数中的较小值，没有配额或读取失败时为处理器数
+     */
+    public static double effectiveCpus() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        double quota = readQuota();
+        return quota > 0 ? Math.min(quota, processors) : processors;
+    }
+
+    /**
+     * 读取cgroup CPU配额
+     *
+     * @return 配额核数，无限制或无法读取时返回-1
+     */
+    private static double readQuota() {
+        try {
+            if (Files.isReadable(CGROUP_V2_CPU_MAX)) {
+                return parseCpuMax(read(CGROUP_V2_CPU_MAX));
+            }
+            for (Path dir : CGROUP_V1_CPU_DIRS) {
+                Path quota = dir.resolve("cpu.cfs_quota_us");
+                Path period = dir.resolve("cpu.cfs_period_us");
+                if (Files.isReadable(quota) && Files.isReadable(period)) {
+                    return quotaOf(Long.parseLong(read(quota)), Long.parseLong(read(period)));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("[CPU_QUOTA] 读取cgroup CPU配额失败，使用处理器数", e);
+        }
+        return -1;
+    }
+
+    /**
+     * 解析cgroup v2的cpu.max，格式为"配额 周期"，配额为max表示不限制
+     *
+     * @param cpuMax 文件内容
+     * @return 配额核数，不限制时返回-1
+     */
+    static double parseCpuMax(String cpuMax) {
+        String[] parts = cpuMax.trim().split("\\s+");
+        if (parts.length == 0 || "max".equals(parts[0])) {
+            return -1;
+        }
+        long period = parts.length > 1 ? Long.parseLong(parts[1]) : 100_000L;
+        return quotaOf(Long.parseLong(parts[0]), period);
+    }
+
+    private static double quotaOf(long quota, long period) {
+        return quota > 0 && period > 0 ? (double) quota / period : -1;
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * 登记线程池，配额变化时按规则调整线程数
+     *
+     * @param executor 线程池
+     * @param sizing   线程数规则
+     */
+    public static void watch(SmartExecutor executor, PoolSizing sizing) {
+        WATCHED.put(executor, sizing);
+        startRefresher();
+    }
+
+    /**
+     * 取消登记
+     *
+     * @param executor 线程池
+     */
+    public static void unwatch(SmartExecutor executor) {
+        WATCHED.remove(executor);
+    }
+
+    private static synchronized void startRefresher() {
+        if (refresher != null) {
+            return;
+        }
+        appliedCpus = effectiveCpus();
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "smart-pool-cpu-quota");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("[CPU_QUOTA] 按CPU配额调整线程池失败", e);
+            }
+        }, REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 立即重新读取配额，配额变化时调整所有登记的线程池
+     * <p>
+     * 由后台线程定期调用，也可以在收到配额变更通知时主动调用。
+     * </p>
+     *
+     * @return 当前可用CPU数
+     */
+    public static synchronized double refresh() {
+        Map<SmartExecutor, PoolSizing> watched;
+        synchronized (WATCHED) {
+            WATCHED.keySet().removeIf(SmartExecutor::isShutdown);
+            watched = new HashMap<>(WATCHED);
+        }
+        double cpus = effectiveCpus();
+        if (cpus == appliedCpus) {
+            return cpus;
+        }
+        log.info("[CPU_QUOTA] 可用CPU数变化: {} -> {}", appliedCpus, cpus);
+        appliedCpus = cpus;
+        watched.forEach((executor, sizing) -> resize(executor, sizing.threads(cpus)));
+        return cpus;
+    }
+
+    /**
+     * 调整线程数，保持核心线程数不超过最大线程数
+     * <p>
+     * 有调节策略的线程池只调整最大线程数，核心线程数超过新上限时才压低。
+     * </p>
+     */
+    static void resize(SmartExecutor executor, int threads) {
+        if (!executor.isResizable()) {
+            return;
+        }
+        boolean adaptive = !AdaptiveStrategyManager.getStrategies(executor.getPoolName()).isEmpty();
+        if (threads >= executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            if (!adaptive) {
+                executor.setCorePoolSize(threads);
+            }
+        } else {
+            if (!adaptive || executor.getCorePoolSize() > threads) {
+                executor.setCorePoolSize(threads);
+            }
+            executor.setMaximumPoolSize(threads);
+        }
+        log.info("[CPU_QUOTA][ThreadPool:{}] 按CPU配额调整线程数为{}", executor.getPoolName(), threads);
+    }
+}
@@ -0,0 +1,84 @@
+package com.smart.pool.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带截止时间的FutureTask
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#submit(Callable, long, java.util.concurrent.TimeUnit)}等方法创建。
+ * 工作线程取到任务时先检查截止时间，已过期则不执行，Future以{@link TaskExpiredException}完成并计入线程池的过期任务数，
+ * 积压期间不再为调用方早已放弃的请求消耗CPU。截止时间只在开始执行前检查，执行中的任务不会被中断。
+ * 过期的任务只计入过期任务数，不计入执行耗时、已完成任务数和并发上限算法的采样。
+ * </p>
+ *
+ * @param <V> 任务结果类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+class DeadlineFutureTask<V> extends TimedFutureTask<V> {
+
+    /**
+     * 截止时间（System.nanoTime()）
+     */
+    private final long deadlineNanos;
+
+    /**
+     * 所属线程池的过期任务计数
+     */
+    private final LongAdder expiredCount;
+
+    /**
+     * 本次执行是否因过期被丢弃，只在执行线程中读写（afterExecute与run在同一线程）
+     */
+    private boolean expired;
+
+    /**
+     * 构造带截止时间的任务
+     *
+     * @param callable      要执行的任务
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @param expiredCount  所属线程池的过期任务计数
+     */
+    DeadlineFutureTask(Callable<V> callable, long deadlineNanos, LongAdder expiredCount) {
+        super(callable);
+        this.deadlineNanos = deadlineNanos;
+        this.expiredCount = expiredCount;
+    }
+
+    /**
+     * 获取截止时间
+     *
+     * @return 截止时间（System.nanoTime()）
+     */
+    long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * 判断本次执行是否因过期被丢弃
+     *
+     * @return 已过期未执行返回true
+     */
+    boolean isExpired() {
+        return expired;
+    }
+
+    /**
+     * 已过截止时间则丢弃，否则正常执行
+     */
+    @Override
+    public void run() {
+        if (isDone()) {
+            return;
+        }
+        long overdue = System.nanoTime() - deadlineNanos;
+        if (overdue >= 0L) {
+            expired = true;
+            expiredCount.increment();
+            setException(new TaskExpiredException("Task expired " + overdue / 1_000_000L + " ms before execution"));
+            return;
+        }
+        super.run();
+    }
+}
@@ -0,0 +1,624 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.alarm.LoadAlarm;
+import com.smart.pool.core.metrics.LatencyHistogram;
+import com.smart.pool.core.metrics.PoolMetrics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 动态工作窃取线程池
+ * <p>
+ * 基于ForkJoinPool实现{@link SmartExecutor}，每个工作线程持有自己的双端队列并从其他线程窃取任务，
+ * 适合递归拆分、扇出密集的计算任务。可以像其他线程池一样注册到{@link ThreadPoolManager}、
+ * 被调节策略调整并导出指标，除通用指标外还上报窃取次数、并行度和外部提交排队数。
+ * </p>
+ * <p>
+ * 从池外提交的任务（execute/submit/invoke/invokeAll/invokeAny）会被包装以记录排队耗时、执行耗时和完成数；
+ * 工作线程内部fork的子任务不单独计量，其并行情况由窃取次数和排队数体现。
+ * 运行时调整并行度依赖Java 19引入的ForkJoinPool.setParallelism，更低版本下{@link #isResizable()}返回false。
+ * 核心线程数对应当前并行度，最大线程数是并行度的上限（默认为构造时的并行度），
+ * 调节策略缩小并行度后仍可以扩回上限。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class DynamicForkJoinPool extends ForkJoinPool implements SmartExecutor {
+
+    /**
+     * 负载检查的采样掩码，平均每64次任务完成检查一次负载
+     */
+    private static final int LOAD_CHECK_SAMPLE_MASK = 63;
+
+    /**
+     * ForkJoinPool.setParallelism(int)，低于Java 19时为null
+     */
+    private static final Method SET_PARALLELISM = findSetParallelism();
+
+    /**
+     * 线程池名称
+     */
+    private final String poolName;
+
+    /**
+     * 并行度上限，作为最大线程数
+     */
+    private volatile int maxParallelism;
+
+    /**
+     * 外部提交的任务数
+     */
+    private final LongAdder submittedTaskCount = new LongAdder();
+
+    /**
+     * 外部提交且已完成的任务数
+     */
+    private final LongAdder completedTaskCount = new LongAdder();
+
+    /**
+     * 负载告警
+     */
+    private final LoadAlarm loadAlarm;
+
+    /**
+     * 排队耗时直方图（提交到开始执行）
+     */
+    private final LatencyHistogram queueWaitHistogram = new LatencyHistogram();
+
+    /**
+     * 执行耗时直方图（开始执行到执行结束）
+     */
+    private final LatencyHistogram executionHistogram = new LatencyHistogram();
+
+    /**
+     * 构造动态工作窃取线程池
+     *
+     * @param poolName    线程池名称
+     * @param parallelism 并行度，必须大于0
+     */
+    public DynamicForkJoinPool(String poolName, int parallelism) {
+        super(parallelism, new NamedWorkerThreadFactory(poolName), null, false);
+        this.poolName = poolName;
+        this.maxParallelism = parallelism;
+        this.loadAlarm = new LoadAlarm(poolName, this::checkLoad);
+    }
+
+    /**
+     * 执行任务，池外提交的任务会被包装以记录耗时和完成数
+     *
+     * @param task 要执行的任务
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (task instanceof ForkJoinTask) {
+            execute((ForkJoinTask<?>) task);
+            return;
+        }
+        super.execute(new InstrumentedTask(task));
+    }
+
+    /**
+     * 执行ForkJoin任务，工作线程内部fork的子任务不包装
+     *
+     * @param task 要执行的任务
+     */
+    @Override
+    public void execute(ForkJoinTask<?> task) {
+        if (isOwnWorker()) {
+            super.execute(task);
+            return;
+        }
+        super.execute(new InstrumentedTask(task::quietlyInvoke));
+    }
+
+    /**
+     * 提交任务，池外提交的任务会被包装以记录耗时和完成数
+     *
+     * @param task 要执行的任务
+     * @return 任务的Future
+     */
+    @Override
+    public ForkJoinTask<?> submit(Runnable task) {
+        if (task instanceof ForkJoinTask) {
+            return submit((ForkJoinTask<?>) task);
+        }
+        return super.submit(new InstrumentedTask(task));
+    }
+
+    /**
+     * 提交任务，池外提交的任务会被包装以记录耗时和完成数
+     *
+     * @param task   要执行的任务
+     * @param result 任务完成后返回的结果
+     * @return 任务的Future
+     */
+    @Override
+    public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+        return super.submit(new InstrumentedTask(task), result);
+    }
+
+    /**
+     * 提交任务，池外提交的任务会被包装以记录耗时和完成数
+     *
+     * @param task 要执行的任务
+     * @return 任务的Future
+     */
+    @Override
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return super.submit(new InstrumentedCallable<>(task));
+    }
+
+    /**
+     * 提交ForkJoin任务并返回任务本身，池外提交时由计量包装执行
+     *
+     * @param task 要执行的任务
+     * @return 提交的任务
+     */
+    @Override
+    public <T> ForkJoinTask<T> submit(ForkJoinTask<T> task) {
+        if (isOwnWorker()) {
+            return super.submit(task);
+        }
+        super.execute(new InstrumentedTask(task::quietlyInvoke));
+        return task;
+    }
+
+    /**
+     * 执行ForkJoin任务并等待结果
+     *
+     * @param task 要执行的任务
+     * @return 任务结果
+     */
+    @Override
+    public <T> T invoke(ForkJoinTask<T> task) {
+        if (isOwnWorker()) {
+            return super.invoke(task);
+        }
+        return submit(task).join();
+    }
+
+    /**
+     * 批量执行任务并等待全部完成，每个任务都被包装以记录耗时和完成数
+     *
+     * @param tasks 要执行的任务
+     * @return 各任务的Future，顺序与参数一致
+     */
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) {
+        if (isOwnWorker()) {
+            return super.invokeAll(tasks);
+        }
+        List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            wrapped.add(new InstrumentedCallable<>(task));
+        }
+        return super.invokeAll(wrapped);
+    }
+
+    /**
+     * 批量执行任务并在超时前等待全部完成，超时未完成的任务被取消
+     * <p>
+     * 通过{@link #submit(Callable)}提交，不依赖父类实现是否经过execute，每个任务只计量一次。
+     * </p>
+     *
+     * @param tasks   要执行的任务
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return 各任务的Future，顺序与参数一致
+     * @throws InterruptedException 等待时被中断
+     */
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(submit(task));
+            }
+            for (Future<T> future : futures) {
+                if (future.isDone()) {
+                    continue;
+                }
+                try {
+                    future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (CancellationException | ExecutionException ignored) {
+                    // 结果由调用方从Future读取
+                } catch (TimeoutException e) {
+                    cancelAll(futures);
+                    return futures;
+                }
+            }
+            return futures;
+        } catch (InterruptedException | RuntimeException | Error e) {
+            cancelAll(futures);
+            throw e;
+        }
+    }
+
+    /**
+     * 执行任务并返回第一个成功完成的结果，其余任务被取消
+     *
+     * @param tasks 要执行的任务
+     * @return 第一个成功完成的结果
+     * @throws InterruptedException 等待时被中断
+     * @throws ExecutionException   所有任务都失败
+     */
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        try {
+            return doInvokeAny(tasks, false, 0L);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 在超时前执行任务并返回第一个成功完成的结果，其余任务被取消
+     *
+     * @param tasks   要执行的任务
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return 第一个成功完成的结果
+     * @throws InterruptedException 等待时被中断
+     * @throws ExecutionException   所有任务都失败
+     * @throws TimeoutException     超时前没有任务成功完成
+     */
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return doInvokeAny(tasks, true, unit.toNanos(timeout));
+    }
+
+    /**
+     * 通过{@link ExecutorCompletionService}提交全部任务（经过{@link #execute(Runnable)}计量），按完成顺序取第一个成功的结果
+     */
+    private <T> T doInvokeAny(Collection<? extends Callable<T>> tasks, boolean timed, long nanos)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("tasks must not be empty");
+        }
+        long deadline = System.nanoTime() + nanos;
+        CompletionService<T> completion = new ExecutorCompletionService<>(this);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(task));
+            }
+            ExecutionException last = null;
+            for (int remaining = futures.size(); remaining > 0; remaining--) {
+                Future<T> future;
+                if (timed) {
+                    future = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (future == null) {
+                        throw new TimeoutException();
+                    }
+                } else {
+                    future = completion.take();
+                }
+                try {
+                    return future.get();
+                } catch (ExecutionException e) {
+                    last = e;
+                } catch (CancellationException e) {
+                    last = new ExecutionException(e);
+                }
+            }
+            throw last;
+        } finally {
+            cancelAll(futures);
+        }
+    }
+
+    private static <T> void cancelAll(List<Future<T>> futures) {
+        for (Future<T> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 当前线程是否为本线程池的工作线程，工作线程内部提交的是子任务，直接交给ForkJoinPool
+     *
+     * @return 是本线程池的工作线程返回true
+     */
+    private boolean isOwnWorker() {
+        Thread t = Thread.currentThread();
+        return t instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) t).getPool() == this;
+    }
+
+    /**
+     * 检查线程池负载状态，工作窃取队列无界，只评估线程利用率
+     */
+    private void checkLoad() {
+        loadAlarm.evaluate(getActiveThreadCount(), getParallelism(), getQueueSize(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取线程池名称
+     *
+     * @return 线程池名称
+     */
+    @Override
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * 获取正在执行任务的工作线程数（估计值）
+     *
+     * @return 活跃线程数
+     */
+    @Override
+    public int getActiveCount() {
+        return getActiveThreadCount();
+    }
+
+    /**
+     * 获取所有工作队列和外部提交队列中尚未执行的任务数（估计值）
+     *
+     * @return 排队任务数
+     */
+    @Override
+    public int getQueueSize() {
+        return (int) Math.min(getQueuedTaskCount() + getQueuedSubmissionCount(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 核心线程数即当前并行度
+     *
+     * @return 并行度
+     */
+    @Override
+    public int getCorePoolSize() {
+        return getParallelism();
+    }
+
+    /**
+     * 设置并行度
+     *
+     * @param corePoolSize 新的并行度，在1到并行度上限之间
+     * @throws IllegalArgumentException      并行度小于1或超过上限
+     * @throws UnsupportedOperationException 运行环境低于Java 19
+     */
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        if (corePoolSize < 1 || corePoolSize > maxParallelism) {
+            throw new IllegalArgumentException("parallelism must be between 1 and " + maxParallelism);
+        }
+        setParallelismIfSupported(corePoolSize);
+    }
+
+    /**
+     * 最大线程数即并行度上限，阻塞补偿创建的临时线程不计入
+     *
+     * @return 并行度上限
+     */
+    @Override
+    public int getMaximumPoolSize() {
+        return maxParallelism;
+    }
+
+    /**
+     * 设置并行度上限，当前并行度超过新上限时同时降低并行度
+     *
+     * @param maximumPoolSize 新的并行度上限，必须大于0
+     * @throws IllegalArgumentException      上限小于1
+     * @throws UnsupportedOperationException 运行环境低于Java 19
+     */
+    @Override
+    public synchronized void setMaximumPoolSize(int maximumPoolSize) {
+        if (maximumPoolSize < 1) {
+            throw new IllegalArgumentException("maximumPoolSize must be positive");
+        }
+        if (maximumPoolSize < getParallelism()) {
+            setParallelismIfSupported(maximumPoolSize);
+        } else if (SET_PARALLELISM == null) {
+            throw new UnsupportedOperationException("Changing ForkJoinPool parallelism requires Java 19 or later");
+        }
+        maxParallelism = maximumPoolSize;
+    }
+
+    /**
+     * 是否支持运行时调整并行度
+     *
+     * @return Java 19及以上返回true
+     */
+    @Override
+    public boolean isResizable() {
+        return SET_PARALLELISM != null;
+    }
+
+    private void setParallelismIfSupported(int parallelism) {
+        if (SET_PARALLELISM == null) {
+            throw new UnsupportedOperationException("Changing ForkJoinPool parallelism requires Java 19 or later");
+        }
+        if (parallelism == getParallelism()) {
+            return;
+        }
+        try {
+            SET_PARALLELISM.invoke(this, parallelism);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to set parallelism of pool " + poolName, e);
+        }
+    }
+
+    private static Method findSetParallelism() {
+        try {
+            return ForkJoinPool.class.getMethod("setParallelism", int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取外部提交且已完成的任务数
+     *
+     * @return 已完成任务数
+     */
+    public long getCompletedTaskCountAtomic() {
+        return completedTaskCount.sum();
+    }
+
+    /**
+     * 获取排队耗时直方图
+     *
+     * @return 排队耗时直方图（纳秒）
+     */
+    @Override
+    public LatencyHistogram getQueueWaitHistogram() {
+        return queueWaitHistogram;
+    }
+
+    /**
+     * 获取执行耗时直方图
+     *
+     * @return 执行耗时直方图（纳秒）
+     */
+    @Override
+    public LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+
+    /**
+     * 获取负载告警，可用于调整告警阈值和冷却时间
+     *
+     * @return 负载告警
+     */
+    public LoadAlarm getLoadAlarm() {
+        return loadAlarm;
+    }
+
+    /**
+     * 获取线程池指标
+     * <p>
+     * 核心线程数为当前并行度，最大线程数为并行度上限，另外填充窃取次数、并行度和外部提交排队数。
+     * </p>
+     *
+     * @return 线程池指标对象
+     */
+    @Override
+    public PoolMetrics getMetrics() {
+        PoolMetrics metrics = new PoolMetrics(
+                poolName,
+                getActiveCount(),
+                getCorePoolSize(),
+                getMaximumPoolSize(),
+                getQueueSize(),
+                getCompletedTaskCountAtomic()
+        );
+        metrics.setPoolType(PoolMetrics.TYPE_FORK_JOIN);
+        metrics.setQueueCapacity(getQueueCapacity());
+        metrics.setTaskCount(submittedTaskCount.sum());
+        metrics.setStealCount(getStealCount());
+        metrics.setParallelism(getParallelism());
+        metrics.setQueuedSubmissionCount(getQueuedSubmissionCount());
+        metrics.applyLatency(queueWaitHistogram.snapshot(), executionHistogram.snapshot());
+        return metrics;
+    }
+
+    /**
+     * 外部任务开始执行，记录排队耗时
+     *
+     * @param enqueueNanos 提交时间
+     * @return 开始执行时间
+     */
+    private long beginTask(long enqueueNanos) {
+        long start = System.nanoTime();
+        queueWaitHistogram.record(start - enqueueNanos);
+        return start;
+    }
+
+    /**
+     * 外部任务执行结束，记录执行耗时和完成数，按采样检查负载并通知依赖线程池
+     *
+     * @param start 开始执行时间
+     */
+    private void endTask(long start) {
+        executionHistogram.record(System.nanoTime() - start);
+        completedTaskCount.increment();
+        if ((ThreadLocalRandom.current().nextInt() & LOAD_CHECK_SAMPLE_MASK) == 0) {
+            checkLoad();
+        }
+        ThreadPoolDependencyManager.notifyCompletion(poolName);
+    }
+
+    /**
+     * 带计量的外部Runnable任务
+     */
+    private final class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long enqueueNanos;
+
+        InstrumentedTask(Runnable task) {
+            this.task = task;
+            this.enqueueNanos = System.nanoTime();
+            submittedTaskCount.increment();
+        }
+
+        @Override
+        public void run() {
+            long start = beginTask(enqueueNanos);
+            try {
+                task.run();
+            } finally {
+                endTask(start);
+            }
+        }
+    }
+
+    /**
+     * 带计量的外部Callable任务
+     */
+    private final class InstrumentedCallable<T> implements Callable<T> {
+
+        private final Callable<T> task;
+
+        private final long enqueueNanos;
+
+        InstrumentedCallable(Callable<T> task) {
+            this.task = task;
+            this.enqueueNanos = System.nanoTime();
+            submittedTaskCount.increment();
+        }
+
+        @Override
+        public T call() throws Exception {
+            long start = beginTask(enqueueNanos);
+            try {
+                return task.call();
+            } finally {
+                endTask(start);
+            }
+        }
+    }
+
+    /**
+     * 按线程池名称命名工作线程的线程工厂
+     */
+    static class NamedWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final String poolName;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedWorkerThreadFactory(String poolName) {
+            this.poolName = poolName;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread t = defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName(poolName + "-fj-" + count.incrementAndGet());
+            return t;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.smart.pool.core;
 
+import com.smart.pool.core.alarm.LoadAlarm;
+import com.smart.pool.core.limit.ConcurrencyLimit;
+import com.smart.pool.core.metrics.LatencyHistogram;
 import com.smart.pool.core.metrics.PoolMetrics;
+import com.smart.pool.core.queue.BatchDrainingQueue;
+import com.smart.pool.core.queue.BatchQueue;
+import com.smart.pool.core.queue.EagerTaskQueue;
+import com.smart.pool.core.queue.MpmcArrayBlockingQueue;
+import com.smart.pool.core.queue.Prioritized;
+import com.smart.pool.core.queue.ResizableQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 动态线程池执行器
@@ -17,7 +30,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author Smart Thread Pool
  * @since 1.0.0
  */
-public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
+public class DynamicThreadPoolExecutor extends ThreadPoolExecutor implements SmartExecutor {
 
     /**
      * 日志记录器
@@ -30,12 +43,116 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
     private final String poolName;
 
     /**
-     * 已完成任务计数器，使用原子操作保证线程安全
+     * 快速路径模式下负载检查的采样掩码，每个工作线程平均每64次任务完成检查一次负载
      */
-    private final AtomicLong completedTaskCount = new AtomicLong(0);
+    private static final int LOAD_CHECK_SAMPLE_MASK = 63;
+
+    /**
+     * 快速路径模式下延迟计时的采样掩码，平均每16个任务计时一次
+     */
+    private static final int LATENCY_SAMPLE_MASK = 15;
+
+    /**
+     * {@link #executePooled}任务池的容量，同时在途的任务超过该数量时多出的任务对象执行后交给GC
+     */
+    private static final int POOLED_TASK_CAPACITY = 1024;
+
+    /**
+     * 非{@link PoolWorkerThread}工作线程的计时状态：[0]为当前任务开始时间，[1]为采样计数器，
+     * [2]为当前任务在并发上限中登记的开始时间。beforeExecute与afterExecute总在同一线程中成对调用
+     */
+    private static final ThreadLocal<long[]> WORKER_STATE = ThreadLocal.withInitial(() -> new long[3]);
+
+    /**
+     * 已完成任务计数器，使用分段计数（LongAdder）避免多工作线程争用同一缓存行
+     */
+    private final LongAdder completedTaskCount = new LongAdder();
+
+    /**
+     * 已提交任务计数器，包括之后被拒绝的任务，用于计算任务到达速率
+     */
+    private final LongAdder submittedCount = new LongAdder();
+
+    /**
+     * 是否启用快速路径模式
+     * <p>
+     * 启用后afterExecute不再逐任务检查负载（getActiveCount需要获取mainLock），
+     * 排队/执行耗时也改为采样计时，使任务完成路径无锁且不分配对象。
+     * </p>
+     */
+    private volatile boolean fastPathEnabled = false;
+
+    /**
+     * 负载告警，只在状态迁移时记录事件，日志由后台线程输出
+     */
+    private final LoadAlarm loadAlarm;
+
+    /**
+     * 排队耗时直方图（入队到开始执行）
+     */
+    private final LatencyHistogram queueWaitHistogram = new LatencyHistogram();
+
+    /**
+     * 执行耗时直方图（开始执行到执行结束）
+     */
+    private final LatencyHistogram executionHistogram = new LatencyHistogram();
+
+    /**
+     * 批量提交期间收集被拒绝任务的列表，不为null时拒绝的任务记入列表而不交给拒绝处理器
+     */
+    private final ThreadLocal<List<Runnable>> bulkRejected = new ThreadLocal<>();
+
+    /**
+     * {@link #tryExecute(Runnable)}复用的拒绝记录，每个提交线程一个，稳定运行时不分配对象
+     */
+    private final ThreadLocal<List<Runnable>> tryRejected = ThreadLocal.withInitial(() -> new ArrayList<>(1));
+
+    /**
+     * 按键合并提交的待执行任务，任务开始执行、被取消或被拒绝时移除
+     */
+    private final ConcurrentMap<Object, CoalescedFutureTask<?>> coalescing = new ConcurrentHashMap<>();
+
+    /**
+     * 被合并到已排队任务的提交次数
+     */
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * 出队时已过截止时间而被丢弃的任务数
+     */
+    private final LongAdder expiredCount = new LongAdder();
+
+    /**
+     * 用户配置的拒绝执行处理器（未包装）
+     */
+    private volatile RejectedExecutionHandler rejectedHandler;
+
+    /**
+     * 转交拒绝任务的处理器：还原载体、收集批量提交中被拒绝的任务，不含优先扩容队列的强制入队
+     */
+    private volatile RejectedExecutionHandler rejectionDispatcher;
+
+    /**
+     * 自适应并发上限，未配置时为null
+     */
+    private volatile ConcurrencyLimiter limiter;
+
+    /**
+     * 任务上下文载体池，未配置{@link TaskDecorator}时为null
+     */
+    private volatile ContextCarrier.Pool carriers;
+
+    /**
+     * {@link #executePooled}使用的可回收任务对象池
+     */
+    private final MpmcArrayBlockingQueue<PooledTask> pooledTasks = new MpmcArrayBlockingQueue<>(POOLED_TASK_CAPACITY);
 
     /**
      * 构造动态线程池执行器
+     * <p>
+     * 工作队列为{@link EagerTaskQueue}时绑定到当前线程池，并包装拒绝处理器，使并发扩容失败的任务先强制入队。
+     * 拒绝处理器同时被包装为在{@link #executeAll(Collection)}期间收集被拒绝的任务。
+     * </p>
      *
      * @param poolName      线程池名称
      * @param corePoolSize  核心线程数
@@ -49,15 +166,174 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
     public DynamicThreadPoolExecutor(String poolName, int corePoolSize, int maximumPoolSize,
                                      long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
                                      ThreadFactory threadFactory, RejectedExecutionHandler handler) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+                wrapRejectedHandler(workQueue, handler));
         this.poolName = poolName;
+        this.rejectedHandler = handler;
+        this.rejectionDispatcher = dispatcherOf(handler, false);
+        this.loadAlarm = new LoadAlarm(poolName, this::checkLoad);
+        BlockingQueue<Runnable> rawQueue = unwrapQueue(workQueue);
+        if (rawQueue instanceof EagerTaskQueue) {
+            ((EagerTaskQueue) rawQueue).setExecutor(this);
+        }
+    }
+
+    /**
+     * 设置拒绝执行处理器，优先扩容队列下同样先尝试强制入队
+     *
+     * @param handler 拒绝执行处理器
+     */
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        super.setRejectedExecutionHandler(wrapRejectedHandler(getQueue(), handler));
+        this.rejectedHandler = handler;
+        this.rejectionDispatcher = dispatcherOf(handler, false);
+    }
+
+    /**
+     * 获取用户配置的拒绝执行处理器
+     *
+     * @return 拒绝执行处理器
+     */
+    @Override
+    public RejectedExecutionHandler getRejectedExecutionHandler() {
+        return rejectedHandler;
+    }
+
+    private static RejectedExecutionHandler wrapRejectedHandler(BlockingQueue<Runnable> workQueue,
+                                                                RejectedExecutionHandler handler) {
+        RejectedExecutionHandler dispatcher = dispatcherOf(handler, true);
+        BlockingQueue<Runnable> rawQueue = unwrapQueue(workQueue);
+        if (dispatcher != null && rawQueue instanceof EagerTaskQueue) {
+            return ((EagerTaskQueue) rawQueue).forceRejectionHandler(dispatcher);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * 包装拒绝执行处理器
+     *
+     * @param handler       用户配置的拒绝执行处理器
+     * @param releasePermit 被拒绝的任务是否已占用并发额度：线程池拒绝的任务已通过准入，超过并发上限的任务没有
+     */
+    private static RejectedExecutionHandler dispatcherOf(RejectedExecutionHandler handler, boolean releasePermit) {
+        if (handler == null) {
+            return null;
+        }
+        return (task, executor) -> {
+            ConcurrencyLimiter l = ((DynamicThreadPoolExecutor) executor).limiter;
+            if (releasePermit && l != null) {
+                l.release(1);
+            }
+            List<Runnable> rejected = ((DynamicThreadPoolExecutor) executor).bulkRejected.get();
+            if (rejected == null && handler instanceof SmartPoolBuilder.RetryRejectedExecutionHandler) {
+                // 线程池自己的重试处理器把载体原样放回队列，保留提交线程的上下文，最终放弃时再回收
+                handler.rejectedExecution(task, executor);
+                return;
+            }
+            // 其他拒绝处理器和调用方看到的都是原任务
+            Runnable r = discardRejected(task);
+            if (rejected != null) {
+                rejected.add(r);
+            } else {
+                handler.rejectedExecution(r, executor);
+            }
+        };
+    }
+
+    /**
+     * 放弃被拒绝的任务：回收载体，合并提交的任务移除登记以免后续提交合并到它
+     *
+     * @param task 任务或载体
+     * @return 原任务
+     */
+    static Runnable discardRejected(Runnable task) {
+        Runnable r = unwrapCarrier(task);
+        if (r instanceof CoalescedFutureTask) {
+            ((CoalescedFutureTask<?>) r).unregister();
+        }
+        return r;
+    }
+
+    /**
+     * 取出载体中的原任务并回收载体，未包装的任务原样返回
+     *
+     * @param r 任务或载体
+     * @return 原任务
+     */
+    private static Runnable unwrapCarrier(Runnable r) {
+        if (r instanceof ContextCarrier) {
+            ContextCarrier carrier = (ContextCarrier) r;
+            Runnable task = carrier.getTask();
+            carrier.recycle();
+            return task;
+        }
+        return r;
+    }
+
+    /**
+     * 取得被{@link BatchDrainingQueue}包装的实际工作队列，用于判断队列能力（调整容量、批量入队等）
+     *
+     * @param workQueue 工作队列
+     * @return 实际工作队列
+     */
+    private static BlockingQueue<Runnable> unwrapQueue(BlockingQueue<Runnable> workQueue) {
+        return workQueue instanceof BatchDrainingQueue ? ((BatchDrainingQueue) workQueue).getDelegate() : workQueue;
+    }
+
+    /**
+     * 任务执行前的回调方法
+     * <p>
+     * 记录任务开始时间；对于携带入队时间的任务同时记录排队耗时。
+     * 快速路径模式下只对采样命中的任务计时，开始时间记为0表示本任务不计时。
+     * 恢复任务上下文失败时归还并发额度后抛出异常，任务不会执行。
+     * </p>
+     *
+     * @param t 执行任务的线程
+     * @param r 将要执行的任务
+     */
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof ContextCarrier) {
+            try {
+                ((ContextCarrier) r).restore();
+            } catch (RuntimeException | Error e) {
+                // beforeExecute抛出异常时任务不执行、也不会调用afterExecute，在这里归还提交时占用的并发额度
+                ConcurrencyLimiter l = limiter;
+                if (l != null) {
+                    l.release(1);
+                }
+                throw e;
+            }
+        }
+        long enqueueNanos = r instanceof TimedTask ? ((TimedTask) r).getEnqueueNanos() : 0L;
+        boolean sampled = !fastPathEnabled || (nextSampleTick(t) & LATENCY_SAMPLE_MASK) == 0;
+        long start = 0L;
+        if (sampled || enqueueNanos != 0L) {
+            long now = System.nanoTime();
+            if (sampled) {
+                start = now;
+            }
+            if (enqueueNanos != 0L) {
+                queueWaitHistogram.record(now - enqueueNanos);
+            }
+        }
+        setTaskStartNanos(t, start);
+        ConcurrencyLimiter l = limiter;
+        if (l != null) {
+            l.onStart();
+            long limitStart = System.nanoTime();
+            setLimitStartNanos(t, limitStart == 0L ? 1L : limitStart);
+        }
     }
 
     /**
      * 任务执行完成后的回调方法
      * <p>
-     * 在任务执行完成后更新计数器，检查线程池负载状态，
-     * 当活跃线程数达到最大线程数的90%或队列使用率超过90%时记录警告日志。
+     * 在任务执行完成后记录执行耗时、更新计数器，并将线程池负载交给{@link LoadAlarm}评估。
+     * 快速路径模式下负载检查按采样执行，其余任务只做一次分段计数。
+     * 出队时已过期的任务没有真正执行，只释放并发上限占用，不计入执行耗时、已完成任务数和上限算法的采样。
      * </p>
      *
      * @param r 已执行的任务
@@ -66,24 +342,119 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
         super.afterExecute(r, t);
-        // 增加已完成任务计数
-        completedTaskCount.incrementAndGet();
-
-        int active = getActiveCount();
-        int queueSize = getQueue().size();
-
-        // 检查活跃线程数是否接近上限（90%阈值）
-        if (active >= getMaximumPoolSize() * 0.9) {
-            log.warn("[HIGH_LOAD][ThreadPool:{}] 活跃线程接近上限: active={}, max={}", poolName, active, getMaximumPoolSize());
+        Thread worker = Thread.currentThread();
+        boolean expired = isExpired(r);
+        // 记录执行耗时
+        long started = getTaskStartNanos(worker);
+        if (started != 0L && !expired) {
+            executionHistogram.record(System.nanoTime() - started);
+        }
+        // 把执行耗时交给并发上限算法
+        long limitStart = getLimitStartNanos(worker);
+        if (limitStart != 0L) {
+            setLimitStartNanos(worker, 0L);
+            if (expired) {
+                limiter.onDiscard();
+            } else {
+                limiter.onComplete(limitStart, System.nanoTime(), t != null);
+            }
+        }
+        // 增加已完成任务计数，过期任务已计入过期任务数
+        if (!expired) {
+            completedTaskCount.increment();
         }
 
-        // 检查队列是否接近满载（90%阈值）
-        if (queueSize >= getQueue().remainingCapacity() * 0.1) {
-            log.warn("[QUEUE_FULL][ThreadPool:{}] 队列接近满载: size={}, remaining={}", poolName, queueSize, getQueue().remainingCapacity());
+        // 快速路径：仅采样命中的任务执行负载检查
+        if (!fastPathEnabled || (currentSampleTick(worker) & LOAD_CHECK_SAMPLE_MASK) == 0) {
+            checkLoad();
         }
 
         // 通知依赖线程池（如果有依赖管理）
         ThreadPoolDependencyManager.notifyCompletion(poolName);
+
+        // 清除任务上下文并回收载体，最后回收可复用的任务对象
+        Runnable task = r;
+        if (r instanceof ContextCarrier) {
+            task = ((ContextCarrier) r).getTask();
+            ((ContextCarrier) r).clearAndRecycle();
+        }
+        if (task instanceof PooledTask) {
+            ((PooledTask) task).recycle();
+        }
+    }
+
+    /**
+     * 判断任务是否因出队时已过截止时间而未执行
+     */
+    private static boolean isExpired(Runnable r) {
+        Runnable task = r instanceof ContextCarrier ? ((ContextCarrier) r).getTask() : r;
+        return task instanceof DeadlineFutureTask && ((DeadlineFutureTask<?>) task).isExpired();
+    }
+
+    /**
+     * 推进工作线程的采样计数器
+     * <p>
+     * 快速路径模式下每次System.nanoTime()调用的开销与微任务本身相当，
+     * 因此按计数器采样计时，直方图的分位数基于采样任务计算。
+     * </p>
+     *
+     * @param worker 工作线程
+     * @return 推进后的计数值
+     */
+    private static int nextSampleTick(Thread worker) {
+        if (worker instanceof PoolWorkerThread) {
+            return ++((PoolWorkerThread) worker).sampleCounter;
+        }
+        return (int) ++WORKER_STATE.get()[1];
+    }
+
+    private static int currentSampleTick(Thread worker) {
+        if (worker instanceof PoolWorkerThread) {
+            return ((PoolWorkerThread) worker).sampleCounter;
+        }
+        return (int) WORKER_STATE.get()[1];
+    }
+
+    private static void setTaskStartNanos(Thread worker, long nanos) {
+        if (worker instanceof PoolWorkerThread) {
+            ((PoolWorkerThread) worker).taskStartNanos = nanos;
+        } else {
+            WORKER_STATE.get()[0] = nanos;
+        }
+    }
+
+    private static long getTaskStartNanos(Thread worker) {
+        if (worker instanceof PoolWorkerThread) {
+            return ((PoolWorkerThread) worker).taskStartNanos;
+        }
+        return WORKER_STATE.get()[0];
+    }
+
+    private static void setLimitStartNanos(Thread worker, long nanos) {
+        if (worker instanceof PoolWorkerThread) {
+            ((PoolWorkerThread) worker).limitStartNanos = nanos;
+        } else {
+            WORKER_STATE.get()[2] = nanos;
+        }
+    }
+
+    private static long getLimitStartNanos(Thread worker) {
+        if (worker instanceof PoolWorkerThread) {
+            return ((PoolWorkerThread) worker).limitStartNanos;
+        }
+        return WORKER_STATE.get()[2];
+    }
+
+    /**
+     * 检查线程池负载状态
+     * <p>
+     * 采集活跃线程数和队列使用情况交给负载告警评估，进入或退出高负载/队列满载状态时
+     * 只记录一次状态迁移事件，不在工作线程中输出日志。
+     * </p>
+     */
+    private void checkLoad() {
+        BlockingQueue<Runnable> queue = getQueue();
+        loadAlarm.evaluate(getActiveCount(), getMaximumPoolSize(), queue.size(), queue.remainingCapacity());
     }
 
     /**
@@ -91,6 +462,9 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
      * <p>
      * 包装了父类的execute方法，添加了异常处理和日志记录功能。
      * 当任务被拒绝执行时记录错误日志并可触发告警系统。
+     * 对于携带入队时间的任务，在提交时写入入队时间（快速路径模式下按采样写入，未采样记为0）。
+     * 配置了并发上限时，已准入的任务数达到上限的任务直接交给拒绝执行处理器，这类拒绝是最终的，
+     * 默认的重试处理器不会把它放回队列，而是抛出{@link RejectedExecutionException}。
      * </p>
      *
      * @param command 要执行的任务
@@ -98,8 +472,20 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
      */
     @Override
     public void execute(Runnable command) {
+        submittedCount.increment();
+        ContextCarrier.Pool pool = carriers;
+        Runnable task = pool == null || command == null ? command : pool.wrap(command);
+        if (task instanceof TimedTask) {
+            boolean sampled = !fastPathEnabled || (ThreadLocalRandom.current().nextInt() & LATENCY_SAMPLE_MASK) == 0;
+            ((TimedTask) task).setEnqueueNanos(sampled ? System.nanoTime() : 0L);
+        }
         try {
-            super.execute(command);
+            ConcurrencyLimiter l = limiter;
+            if (l != null && task != null && !l.tryAcquire()) {
+                rejectOverLimit(task, l);
+            } else {
+                super.execute(task);
+            }
         } catch (RejectedExecutionException e) {
             log.error("[REJECTED][ThreadPool:{}] 任务被拒绝: {}", poolName, command, e);
             // 可在这里触发告警系统，例如 webhook / 邮件
@@ -107,43 +493,929 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
         }
     }
 
+    /**
+     * 处理超过并发上限的任务
+     * <p>
+     * 与队列已满相同交给拒绝执行处理器，但不经过优先扩容队列的强制入队。
+     * 默认的重试处理器会把任务重新放入队列而绕过上限，此时直接抛出异常。
+     * </p>
+     */
+    private void rejectOverLimit(Runnable task, ConcurrencyLimiter l) {
+        if (!(rejectedHandler instanceof SmartPoolBuilder.RetryRejectedExecutionHandler)) {
+            rejectionDispatcher.rejectedExecution(task, this);
+            return;
+        }
+        Runnable r = discardRejected(task);
+        throw new RejectedExecutionException("Task " + r + " rejected from " + poolName
+                + ": concurrency limit " + l.getLimit().getLimit() + " reached");
+    }
+
+    /**
+     * 把被拒绝的任务重新放入工作队列，供重试拒绝处理器使用
+     * <p>
+     * 配置了并发上限时重新占用额度，额度不足时不放入队列。配置了任务上下文装饰器时传入的是载体本身，
+     * 重新入队的任务仍在提交线程的上下文中执行；最终放弃时调用{@link #discardRejected(Runnable)}回收。
+     * </p>
+     *
+     * @param task    被拒绝的任务或载体
+     * @param timeout 等待队列空位的时间
+     * @param unit    时间单位
+     * @return 放入队列返回true
+     * @throws InterruptedException 等待时被中断
+     */
+    boolean requeue(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        ConcurrencyLimiter l = limiter;
+        if (l != null && !l.tryAcquire()) {
+            return false;
+        }
+        boolean offered = false;
+        try {
+            offered = getQueue().offer(task, timeout, unit);
+        } finally {
+            if (!offered && l != null) {
+                l.release(1);
+            }
+        }
+        return offered;
+    }
+
+    /**
+     * 批量执行任务
+     * <p>
+     * 一次性把一批任务交给线程池：写入一次入队时间，按批量大小预启动缺少的核心线程，
+     * 工作队列实现{@link BatchQueue}时在一次加锁内完成转移，消费者由队列按需逐个唤醒。
+     * 队列放不下的任务再逐个走常规提交路径（创建非核心线程）。
+     * </p>
+     * <p>
+     * 与逐个execute不同，被拒绝的任务不会交给拒绝执行处理器，而是记录在返回结果中由调用方决定重试或降级。
+     * 线程池已关闭时所有任务都被拒绝。
+     * </p>
+     *
+     * @param tasks 要执行的任务，不能包含null
+     * @return 批量提交结果，包含被拒绝的任务
+     */
+    public BatchSubmitResult executeAll(Collection<? extends Runnable> tasks) {
+        List<Runnable> batch = new ArrayList<>(tasks);
+        for (Runnable task : batch) {
+            Objects.requireNonNull(task);
+        }
+        int n = batch.size();
+        if (n == 0) {
+            return new BatchSubmitResult(0, Collections.emptyList());
+        }
+        submittedCount.add(n);
+        if (isShutdown()) {
+            log.error("[REJECTED][ThreadPool:{}] 线程池已关闭，批量提交的{}个任务被拒绝", poolName, n);
+            return new BatchSubmitResult(0, batch);
+        }
+        ContextCarrier.Pool pool = carriers;
+        if (pool != null) {
+            batch.replaceAll(pool::wrap);
+        }
+        int total = n;
+        List<Runnable> rejected = new ArrayList<>(0);
+        ConcurrencyLimiter l = limiter;
+        if (l != null) {
+            // 超过并发上限的部分直接记为拒绝
+            int granted = l.acquire(n);
+            if (granted < n) {
+                for (int i = granted; i < n; i++) {
+                    rejected.add(unwrapCarrier(batch.get(i)));
+                }
+                batch = batch.subList(0, granted);
+                n = granted;
+                if (n == 0) {
+                    log.error("[REJECTED][ThreadPool:{}] 超过并发上限，批量提交的{}个任务被拒绝", poolName, rejected.size());
+                    return new BatchSubmitResult(0, rejected);
+                }
+            }
+        }
+        stampEnqueueNanos(batch);
+
+        // 预启动缺少的核心线程，使入队的任务立即有消费者
+        int toStart = Math.min(n, getCorePoolSize()) - getPoolSize();
+        while (toStart-- > 0 && prestartCoreThread()) {
+            // 每次启动一个核心线程
+        }
+
+        BlockingQueue<Runnable> queue = getQueue();
+        BlockingQueue<Runnable> rawQueue = unwrapQueue(queue);
+        int offered;
+        if (rawQueue instanceof BatchQueue) {
+            @SuppressWarnings("unchecked")
+            BatchQueue<Runnable> batchQueue = (BatchQueue<Runnable>) rawQueue;
+            offered = batchQueue.offerAll(batch);
+        } else {
+            offered = 0;
+            while (offered < n && queue.offer(batch.get(offered))) {
+                offered++;
+            }
+        }
+
+        if (offered > 0) {
+            recheckAfterBatchOffer(batch.subList(0, offered), rejected);
+        }
+        // 队列放不下的任务走常规路径，拒绝时记入结果
+        if (offered < n) {
+            bulkRejected.set(rejected);
+            try {
+                for (int i = offered; i < n; i++) {
+                    super.execute(batch.get(i));
+                }
+            } finally {
+                bulkRejected.remove();
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.error("[REJECTED][ThreadPool:{}] 批量提交{}个任务，其中{}个被拒绝", poolName, total, rejected.size());
+        }
+        return new BatchSubmitResult(total - rejected.size(), rejected);
+    }
+
+    /**
+     * 尝试执行任务，被拒绝时不调用拒绝执行处理器
+     * <p>
+     * 供线程池内部的调度组件（如{@link KeyedSerialExecutor}的串行通道）重新提交自身使用，
+     * 由调用方自行决定被拒绝时的处理方式。任务不放入上下文载体：通道在工作线程之间流转，
+     * 其中每个任务已在提交时通过{@link #wrapContext(Runnable)}单独捕获上下文。
+     * 拒绝记录按线程复用，不分配对象。
+     * </p>
+     *
+     * @param command 要执行的任务
+     * @return 被线程池接收返回true，被拒绝返回false
+     */
+    boolean tryExecute(Runnable command) {
+        submittedCount.increment();
+        ConcurrencyLimiter l = limiter;
+        if (l != null && !l.tryAcquire()) {
+            return false;
+        }
+        List<Runnable> rejected = tryRejected.get();
+        bulkRejected.set(rejected);
+        try {
+            super.execute(command);
+        } finally {
+            bulkRejected.set(null);
+        }
+        if (rejected.isEmpty()) {
+            return true;
+        }
+        rejected.clear();
+        return false;
+    }
+
+    /**
+     * 配置了任务上下文装饰器时，在提交线程中捕获上下文并把任务放入载体
+     * <p>
+     * 供不经过{@link #execute(Runnable)}逐个入队的调度组件使用，载体由{@link #runInContext(Runnable)}执行，
+     * 未被执行时调用{@link #discardContext(Runnable)}回收。
+     * </p>
+     *
+     * @param task 原任务
+     * @return 载体，未配置装饰器时返回原任务
+     */
+    Runnable wrapContext(Runnable task) {
+        ContextCarrier.Pool pool = carriers;
+        return pool == null ? task : pool.wrap(task);
+    }
+
+    /**
+     * 恢复载体捕获的上下文执行任务，结束后清除上下文并回收载体；普通任务直接执行
+     *
+     * @param task {@link #wrapContext(Runnable)}的返回值
+     */
+    static void runInContext(Runnable task) {
+        if (!(task instanceof ContextCarrier)) {
+            task.run();
+            return;
+        }
+        ContextCarrier carrier = (ContextCarrier) task;
+        carrier.restore();
+        try {
+            carrier.run();
+        } finally {
+            carrier.clearAndRecycle();
+        }
+    }
+
+    /**
+     * 在当前线程同步执行，结束后恢复当前线程原有的上下文
+     * <p>
+     * 在提交线程上执行已包装的任务时使用：载体执行结束会清除上下文，因此先快照当前线程的上下文。
+     * </p>
+     *
+     * @param action 要执行的逻辑
+     */
+    void runPreservingContext(Runnable action) {
+        ContextCarrier.Pool pool = carriers;
+        if (pool == null) {
+            action.run();
+            return;
+        }
+        ContextCarrier saved = pool.wrap(action);
+        try {
+            action.run();
+        } finally {
+            try {
+                saved.restore();
+            } finally {
+                saved.recycle();
+            }
+        }
+    }
+
+    /**
+     * 回收未执行的载体，返回原任务
+     *
+     * @param task {@link #wrapContext(Runnable)}的返回值
+     * @return 原任务
+     */
+    static Runnable discardContext(Runnable task) {
+        return unwrapCarrier(task);
+    }
+
+    /**
+     * 批量执行任务并等待全部完成
+     * <p>
+     * 语义与{@link #invokeAll(Collection)}相同，但通过{@link #executeAll(Collection)}批量提交。
+     * 被拒绝的任务对应的Future以{@link RejectedExecutionException}异常完成，不会抛给调用方。
+     * </p>
+     *
+     * @param tasks 要执行的任务
+     * @param <T>   任务结果类型
+     * @return 与输入顺序一致的Future列表，全部已完成
+     * @throws InterruptedException 等待时被中断，此时取消所有未完成的任务
+     */
+    public <T> List<Future<T>> invokeAllBatched(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<RunnableFuture<T>> runnables = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            RunnableFuture<T> future = newTaskFor(Objects.requireNonNull(task));
+            futures.add(future);
+            runnables.add(future);
+        }
+        boolean done = false;
+        try {
+            for (Runnable r : executeAll(runnables).getRejected()) {
+                RejectedExecutionException e = new RejectedExecutionException(
+                        "Task " + r + " rejected from " + poolName);
+                if (r instanceof TimedFutureTask) {
+                    ((TimedFutureTask<?>) r).reject(e);
+                } else {
+                    ((Future<?>) r).cancel(false);
+                }
+            }
+            for (Future<T> f : futures) {
+                if (!f.isDone()) {
+                    try {
+                        f.get();
+                    } catch (CancellationException | ExecutionException ignore) {
+                        // 结果由调用方通过Future读取
+                    }
+                }
+            }
+            done = true;
+            return futures;
+        } finally {
+            if (!done) {
+                for (Future<T> f : futures) {
+                    f.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按键合并提交任务
+     * <p>
+     * 同一键的任务仍在队列中等待时，后续提交不再入队，而是直接返回排队任务的Future并计入合并次数。
+     * 任务开始执行后即解除合并，此时的新提交会重新排队，保证执行开始之后发生的变化还会再处理一次。
+     * 适用于"刷新缓存项K"一类幂等任务，热点键的大量重复提交只会执行一次。
+     * </p>
+     * <p>
+     * 同一键的所有提交应当返回相同类型的结果；合并的提交共享同一个Future，任一方取消都会取消该任务。
+     * </p>
+     *
+     * @param key  合并键，需要正确实现equals/hashCode
+     * @param task 要执行的任务
+     * @param <T>  任务结果类型
+     * @return 任务的Future，可能与之前的提交共享
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> submitCoalesced(Object key, Callable<T> task) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(task);
+        for (;;) {
+            CoalescedFutureTask<?> queued = coalescing.get(key);
+            if (queued != null && !isShutdown()) {
+                coalescedCount.increment();
+                return (Future<T>) queued;
+            }
+            CoalescedFutureTask<T> future = new CoalescedFutureTask<>(key, task, coalescing);
+            if (queued == null ? coalescing.putIfAbsent(key, future) == null : coalescing.replace(key, queued, future)) {
+                try {
+                    execute(future);
+                } catch (RejectedExecutionException e) {
+                    future.unregister();
+                    throw e;
+                }
+                return future;
+            }
+        }
+    }
+
+    /**
+     * 按键合并提交任务
+     *
+     * @param key  合并键，需要正确实现equals/hashCode
+     * @param task 要执行的任务
+     * @return 任务的Future，可能与之前的提交共享
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     * @see #submitCoalesced(Object, Callable)
+     */
+    public Future<?> submitCoalesced(Object key, Runnable task) {
+        Objects.requireNonNull(task);
+        return submitCoalesced(key, Executors.callable(task));
+    }
+
+    /**
+     * 获取被合并到已排队任务的提交次数
+     *
+     * @return 合并次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 提交带有效期的任务
+     * <p>
+     * 任务出队时若已超过有效期则不再执行，Future以{@link TaskExpiredException}异常完成，并计入过期任务数。
+     * 适用于调用方有超时的请求：积压期间跳过调用方已经放弃的任务，线程池可以更快地恢复。
+     * </p>
+     *
+     * @param task    要执行的任务
+     * @param timeout 从提交时开始计算的有效期
+     * @param unit    有效期单位
+     * @param <T>     任务结果类型
+     * @return 任务的Future
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public <T> Future<T> submit(Callable<T> task, long timeout, TimeUnit unit) {
+        return submitWithDeadline(task, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * 提交带有效期的任务
+     *
+     * @param task    要执行的任务
+     * @param timeout 从提交时开始计算的有效期
+     * @param unit    有效期单位
+     * @return 任务的Future，完成时结果为null
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     * @see #submit(Callable, long, TimeUnit)
+     */
+    public Future<?> submit(Runnable task, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(task);
+        return submit(Executors.callable(task), timeout, unit);
+    }
+
+    /**
+     * 提交带截止时间的任务
+     * <p>
+     * 截止时间与{@link System#nanoTime()}同基准，便于沿调用链传递上游请求剩余的时间预算。
+     * </p>
+     *
+     * @param task          要执行的任务
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @param <T>           任务结果类型
+     * @return 任务的Future
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     * @see #submit(Callable, long, TimeUnit)
+     */
+    public <T> Future<T> submitWithDeadline(Callable<T> task, long deadlineNanos) {
+        Objects.requireNonNull(task);
+        RunnableFuture<T> future = new DeadlineFutureTask<>(task, deadlineNanos, expiredCount);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 获取出队时已过截止时间而被丢弃的任务数
+     *
+     * @return 过期任务数
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * 为一批任务写入同一个入队时间（快速路径模式下按采样写入）
+     */
+    private void stampEnqueueNanos(List<Runnable> batch) {
+        long now = System.nanoTime();
+        for (Runnable task : batch) {
+            if (task instanceof TimedTask) {
+                boolean sampled = !fastPathEnabled || (ThreadLocalRandom.current().nextInt() & LATENCY_SAMPLE_MASK) == 0;
+                ((TimedTask) task).setEnqueueNanos(sampled ? now : 0L);
+            }
+        }
+    }
+
+    /**
+     * 批量入队后的复查，与execute入队后的复查相同：
+     * 线程池已关闭则撤回仍在队列中的任务并记为拒绝；没有任何工作线程（核心线程数为0）时启动一个
+     *
+     * @param offered  已入队的任务
+     * @param rejected 被拒绝任务的收集列表
+     */
+    private void recheckAfterBatchOffer(List<Runnable> offered, List<Runnable> rejected) {
+        if (isShutdown()) {
+            for (Runnable task : offered) {
+                if (remove(task)) {
+                    rejected.add(unwrapCarrier(task));
+                }
+            }
+            return;
+        }
+        if (getPoolSize() == 0) {
+            // 没有工作线程消费队列：取回一个任务走常规路径，由线程池创建工作线程
+            Runnable first = offered.get(0);
+            if (getQueue().remove(first)) {
+                bulkRejected.set(rejected);
+                try {
+                    super.execute(first);
+                } finally {
+                    bulkRejected.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 以回收复用的任务对象执行无返回值任务
+     * <p>
+     * 任务逻辑和参数分开传入，线程池把它们放入任务池中的对象再执行，afterExecute结束时放回，
+     * 调用方不需要为每次提交创建捕获参数的lambda，也不会像submit那样创建FutureTask。
+     * 配合数组实现的工作队列（{@link com.smart.pool.core.queue.QueueType#MPMC}）时入队也不分配节点，
+     * 稳定运行时每次提交没有对象分配。action应为不捕获变量的lambda或方法引用，否则其本身仍会分配。
+     * </p>
+     * <p>
+     * 与execute相同，任务抛出的异常交给线程池处理，调用方无法获取结果；需要结果时使用submit。
+     * </p>
+     *
+     * @param action   任务逻辑
+     * @param argument 任务参数
+     * @param <T>      参数类型
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public <T> void executePooled(Consumer<? super T> action, T argument) {
+        Objects.requireNonNull(action);
+        executePooled(PooledTask.acquire(pooledTasks).set(action, argument));
+    }
+
+    /**
+     * 以回收复用的任务对象执行带两个参数的无返回值任务
+     *
+     * @param action 任务逻辑
+     * @param first  第一个参数
+     * @param second 第二个参数
+     * @param <A>    第一个参数类型
+     * @param <B>    第二个参数类型
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     * @see #executePooled(Consumer, Object)
+     */
+    public <A, B> void executePooled(BiConsumer<? super A, ? super B> action, A first, B second) {
+        Objects.requireNonNull(action);
+        executePooled(PooledTask.acquire(pooledTasks).set(action, first, second));
+    }
+
+    private void executePooled(PooledTask task) {
+        try {
+            execute(task);
+        } catch (RejectedExecutionException e) {
+            task.recycle();
+            throw e;
+        }
+    }
+
+    /**
+     * 按优先级执行任务
+     * <p>
+     * 任务被包装为{@link PriorityTask}，工作队列为{@link com.smart.pool.core.queue.PriorityTaskQueue}时
+     * 高优先级任务先出队，同优先级先进先出；其他队列忽略优先级按原顺序执行。
+     * </p>
+     *
+     * @param command  要执行的任务
+     * @param priority 任务优先级，数值越大优先级越高
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public void execute(Runnable command, int priority) {
+        execute(new PriorityTask(command, priority));
+    }
+
+    /**
+     * 按优先级提交任务
+     *
+     * @param task     要执行的任务
+     * @param priority 任务优先级，数值越大优先级越高
+     * @return 任务的Future
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public Future<?> submit(Runnable task, int priority) {
+        Objects.requireNonNull(task);
+        RunnableFuture<Void> future = new PriorityFutureTask<>(task, null, priority);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 按优先级提交任务
+     *
+     * @param task     要执行的任务
+     * @param priority 任务优先级，数值越大优先级越高
+     * @param <T>      任务结果类型
+     * @return 任务的Future
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public <T> Future<T> submit(Callable<T> task, int priority) {
+        Objects.requireNonNull(task);
+        RunnableFuture<T> future = new PriorityFutureTask<>(task, priority);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 在本线程池中异步执行任务
+     * <p>
+     * 返回的{@link SmartCompletableFuture}以本线程池作为默认执行器，后续不带执行器参数的
+     * thenApplyAsync等阶段也在本线程池中执行，而不是{@code ForkJoinPool.commonPool()}。
+     * </p>
+     *
+     * @param supplier 要执行的任务
+     * @param <T>      结果类型
+     * @return 任务的Future
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public <T> SmartCompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return SmartCompletableFuture.supplyAsync(supplier, this);
+    }
+
+    /**
+     * 在本线程池中异步执行任务，后续异步阶段默认也在本线程池中执行
+     *
+     * @param runnable 要执行的任务
+     * @return 任务的Future，完成时结果为null
+     * @throws RejectedExecutionException 当任务无法被执行时抛出
+     */
+    public SmartCompletableFuture<Void> runAsync(Runnable runnable) {
+        return SmartCompletableFuture.runAsync(runnable, this);
+    }
+
+    /**
+     * 创建submit使用的任务对象
+     * <p>
+     * 返回携带入队时间的{@link TimedFutureTask}，替代默认的FutureTask；
+     * 提交的任务实现了{@link Prioritized}时返回保留其优先级的{@link PriorityFutureTask}。
+     * </p>
+     *
+     * @param runnable 要执行的任务
+     * @param value    任务完成后返回的结果
+     * @return 可取消的异步任务
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        if (runnable instanceof Prioritized) {
+            return new PriorityFutureTask<>(runnable, value, ((Prioritized) runnable).getPriority());
+        }
+        return new TimedFutureTask<>(runnable, value);
+    }
+
+    /**
+     * 创建submit使用的任务对象
+     *
+     * @param callable 要执行的任务
+     * @return 可取消的异步任务
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        if (callable instanceof Prioritized) {
+            return new PriorityFutureTask<>(callable, ((Prioritized) callable).getPriority());
+        }
+        return new TimedFutureTask<>(callable);
+    }
+
+    /**
+     * 设置任务上下文装饰器
+     * <p>
+     * 设置后每个提交的任务都放入可回收的载体中：提交线程捕获上下文，工作线程在beforeExecute中恢复、
+     * 在afterExecute中清除，稳定运行时不产生额外的对象分配。拒绝处理器、{@link #shutdownNow()}
+     * 和{@link #executeAll(Collection)}的结果中看到的仍是原任务。已在队列中的任务继续使用提交时的装饰器。
+     * </p>
+     *
+     * @param decorator 任务上下文装饰器，null表示不传递上下文
+     */
+    public void setTaskDecorator(TaskDecorator<?> decorator) {
+        this.carriers = decorator == null ? null : new ContextCarrier.Pool(decorator, ContextCarrier.Pool.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 获取任务上下文装饰器
+     *
+     * @return 任务上下文装饰器，未设置时返回null
+     */
+    public TaskDecorator<?> getTaskDecorator() {
+        ContextCarrier.Pool pool = carriers;
+        return pool == null ? null : pool.getDecorator();
+    }
+
+    /**
+     * 立即关闭线程池，返回的未执行任务中的载体还原为原任务
+     *
+     * @return 未执行的任务
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = super.shutdownNow();
+        pending.replaceAll(DynamicThreadPoolExecutor::unwrapCarrier);
+        return pending;
+    }
+
+    /**
+     * 从队列中移除任务，配置了任务上下文装饰器时按原任务查找所在的载体
+     * <p>
+     * 移除的任务不会执行，配置了并发上限时归还其额度。
+     * </p>
+     *
+     * @param task 要移除的任务
+     * @return 移除成功返回true
+     */
+    @Override
+    public boolean remove(Runnable task) {
+        if (!removeQueued(task)) {
+            return false;
+        }
+        ConcurrencyLimiter l = limiter;
+        if (l != null) {
+            l.release(1);
+        }
+        return true;
+    }
+
+    /**
+     * 移除队列中已取消的Future，配置了并发上限时归还其额度
+     * <p>
+     * 配置了任务上下文装饰器时按载体中的原任务判断，移除的载体同时回收。
+     * </p>
+     */
+    @Override
+    public void purge() {
+        BlockingQueue<Runnable> queue = getQueue();
+        int removed = 0;
+        for (Runnable r : queue.toArray(new Runnable[0])) {
+            Runnable task = r instanceof ContextCarrier ? ((ContextCarrier) r).getTask() : r;
+            if (!(task instanceof Future) || !((Future<?>) task).isCancelled() || !queue.remove(r)) {
+                continue;
+            }
+            if (r instanceof ContextCarrier) {
+                ContextCarrier carrier = (ContextCarrier) r;
+                if (carrier.getTask() != task) {
+                    // 载体在检查之后已被执行、回收并重新用于新提交的任务，放回线程池
+                    super.execute(carrier);
+                    continue;
+                }
+                carrier.recycle();
+            }
+            removed++;
+        }
+        ConcurrencyLimiter l = limiter;
+        if (l != null && removed > 0) {
+            l.release(removed);
+        }
+        super.purge();
+    }
+
+    private boolean removeQueued(Runnable task) {
+        if (super.remove(task)) {
+            return true;
+        }
+        if (carriers == null || task instanceof ContextCarrier) {
+            return false;
+        }
+        for (Runnable r : getQueue()) {
+            if (r instanceof ContextCarrier && ((ContextCarrier) r).getTask() == task && super.remove(r)) {
+                ((ContextCarrier) r).recycle();
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 获取线程池名称
      *
      * @return 线程池名称
      */
+    @Override
     public String getPoolName() {
         return poolName;
     }
 
+    /**
+     * 获取工作队列中等待执行的任务数
+     *
+     * @return 排队任务数
+     */
+    @Override
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+
+    /**
+     * 获取工作队列容量
+     *
+     * @return 队列容量，无界队列返回Integer.MAX_VALUE
+     */
+    @Override
+    public int getQueueCapacity() {
+        BlockingQueue<Runnable> queue = unwrapQueue(getQueue());
+        if (queue instanceof ResizableQueue) {
+            return ((ResizableQueue) queue).getCapacity();
+        }
+        int remaining = queue.remainingCapacity();
+        return remaining == Integer.MAX_VALUE ? remaining : (int) Math.min((long) queue.size() + remaining, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 调整工作队列容量，工作队列需要实现{@link ResizableQueue}
+     *
+     * @param capacity 新容量，必须大于0
+     * @throws UnsupportedOperationException 工作队列不支持调整容量
+     */
+    @Override
+    public void setQueueCapacity(int capacity) {
+        BlockingQueue<Runnable> queue = unwrapQueue(getQueue());
+        if (!(queue instanceof ResizableQueue)) {
+            throw new UnsupportedOperationException("Queue of pool " + poolName + " is not resizable: "
+                    + queue.getClass().getName());
+        }
+        ((ResizableQueue) queue).setCapacity(capacity);
+        log.info("[ThreadPool:{}] 队列容量调整为 {}", poolName, capacity);
+    }
+
+    /**
+     * 工作队列是否支持运行时调整容量
+     *
+     * @return 工作队列实现了{@link ResizableQueue}时返回true
+     */
+    @Override
+    public boolean isQueueResizable() {
+        return unwrapQueue(getQueue()) instanceof ResizableQueue;
+    }
+
     /**
      * 获取原子性的已完成任务数
      *
      * @return 已完成任务总数
      */
     public long getCompletedTaskCountAtomic() {
-        return completedTaskCount.get();
+        return completedTaskCount.sum();
+    }
+
+    /**
+     * 获取已提交任务总数
+     * <p>
+     * 每次execute（包括submit等包装后的提交）和批量提交的每个任务计数一次，被拒绝的任务也计入，
+     * 两次读数之差除以时间间隔即为任务到达速率。与{@link #getTaskCount()}不同，读取时不加锁。
+     * </p>
+     *
+     * @return 已提交任务总数
+     */
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    /**
+     * 设置自适应并发上限
+     * <p>
+     * 已准入（排队和正在执行）的任务数达到上限时，新任务交给拒绝执行处理器（由处理器决定抛出、调用方执行或降级），
+     * 额度在提交时以CAS占用，多个线程同时提交也不会超出上限。超过上限的拒绝是最终的：默认的重试处理器不会把任务放回队列，
+     * 而是抛出{@link RejectedExecutionException}。每个任务执行完成后执行耗时交给上限算法调整上限。开启后每个任务多两次{@link System#nanoTime()}调用和一次原子计数。
+     * 只能设置一次，应在提交任务之前设置。
+     * </p>
+     *
+     * @param limit 并发上限算法
+     * @throws IllegalStateException 已经设置过并发上限
+     * @see com.smart.pool.core.limit.AimdLimit
+     * @see com.smart.pool.core.limit.GradientLimit
+     */
+    public synchronized void setConcurrencyLimit(ConcurrencyLimit limit) {
+        Objects.requireNonNull(limit);
+        if (limiter != null) {
+            throw new IllegalStateException("Concurrency limit of pool " + poolName + " is already set");
+        }
+        this.limiter = new ConcurrencyLimiter(limit);
+    }
+
+    /**
+     * 获取自适应并发上限算法
+     *
+     * @return 并发上限算法，未设置时返回null
+     */
+    public ConcurrencyLimit getConcurrencyLimit() {
+        ConcurrencyLimiter l = limiter;
+        return l == null ? null : l.getLimit();
+    }
+
+    /**
+     * 获取因超过并发上限被拒绝的任务数
+     *
+     * @return 被限制的任务数，未设置并发上限时返回0
+     */
+    public long getLimitedCount() {
+        ConcurrencyLimiter l = limiter;
+        return l == null ? 0L : l.getLimitedCount();
+    }
+
+    /**
+     * 获取排队耗时直方图
+     *
+     * @return 排队耗时直方图（纳秒）
+     */
+    @Override
+    public LatencyHistogram getQueueWaitHistogram() {
+        return queueWaitHistogram;
+    }
+
+    /**
+     * 获取执行耗时直方图
+     *
+     * @return 执行耗时直方图（纳秒）
+     */
+    @Override
+    public LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+
+    /**
+     * 获取负载告警，可用于调整告警阈值和冷却时间
+     *
+     * @return 负载告警
+     */
+    public LoadAlarm getLoadAlarm() {
+        return loadAlarm;
+    }
+
+    /**
+     * 设置是否启用快速路径模式
+     *
+     * @param fastPathEnabled true表示启用快速路径，负载检查改为采样执行
+     */
+    public void setFastPathEnabled(boolean fastPathEnabled) {
+        this.fastPathEnabled = fastPathEnabled;
+    }
+
+    /**
+     * 是否启用了快速路径模式
+     *
+     * @return 启用返回true，否则返回false
+     */
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
     }
 
     /**
      * 获取线程池指标
      * <p>
      * 创建并返回包含当前线程池各项指标的PoolMetrics对象，
-     * 包括活跃线程数、核心线程数、最大线程数、队列大小和已完成任务数。
+     * 包括活跃线程数、核心线程数、最大线程数、队列大小、已完成任务数以及排队/执行耗时分位数。
      * </p>
      *
      * @return 线程池指标对象
      */
+    @Override
     public PoolMetrics getMetrics() {
         PoolMetrics metrics = new PoolMetrics(
                 poolName,
                 getActiveCount(),
                 getCorePoolSize(),
                 getMaximumPoolSize(),
-                getQueue().size(),
+                getQueueSize(),
                 getCompletedTaskCountAtomic()
         );
+        metrics.setPoolType(PoolMetrics.TYPE_THREAD_POOL);
+        metrics.setQueueCapacity(getQueueCapacity());
         metrics.setTaskCount(getTaskCount());
+        metrics.setCoalescedCount(getCoalescedCount());
+        metrics.setExpiredCount(getExpiredCount());
+        metrics.setSubmittedCount(getSubmittedCount());
+        ConcurrencyLimiter l = limiter;
+        if (l != null) {
+            metrics.setConcurrencyLimit(l.getLimit().getLimit());
+            metrics.setLimitedCount(l.getLimitedCount());
+        }
+        metrics.applyLatency(queueWaitHistogram.snapshot(), executionHistogram.snapshot());
         return metrics;
     }
 }
\ No newline at end of file
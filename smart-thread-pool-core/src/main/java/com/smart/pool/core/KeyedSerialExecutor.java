@@ -0,0 +1,332 @@
+package com.smart.pool.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 按键串行执行器
+ * <p>
+ * 建立在{@link DynamicThreadPoolExecutor}之上：同一键的任务严格按提交顺序逐个执行，不同键的任务并发执行，
+ * 适用于同一订单的事件必须顺序处理、不同订单之间互不影响的场景，不再需要按分片维护多个单线程池。
+ * </p>
+ * <p>
+ * 每个有待执行任务的键对应一条串行通道，通道表按键的哈希分段加锁，不同分段的提交互不竞争。
+ * 通道本身作为任务提交给线程池，每次只执行一个任务，执行完仍有积压时重新提交到队尾，
+ * 使热点键与其它键公平地轮流占用工作线程；通道排空后立即从表中移除，空闲键不占用内存。
+ * 稳定运行时每个任务除通道队列中的槽位外没有额外分配。
+ * </p>
+ * <p>
+ * 通道首次提交被线程池拒绝时回滚并抛出{@link RejectedExecutionException}，不经过线程池的拒绝处理器，
+ * 否则CallerRunsPolicy等策略会破坏同一键的顺序。回滚前已有其他线程向该通道追加了任务时，
+ * 这些任务已被视为接收，由被拒绝的调用线程同步执行完毕后再抛出异常。通道重新提交被拒绝（线程池饱和或已关闭）时，
+ * 由当前工作线程继续执行该通道的剩余任务，已接收的任务不会丢失。任务抛出的异常记录日志后继续执行后续任务，
+ * 需要获取异常时使用{@link #submit(Object, Callable)}；抛出{@link Error}时先调度通道的后续任务再向上传播。
+ * </p>
+ * <p>
+ * 线程池配置了{@link TaskDecorator}时，每个任务在提交时单独捕获提交线程的上下文，执行时恢复，
+ * 同一通道中来自不同提交线程的任务各自使用自己的上下文。被拒绝的调用线程同步执行通道任务后恢复自己原有的上下文。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class KeyedSerialExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyedSerialExecutor.class);
+
+    /**
+     * 默认分段数
+     */
+    public static final int DEFAULT_STRIPES = 64;
+
+    /**
+     * 执行任务的线程池
+     */
+    private final DynamicThreadPoolExecutor executor;
+
+    /**
+     * 通道表分段，长度为2的幂
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * 使用默认分段数构造按键串行执行器
+     *
+     * @param executor 执行任务的线程池
+     */
+    public KeyedSerialExecutor(DynamicThreadPoolExecutor executor) {
+        this(executor, DEFAULT_STRIPES);
+    }
+
+    /**
+     * 构造按键串行执行器
+     *
+     * @param executor 执行任务的线程池
+     * @param stripes  通道表分段数，向上取整到2的幂
+     */
+    public KeyedSerialExecutor(DynamicThreadPoolExecutor executor, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        this.executor = Objects.requireNonNull(executor);
+        int n = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 获取执行任务的线程池
+     *
+     * @return 线程池
+     */
+    public DynamicThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private Stripe stripeFor(Object key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * 按键串行执行任务
+     *
+     * @param key  串行键，同一键（按equals判断）的任务按提交顺序执行
+     * @param task 要执行的任务
+     * @throws RejectedExecutionException 该键没有正在执行的通道且线程池拒绝接收时抛出；
+     *                                    此前其他线程已追加到该通道的任务会先由当前线程执行完
+     */
+    public void execute(Object key, Runnable task) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(task);
+        Runnable wrapped = executor.wrapContext(task);
+        Stripe stripe = stripeFor(key);
+        Lane lane;
+        synchronized (stripe) {
+            lane = stripe.lanes.get(key);
+            if (lane != null) {
+                // 通道正在执行，追加到末尾即可，由通道负责调度
+                lane.tasks.addLast(wrapped);
+                return;
+            }
+            lane = new Lane(key, stripe);
+            lane.tasks.addLast(wrapped);
+            stripe.lanes.put(key, lane);
+        }
+        if (!executor.tryExecute(lane)) {
+            boolean idle;
+            synchronized (stripe) {
+                DynamicThreadPoolExecutor.discardContext(lane.tasks.pollFirst());
+                idle = lane.tasks.isEmpty();
+                if (idle) {
+                    stripe.lanes.remove(key);
+                }
+            }
+            if (!idle) {
+                // 其它线程已追加到该通道并认为提交成功，由当前线程执行完这些任务
+                executor.runPreservingContext(lane);
+            }
+            throw new RejectedExecutionException("Task " + task + " rejected from " + executor.getPoolName()
+                    + " (key " + key + ")");
+        }
+    }
+
+    /**
+     * 按键串行提交任务
+     *
+     * @param key  串行键
+     * @param task 要执行的任务
+     * @return 任务的Future
+     * @throws RejectedExecutionException 线程池拒绝接收时抛出
+     */
+    public <T> Future<T> submit(Object key, Callable<T> task) {
+        Objects.requireNonNull(task);
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(key, future);
+        return future;
+    }
+
+    /**
+     * 按键串行提交任务
+     *
+     * @param key  串行键
+     * @param task 要执行的任务
+     * @return 任务的Future，完成时结果为null
+     * @throws RejectedExecutionException 线程池拒绝接收时抛出
+     */
+    public Future<?> submit(Object key, Runnable task) {
+        Objects.requireNonNull(task);
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        execute(key, future);
+        return future;
+    }
+
+    /**
+     * 获取指定键的积压任务数（不含正在执行的任务）
+     *
+     * @param key 串行键
+     * @return 积压任务数，没有活跃通道时返回0
+     */
+    public int getLaneBacklog(Object key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Lane lane = stripe.lanes.get(key);
+            return lane == null ? 0 : lane.backlog();
+        }
+    }
+
+    /**
+     * 获取活跃通道数，即当前有任务在执行或排队的键数
+     *
+     * @return 活跃通道数
+     */
+    public int getActiveLaneCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.lanes.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取所有活跃通道的积压任务数之和
+     *
+     * @return 总积压任务数
+     */
+    public int getTotalBacklog() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Lane lane : stripe.lanes.values()) {
+                    total += lane.backlog();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 获取积压最多的通道的积压任务数，用于发现热点键
+     *
+     * @return 最大积压任务数
+     */
+    public int getMaxLaneBacklog() {
+        int max = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Lane lane : stripe.lanes.values()) {
+                    max = Math.max(max, lane.backlog());
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 获取各活跃通道积压任务数的快照
+     * <p>
+     * 按分段依次加锁读取，不是全局一致的快照。
+     * </p>
+     *
+     * @return 键到积压任务数的映射
+     */
+    public Map<Object, Integer> getLaneBacklogs() {
+        Map<Object, Integer> snapshot = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Lane lane : stripe.lanes.values()) {
+                    snapshot.put(lane.key, lane.backlog());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 通道表分段，以自身作为锁
+     */
+    private static final class Stripe {
+
+        /**
+         * 活跃通道，通道排空后移除
+         */
+        final Map<Object, Lane> lanes = new HashMap<>();
+    }
+
+    /**
+     * 串行通道
+     * <p>
+     * 队首元素是正在执行或即将执行的任务，执行完成后才出队，因此队列非空即表示通道已提交给线程池。
+     * </p>
+     */
+    private final class Lane implements Runnable {
+
+        final Object key;
+
+        final Stripe stripe;
+
+        /**
+         * 待执行任务，由所属分段的锁保护
+         */
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>(4);
+
+        Lane(Object key, Stripe stripe) {
+            this.key = key;
+            this.stripe = stripe;
+        }
+
+        /**
+         * 积压任务数，调用方须持有分段锁
+         */
+        int backlog() {
+            return Math.max(0, tasks.size() - 1);
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable task;
+                synchronized (stripe) {
+                    task = tasks.peekFirst();
+                }
+                try {
+                    DynamicThreadPoolExecutor.runInContext(task);
+                } catch (Exception e) {
+                    log.error("[KEYED][ThreadPool:{}] 串行任务执行异常, key={}", executor.getPoolName(), key, e);
+                } catch (Error e) {
+                    // 先调度后续任务，避免通道停在表中无人执行，重新提交被拒绝时由当前线程排空
+                    if (!next()) {
+                        run();
+                    }
+                    throw e;
+                }
+            } while (!next());
+        }
+
+        /**
+         * 移除已执行的任务并调度下一个
+         *
+         * @return 通道已排空或已重新提交返回true，需要由当前线程继续执行返回false
+         */
+        private boolean next() {
+            synchronized (stripe) {
+                tasks.pollFirst();
+                if (tasks.isEmpty()) {
+                    stripe.lanes.remove(key);
+                    return true;
+                }
+            }
+            return executor.tryExecute(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.smart.pool.core;
+
+/**
+ * 按CPU数计算线程数的规则
+ * <p>
+ * 线程数由容器实际可用的CPU数（见{@link CpuQuota#effectiveCpus()}）计算，而不是写死的数值，
+ * 同一份配置在0.5核到16核的容器中都能得到合适的线程数：
+ * <ul>
+ *     <li>{@link #cpuBound()}：计算密集型任务，线程数等于CPU数（向上取整）</li>
+ *     <li>{@link #ioBound(double, double)}：阻塞型任务，线程数 = CPU数 × 目标CPU利用率 × (1 + 等待时间/计算时间)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public final class PoolSizing {
+
+    /**
+     * 目标CPU利用率，0~1
+     */
+    private final double targetUtilization;
+
+    /**
+     * 任务等待时间与计算时间之比
+     */
+    private final double waitComputeRatio;
+
+    private PoolSizing(double targetUtilization, double waitComputeRatio) {
+        this.targetUtilization = targetUtilization;
+        this.waitComputeRatio = waitComputeRatio;
+    }
+
+    /**
+     * 计算密集型：线程数等于可用CPU数
+     *
+     * @return 线程数规则
+     */
+    public static PoolSizing cpuBound() {
+        return new PoolSizing(1.0, 0.0);
+    }
+
+    /**
+     * 阻塞型：线程数 = CPU数 × targetUtilization × (1 + waitComputeRatio)
+     *
+     * @param targetUtilization 目标CPU利用率，取值(0, 1]
+     * @param waitComputeRatio  任务等待时间（IO、锁、远程调用）与计算时间之比，不小于0
+     * @return 线程数规则
+     */
+    public static PoolSizing ioBound(double targetUtilization, double waitComputeRatio) {
+        if (!(targetUtilization > 0 && targetUtilization <= 1)) {
+            throw new IllegalArgumentException("targetUtilization must be in (0, 1]: " + targetUtilization);
+        }
+        if (!(waitComputeRatio >= 0)) {
+            throw new IllegalArgumentException("waitComputeRatio must not be negative: " + waitComputeRatio);
+        }
+        return new PoolSizing(targetUtilization, waitComputeRatio);
+    }
+
+    /**
+     * 按可用CPU数计算线程数
+     *
+     * @param cpus 可用CPU数，可以是小数（如0.5核）
+     * @return 线程数，至少为1
+     */
+    public int threads(double cpus) {
+        double threads = cpus * targetUtilization * (1 + waitComputeRatio);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(threads)));
+    }
+
+    @Override
+    public String toString() {
+        return waitComputeRatio == 0 && targetUtilization == 1.0
+                ? "cpuBound"
+                : "ioBound(u=" + targetUtilization + ", w/c=" + waitComputeRatio + ")";
+    }
+}
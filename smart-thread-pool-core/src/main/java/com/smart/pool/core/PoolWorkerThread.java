@@ -0,0 +1,40 @@
+package com.smart.pool.core;
+
+/**
+ * 线程池工作线程
+ * <p>
+ * 由{@link SmartPoolBuilder}的默认线程工厂创建，在线程对象上直接保存当前任务的计时和采样状态，
+ * 使{@link DynamicThreadPoolExecutor}的beforeExecute/afterExecute无需访问ThreadLocal。
+ * 使用其他线程工厂时，执行器会退回到ThreadLocal保存同样的状态。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class PoolWorkerThread extends Thread {
+
+    /**
+     * 当前任务的开始时间（纳秒），0表示本任务不计时
+     */
+    long taskStartNanos;
+
+    /**
+     * 采样计数器，快速路径模式下用于决定是否对当前任务计时和检查负载
+     */
+    int sampleCounter;
+
+    /**
+     * 当前任务在并发上限中登记的开始时间（纳秒），0表示本任务未登记
+     */
+    long limitStartNanos;
+
+    /**
+     * 构造工作线程
+     *
+     * @param target 线程执行体
+     * @param name   线程名称
+     */
+    public PoolWorkerThread(Runnable target, String name) {
+        super(target, name);
+    }
+}
@@ -0,0 +1,112 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.queue.MpmcArrayBlockingQueue;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 可回收的无返回值任务
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#executePooled(Consumer, Object)}使用：任务逻辑和参数分开传入，
+ * 线程池把它们放入回收复用的任务对象中执行，调用方不需要为每次提交创建捕获参数的lambda，
+ * 也没有submit会创建的FutureTask。工作线程执行完（包括抛出异常）后由线程池在afterExecute的最后清空引用并放回任务池，
+ * beforeExecute/afterExecute中看到的始终是完整的任务；由拒绝处理器等在线程池外执行的任务不回收，交给GC。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class PooledTask implements TimedTask {
+
+    /**
+     * 所属的任务池
+     */
+    private final MpmcArrayBlockingQueue<PooledTask> pool;
+
+    /**
+     * 单参数任务逻辑
+     */
+    private Consumer<Object> consumer;
+
+    /**
+     * 双参数任务逻辑
+     */
+    private BiConsumer<Object, Object> biConsumer;
+
+    private Object first;
+
+    private Object second;
+
+    /**
+     * 入队时间（纳秒）
+     */
+    private long enqueueNanos;
+
+    private PooledTask(MpmcArrayBlockingQueue<PooledTask> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 从任务池取出任务对象，任务池为空时新建
+     *
+     * @param pool 任务池
+     * @return 已清空的任务对象
+     */
+    static PooledTask acquire(MpmcArrayBlockingQueue<PooledTask> pool) {
+        PooledTask task = pool.poll();
+        return task != null ? task : new PooledTask(pool);
+    }
+
+    @SuppressWarnings("unchecked")
+    PooledTask set(Consumer<?> consumer, Object argument) {
+        this.consumer = (Consumer<Object>) consumer;
+        this.first = argument;
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    PooledTask set(BiConsumer<?, ?> biConsumer, Object first, Object second) {
+        this.biConsumer = (BiConsumer<Object, Object>) biConsumer;
+        this.first = first;
+        this.second = second;
+        return this;
+    }
+
+    @Override
+    public void run() {
+        if (consumer != null) {
+            consumer.accept(first);
+        } else {
+            biConsumer.accept(first, second);
+        }
+    }
+
+    /**
+     * 清空引用后放回任务池，任务池已满时交给GC
+     */
+    void recycle() {
+        consumer = null;
+        biConsumer = null;
+        first = null;
+        second = null;
+        enqueueNanos = 0L;
+        pool.offer(this);
+    }
+
+    @Override
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    @Override
+    public void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+
+    @Override
+    public String toString() {
+        Object action = consumer != null ? consumer : biConsumer;
+        return "PooledTask[" + action + "]";
+    }
+}
@@ -0,0 +1,52 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.queue.Prioritized;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 携带优先级的FutureTask
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#submit(Callable, int)}或提交{@link Prioritized}任务时的newTaskFor创建，
+ * 使submit返回的Future在优先级队列中保留原任务的优先级。
+ * </p>
+ *
+ * @param <V> 任务结果类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class PriorityFutureTask<V> extends TimedFutureTask<V> implements Prioritized {
+
+    /**
+     * 任务优先级，数值越大优先级越高
+     */
+    private final int priority;
+
+    /**
+     * 基于Callable构造
+     *
+     * @param callable 要执行的任务
+     * @param priority 任务优先级
+     */
+    public PriorityFutureTask(Callable<V> callable, int priority) {
+        super(callable);
+        this.priority = priority;
+    }
+
+    /**
+     * 基于Runnable构造
+     *
+     * @param runnable 要执行的任务
+     * @param result   任务完成后返回的结果
+     * @param priority 任务优先级
+     */
+    public PriorityFutureTask(Runnable runnable, V result, int priority) {
+        super(runnable, result);
+        this.priority = priority;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -1,16 +1,22 @@
 package com.smart.pool.core;
 
+import com.smart.pool.core.queue.Prioritized;
+
 /**
  * 支持任务优先级的封装类
  * <p>
  * 该类实现了{@link Runnable}和{@link Comparable}接口，用于包装普通任务并为其添加优先级属性。
  * 通过实现Comparable接口，支持在优先级队列中按照优先级进行排序，优先级高的任务会先被执行。
  * </p>
+ * <p>
+ * 配合{@link com.smart.pool.core.queue.PriorityTaskQueue}使用时由队列读取{@link #getPriority()}排序，
+ * 同优先级先进先出并按等待时间老化；通常通过{@link DynamicThreadPoolExecutor#execute(Runnable, int)}创建。
+ * </p>
  *
  * @author Smart Thread Pool
  * @since 1.0.0
  */
-public class PriorityTask implements Runnable, Comparable<PriorityTask> {
+public class PriorityTask implements TimedTask, Prioritized, Comparable<PriorityTask> {
 
     /**
      * 任务优先级，数值越大优先级越高
@@ -22,6 +28,11 @@ public class PriorityTask implements Runnable, Comparable<PriorityTask> {
      */
     private final Runnable task;
 
+    /**
+     * 入队时间（纳秒）
+     */
+    private long enqueueNanos;
+
     /**
      * 构造一个优先级任务
      *
@@ -66,6 +77,7 @@ public class PriorityTask implements Runnable, Comparable<PriorityTask> {
      *
      * @return 任务优先级
      */
+    @Override
     public int getPriority() {
         return priority;
     }
@@ -78,4 +90,14 @@ public class PriorityTask implements Runnable, Comparable<PriorityTask> {
     public Runnable getTask() {
         return task;
     }
-}
\ No newline at end of file
+
+    @Override
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    @Override
+    public void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+}
@@ -0,0 +1,203 @@
+package com.smart.pool.core;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 绑定线程池的CompletableFuture
+ * <p>
+ * CompletableFuture的thenApplyAsync等不带执行器参数的异步方法默认使用{@code ForkJoinPool.commonPool()}，
+ * 业务线程池的容量规划因此被绕过，公共池也容易被阻塞型任务占满。该类把默认执行器替换为所属线程池，
+ * 并且由它派生的每个后续阶段都继承同一个线程池，整条调用链不会意外落到公共池上。
+ * 显式传入执行器的异步方法仍在指定的执行器上运行。
+ * </p>
+ * <p>
+ * 所属线程池为{@link DynamicThreadPoolExecutor}时，每个异步阶段都携带入队时间提交，
+ * 阶段的排队耗时和执行耗时计入实际运行它的线程池的指标。
+ * </p>
+ *
+ * @param <T> 结果类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class SmartCompletableFuture<T> extends CompletableFuture<T> {
+
+    /**
+     * 不带执行器参数的异步阶段使用的执行器
+     */
+    private final Executor defaultExecutor;
+
+    /**
+     * 构造以指定线程池为默认执行器的未完成Future
+     *
+     * @param executor 默认执行器
+     */
+    public SmartCompletableFuture(Executor executor) {
+        this.defaultExecutor = stageExecutor(Objects.requireNonNull(executor));
+    }
+
+    /**
+     * 在指定线程池中执行任务，后续异步阶段默认也在该线程池中执行
+     *
+     * @param supplier 要执行的任务
+     * @param executor 线程池
+     * @param <U>      结果类型
+     * @return 任务的Future
+     */
+    public static <U> SmartCompletableFuture<U> supplyAsync(Supplier<U> supplier, SmartExecutor executor) {
+        Objects.requireNonNull(supplier);
+        SmartCompletableFuture<U> future = new SmartCompletableFuture<>(executor);
+        future.defaultExecutor.execute(() -> {
+            if (!future.isDone()) {
+                try {
+                    future.complete(supplier.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 在指定名称的线程池中执行任务，后续异步阶段默认也在该线程池中执行
+     *
+     * @param supplier 要执行的任务
+     * @param poolName 在{@link ThreadPoolManager}中注册的线程池名称
+     * @param <U>      结果类型
+     * @return 任务的Future
+     * @throws IllegalArgumentException 线程池未注册时抛出
+     */
+    public static <U> SmartCompletableFuture<U> supplyAsync(Supplier<U> supplier, String poolName) {
+        return supplyAsync(supplier, lookup(poolName));
+    }
+
+    /**
+     * 在指定线程池中执行任务，后续异步阶段默认也在该线程池中执行
+     *
+     * @param runnable 要执行的任务
+     * @param executor 线程池
+     * @return 任务的Future，完成时结果为null
+     */
+    public static SmartCompletableFuture<Void> runAsync(Runnable runnable, SmartExecutor executor) {
+        Objects.requireNonNull(runnable);
+        return supplyAsync(() -> {
+            runnable.run();
+            return null;
+        }, executor);
+    }
+
+    /**
+     * 在指定名称的线程池中执行任务，后续异步阶段默认也在该线程池中执行
+     *
+     * @param runnable 要执行的任务
+     * @param poolName 在{@link ThreadPoolManager}中注册的线程池名称
+     * @return 任务的Future，完成时结果为null
+     * @throws IllegalArgumentException 线程池未注册时抛出
+     */
+    public static SmartCompletableFuture<Void> runAsync(Runnable runnable, String poolName) {
+        return runAsync(runnable, lookup(poolName));
+    }
+
+    /**
+     * 把已有的CompletionStage转接到指定线程池上
+     * <p>
+     * 返回的Future与source同时完成，此后的异步阶段默认在executor中执行，
+     * 适用于把第三方客户端返回的CompletableFuture接入业务线程池。
+     * </p>
+     *
+     * @param source   原始阶段
+     * @param executor 后续异步阶段的默认线程池
+     * @param <U>      结果类型
+     * @return 绑定线程池的Future
+     */
+    public static <U> SmartCompletableFuture<U> bind(CompletionStage<U> source, SmartExecutor executor) {
+        SmartCompletableFuture<U> future = new SmartCompletableFuture<>(executor);
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 返回已完成的Future，此后的异步阶段默认在executor中执行
+     *
+     * @param value    结果
+     * @param executor 后续异步阶段的默认线程池
+     * @param <U>      结果类型
+     * @return 已完成的Future
+     */
+    public static <U> SmartCompletableFuture<U> completedFuture(U value, SmartExecutor executor) {
+        SmartCompletableFuture<U> future = new SmartCompletableFuture<>(executor);
+        future.complete(value);
+        return future;
+    }
+
+    private static SmartExecutor lookup(String poolName) {
+        SmartExecutor executor = ThreadPoolManager.get(poolName);
+        if (executor == null) {
+            throw new IllegalArgumentException("Thread pool not registered: " + poolName);
+        }
+        return executor;
+    }
+
+    /**
+     * DynamicThreadPoolExecutor上的阶段携带入队时间提交，以便记录排队耗时
+     */
+    private static Executor stageExecutor(Executor executor) {
+        if (executor instanceof DynamicThreadPoolExecutor) {
+            return new StageExecutor((DynamicThreadPoolExecutor) executor);
+        }
+        return executor;
+    }
+
+    /**
+     * 不带执行器参数的异步阶段使用所属线程池
+     *
+     * @return 默认执行器
+     */
+    @Override
+    public Executor defaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /**
+     * 派生的阶段继承同一个默认执行器
+     *
+     * @param <U> 结果类型
+     * @return 未完成的Future
+     */
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new SmartCompletableFuture<>(defaultExecutor);
+    }
+
+    /**
+     * 把阶段包装为{@link StageTask}后提交的执行器
+     */
+    private static final class StageExecutor implements Executor {
+
+        private final DynamicThreadPoolExecutor executor;
+
+        StageExecutor(DynamicThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable stage) {
+            executor.execute(new StageTask(stage));
+        }
+
+        @Override
+        public String toString() {
+            return executor.getPoolName();
+        }
+    }
+}
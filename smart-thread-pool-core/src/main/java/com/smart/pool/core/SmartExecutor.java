@@ -0,0 +1,136 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.metrics.LatencyHistogram;
+import com.smart.pool.core.metrics.PoolMetrics;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 可管理的智能执行器
+ * <p>
+ * {@link ThreadPoolManager}、调节策略和监控组件依赖的统一抽象，屏蔽底层调度模型的差异：
+ * {@link DynamicThreadPoolExecutor}（单一共享队列）和{@link DynamicForkJoinPool}（工作窃取）
+ * 都实现该接口，因此可以被同样地注册、监控和调节。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface SmartExecutor extends ExecutorService {
+
+    /**
+     * 获取线程池名称
+     *
+     * @return 线程池名称
+     */
+    String getPoolName();
+
+    /**
+     * 获取线程池指标
+     *
+     * @return 线程池指标对象
+     */
+    PoolMetrics getMetrics();
+
+    /**
+     * 获取正在执行任务的线程数
+     *
+     * @return 活跃线程数
+     */
+    int getActiveCount();
+
+    /**
+     * 获取排队耗时直方图，调节策略据此计算最近一个周期的排队延迟
+     *
+     * @return 排队耗时直方图（纳秒），不记录排队耗时的执行器返回null
+     */
+    default LatencyHistogram getQueueWaitHistogram() {
+        return null;
+    }
+
+    /**
+     * 获取执行耗时直方图
+     *
+     * @return 执行耗时直方图（纳秒），不记录执行耗时的执行器返回null
+     */
+    default LatencyHistogram getExecutionHistogram() {
+        return null;
+    }
+
+    /**
+     * 获取等待执行的任务数
+     *
+     * @return 排队任务数
+     */
+    int getQueueSize();
+
+    /**
+     * 获取队列容量
+     *
+     * @return 队列容量，无界队列返回Integer.MAX_VALUE
+     */
+    default int getQueueCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 调整队列容量
+     * <p>
+     * 调小时已入队的任务不会被丢弃，队列中的任务数降到新容量以下之前新提交的任务会进入拒绝流程。
+     * </p>
+     *
+     * @param capacity 新容量，必须大于0
+     * @throws UnsupportedOperationException 工作队列不支持调整容量
+     */
+    default void setQueueCapacity(int capacity) {
+        throw new UnsupportedOperationException("Queue of pool " + getPoolName() + " is not resizable");
+    }
+
+    /**
+     * 是否支持运行时调整队列容量
+     *
+     * @return 支持返回true
+     */
+    default boolean isQueueResizable() {
+        return false;
+    }
+
+    /**
+     * 获取核心线程数
+     *
+     * @return 核心线程数
+     */
+    int getCorePoolSize();
+
+    /**
+     * 设置核心线程数
+     *
+     * @param corePoolSize 核心线程数
+     * @throws UnsupportedOperationException 执行器不支持调整线程数
+     */
+    void setCorePoolSize(int corePoolSize);
+
+    /**
+     * 获取最大线程数
+     *
+     * @return 最大线程数
+     */
+    int getMaximumPoolSize();
+
+    /**
+     * 设置最大线程数
+     *
+     * @param maximumPoolSize 最大线程数
+     * @throws UnsupportedOperationException 执行器不支持调整线程数
+     */
+    void setMaximumPoolSize(int maximumPoolSize);
+
+    /**
+     * 是否支持运行时调整线程数，调节策略应跳过不支持调整的执行器
+     *
+     * @return 支持返回true
+     */
+    default boolean isResizable() {
+        return true;
+    }
+}
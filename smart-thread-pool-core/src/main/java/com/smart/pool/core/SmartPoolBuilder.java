@@ -1,6 +1,18 @@
 package com.smart.pool.core;
 
+import com.smart.pool.core.alarm.LoadAlarm;
+import com.smart.pool.core.limit.ConcurrencyLimit;
+import com.smart.pool.core.queue.BatchDrainingQueue;
+import com.smart.pool.core.queue.BucketedPriorityQueue;
+import com.smart.pool.core.queue.PriorityTaskQueue;
+import com.smart.pool.core.queue.QueueType;
 import com.smart.pool.core.reject.RejectedStrategyManager;
+import com.smart.pool.core.strategy.AdaptiveStrategy;
+import com.smart.pool.core.strategy.AdaptiveStrategyManager;
+import com.smart.pool.core.strategy.AdjustmentScheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
 
@@ -17,6 +29,8 @@ import java.util.concurrent.*;
  */
 public class SmartPoolBuilder {
 
+    private static final Logger log = LoggerFactory.getLogger(SmartPoolBuilder.class);
+
     /**
      * 线程池名称，用于标识和日志记录
      */
@@ -48,7 +62,82 @@ public class SmartPoolBuilder {
     private boolean allowCoreThreadTimeOut = false;
 
     /**
-     * 工作队列，如果未指定则使用LinkedBlockingQueue
+     * 是否启用快速路径模式，默认false
+     */
+    private boolean fastPath = false;
+
+    /**
+     * 是否使用虚拟线程，默认false
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * ForkJoin线程池并行度，默认为CPU核数
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 负载告警进入阈值，默认0.9
+     */
+    private double alarmEnterThreshold = LoadAlarm.DEFAULT_ENTER_THRESHOLD;
+
+    /**
+     * 负载告警退出阈值，默认0.7
+     */
+    private double alarmExitThreshold = LoadAlarm.DEFAULT_EXIT_THRESHOLD;
+
+    /**
+     * 负载告警冷却时间（毫秒），默认5000
+     */
+    private long alarmCooldownMillis = LoadAlarm.DEFAULT_COOLDOWN_MILLIS;
+
+    /**
+     * 工作队列类型，未指定自定义工作队列时使用，默认RESIZABLE_LINKED
+     */
+    private QueueType queueType = QueueType.RESIZABLE_LINKED;
+
+    /**
+     * 优先级队列的老化时间（纳秒），默认1秒
+     */
+    private long priorityAgingNanos = PriorityTaskQueue.DEFAULT_AGING_NANOS;
+
+    /**
+     * 工作线程单次批量出队的最大任务数，默认1表示不批量出队
+     */
+    private int drainBatchSize = 1;
+
+    /**
+     * 按CPU数计算线程数的规则，未指定时使用固定的线程数
+     */
+    private PoolSizing sizing;
+
+    /**
+     * 任务上下文装饰器，未指定时不传递上下文
+     */
+    private TaskDecorator<?> taskDecorator;
+
+    /**
+     * 自适应并发上限，null表示不限制
+     */
+    private ConcurrencyLimit concurrencyLimit;
+
+    /**
+     * 绑定的调节策略名称，null表示使用默认策略链
+     */
+    private String[] strategyNames;
+
+    /**
+     * 绑定的调节策略实例，优先于策略名称
+     */
+    private AdaptiveStrategy[] strategies;
+
+    /**
+     * 调节周期（毫秒），0表示使用默认周期
+     */
+    private long adjustIntervalMillis = 0L;
+
+    /**
+     * 工作队列，如果未指定则按queueType创建
      */
     private BlockingQueue<Runnable> workQueue;
 
@@ -99,6 +188,9 @@ public class SmartPoolBuilder {
 
     /**
      * 设置队列容量
+     * <p>
+     * 未指定自定义工作队列时，默认队列支持在运行时通过{@link SmartExecutor#setQueueCapacity(int)}调整容量。
+     * </p>
      *
      * @param queueCapacity 队列容量，必须大于0
      * @return 当前构建器实例，支持链式调用
@@ -130,6 +222,245 @@ public class SmartPoolBuilder {
         return this;
     }
 
+    /**
+     * 设置是否启用快速路径模式
+     * <p>
+     * 适用于高吞吐的微任务线程池：任务完成路径只做分段计数，负载检查和延迟计时改为采样执行。
+     * </p>
+     *
+     * @param fastPath true表示启用快速路径
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder fastPath(boolean fastPath) {
+        this.fastPath = fastPath;
+        return this;
+    }
+
+    /**
+     * 使用虚拟线程执行任务
+     * <p>
+     * 构建{@link VirtualThreadPoolExecutor}：每个任务运行在虚拟线程上，最大线程数作为信号量的并发上限，
+     * 核心线程数和队列容量不再生效。适用于以阻塞IO为主的线程池，需要Java 21及以上版本。
+     * </p>
+     *
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder virtualThreads() {
+        this.virtualThreads = true;
+        return this;
+    }
+
+    /**
+     * 按计算密集型任务确定线程数
+     * <p>
+     * 核心线程数、最大线程数（ForkJoin线程池为并行度）等于容器实际可用的CPU数，CPU数从cgroup配额读取，
+     * 并由{@link CpuQuota}定期重新读取，配额变化时自动调整线程数。指定后corePoolSize和maxPoolSize不再生效。
+     * </p>
+     *
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder cpuBound() {
+        return sizing(PoolSizing.cpuBound());
+    }
+
+    /**
+     * 按阻塞型任务确定线程数
+     * <p>
+     * 线程数 = 可用CPU数 × targetUtilization × (1 + waitComputeRatio)，例如2核、目标利用率0.8、
+     * 任务等待时间是计算时间的9倍时为16个线程。CPU数的来源和配额变化时的调整方式与{@link #cpuBound()}相同。
+     * </p>
+     *
+     * @param targetUtilization 目标CPU利用率，取值(0, 1]
+     * @param waitComputeRatio  任务等待时间与计算时间之比，不小于0
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder ioBound(double targetUtilization, double waitComputeRatio) {
+        return sizing(PoolSizing.ioBound(targetUtilization, waitComputeRatio));
+    }
+
+    /**
+     * 设置按CPU数计算线程数的规则
+     *
+     * @param sizing 线程数规则，null表示使用固定的线程数
+     * @return 当前构建器实例，支持链式调用
+     * @see #cpuBound()
+     * @see #ioBound(double, double)
+     */
+    public SmartPoolBuilder sizing(PoolSizing sizing) {
+        this.sizing = sizing;
+        return this;
+    }
+
+    /**
+     * 设置ForkJoin线程池的并行度
+     * <p>
+     * 仅对{@link #buildForkJoin()}生效。
+     * </p>
+     *
+     * @param parallelism 并行度，必须大于0
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 设置负载告警阈值
+     * <p>
+     * 利用率达到进入阈值时进入告警状态，降到退出阈值以下才解除，避免在阈值附近反复告警。
+     * </p>
+     *
+     * @param enterThreshold 进入告警阈值（0~1]
+     * @param exitThreshold  退出告警阈值，必须小于进入阈值
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder loadAlarmThresholds(double enterThreshold, double exitThreshold) {
+        this.alarmEnterThreshold = enterThreshold;
+        this.alarmExitThreshold = exitThreshold;
+        return this;
+    }
+
+    /**
+     * 设置负载告警冷却时间
+     *
+     * @param cooldownMillis 两次告警状态迁移之间的最小间隔（毫秒）
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder loadAlarmCooldown(long cooldownMillis) {
+        this.alarmCooldownMillis = cooldownMillis;
+        return this;
+    }
+
+    /**
+     * 设置工作队列类型
+     * <p>
+     * 未通过{@link #workQueue(BlockingQueue)}指定自定义队列时，按该类型和队列容量创建工作队列。
+     * 大量生产者并发提交时可以选择{@link QueueType#MPMC}，避免链表节点分配和入队锁竞争；
+     * 优先级为0~15且排队任务很多的线程池可以选择{@link QueueType#BUCKETED_PRIORITY}，入队出队不随队列长度变慢。
+     * </p>
+     *
+     * @param queueType 工作队列类型，不能为null
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder queueType(QueueType queueType) {
+        this.queueType = queueType;
+        return this;
+    }
+
+    /**
+     * 使用优先级队列并设置老化时间
+     * <p>
+     * 工作队列类型设为{@link QueueType#PRIORITY}。任务在队列中每等待一个老化时间，相当于优先级提高一级，
+     * 避免持续的高优先级流量使低优先级任务饿死；传入0表示严格按优先级出队。
+     * </p>
+     *
+     * @param aging 老化时间，必须大于等于0
+     * @param unit  时间单位
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder priorityAging(long aging, TimeUnit unit) {
+        this.queueType = QueueType.PRIORITY;
+        this.priorityAgingNanos = unit.toNanos(aging);
+        return this;
+    }
+
+    /**
+     * 启用工作线程批量出队
+     * <p>
+     * 工作线程每次从队列取任务时按队列深度顺带搬运一批任务到本线程缓冲区，之后逐个执行，
+     * 省去每个任务一次的队列加锁、唤醒和挂起，适用于亚微秒级的微任务线程池。
+     * 每个任务仍单独经过beforeExecute/afterExecute并计入排队与执行耗时。
+     * 优先级队列（PRIORITY、BUCKETED_PRIORITY）不批量出队，设置会被忽略并记录警告。
+     * </p>
+     *
+     * @param maxBatch 单次搬运的最大任务数，1表示不批量出队
+     * @return 当前构建器实例，支持链式调用
+     */
+    public SmartPoolBuilder drainBatch(int maxBatch) {
+        this.drainBatchSize = maxBatch;
+        return this;
+    }
+
+    /**
+     * 设置任务上下文装饰器
+     * <p>
+     * 用于把提交线程的MDC、链路追踪ID等上下文带到工作线程中，上下文保存在线程池回收复用的载体中，
+     * 不需要为每个任务包装一层lambda。仅对{@link #build()}生效。
+     * </p>
+     *
+     * @param taskDecorator 任务上下文装饰器
+     * @return 当前构建器实例，支持链式调用
+     * @see TaskDecorator
+     */
+    public SmartPoolBuilder taskDecorator(TaskDecorator<?> taskDecorator) {
+        this.taskDecorator = taskDecorator;
+        return this;
+    }
+
+    /**
+     * 设置自适应并发上限
+     * <p>
+     * 正在执行和排队的任务数达到上限时新任务交给拒绝执行处理器，上限按任务执行耗时自动调整。仅对{@link #build()}生效。
+     * </p>
+     *
+     * @param concurrencyLimit 并发上限算法
+     * @return 当前构建器实例，支持链式调用
+     * @see DynamicThreadPoolExecutor#setConcurrencyLimit(ConcurrencyLimit)
+     */
+    public SmartPoolBuilder concurrencyLimit(ConcurrencyLimit concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+        return this;
+    }
+
+    /**
+     * 按名称绑定调节策略
+     * <p>
+     * 线程池只执行这些策略，"STABLE"表示不调节；不调用时使用默认策略链。
+     * </p>
+     *
+     * @param strategyNames 策略名称，不区分大小写
+     * @return 当前构建器实例，支持链式调用
+     * @see AdaptiveStrategyManager#bind(String, String...)
+     */
+    public SmartPoolBuilder adaptiveStrategies(String... strategyNames) {
+        this.strategyNames = strategyNames;
+        return this;
+    }
+
+    /**
+     * 绑定调节策略实例，用于按线程池单独配置参数的策略
+     *
+     * @param strategies 策略实例
+     * @return 当前构建器实例，支持链式调用
+     * @see AdaptiveStrategyManager#bind(String, AdaptiveStrategy...)
+     */
+    public SmartPoolBuilder adaptiveStrategies(AdaptiveStrategy... strategies) {
+        this.strategies = strategies;
+        return this;
+    }
+
+    /**
+     * 设置执行调节策略的周期
+     * <p>
+     * 不设置时使用{@link AdjustmentScheduler}的默认周期5秒。周期可以小于1秒，最小为
+     * {@link AdjustmentScheduler#TICK_MILLIS}毫秒，延迟敏感的线程池可以缩短周期更快响应负载变化。
+     * </p>
+     *
+     * @param interval 调节周期
+     * @param unit     时间单位
+     * @return 当前构建器实例，支持链式调用
+     * @see AdjustmentScheduler#setInterval(String, long, TimeUnit)
+     */
+    public SmartPoolBuilder adjustInterval(long interval, TimeUnit unit) {
+        long millis = unit.toMillis(interval);
+        if (millis < AdjustmentScheduler.TICK_MILLIS) {
+            throw new IllegalArgumentException("adjustInterval must be >= " + AdjustmentScheduler.TICK_MILLIS + "ms");
+        }
+        this.adjustIntervalMillis = millis;
+        return this;
+    }
+
     /**
      * 设置自定义工作队列
      *
@@ -182,9 +513,31 @@ public class SmartPoolBuilder {
      * @throws IllegalStateException 如果构建过程中发生错误
      */
     public DynamicThreadPoolExecutor build() {
-        // 如果未指定工作队列，使用LinkedBlockingQueue
+        // 如果未指定拒绝处理器，使用重试拒绝处理器
+        if (rejectedHandler == null) {
+            rejectedHandler = new RetryRejectedExecutionHandler();
+        }
+
+        applySizing();
+
+        if (virtualThreads) {
+            return buildVirtual();
+        }
+
+        // 如果未指定工作队列，按队列类型创建（默认为可调整容量的ResizableLinkedBlockingQueue）
         if (workQueue == null) {
-            workQueue = new LinkedBlockingQueue<>(queueCapacity);
+            workQueue = queueType == QueueType.PRIORITY
+                    ? new PriorityTaskQueue(queueCapacity, priorityAgingNanos)
+                    : queueType.create(queueCapacity);
+        }
+        if (drainBatchSize > 1 && !(workQueue instanceof BatchDrainingQueue)) {
+            if (isPriorityOrdered(workQueue)) {
+                // 缓冲区中的任务会先于之后到达的高优先级任务执行，优先级队列不批量出队
+                log.warn("[ThreadPool:{}] 优先级队列{}不支持批量出队，忽略drainBatch({})",
+                        name, workQueue.getClass().getSimpleName(), drainBatchSize);
+            } else {
+                workQueue = new BatchDrainingQueue(workQueue, drainBatchSize);
+            }
         }
 
         // 如果未指定线程工厂，使用自定义线程工厂
@@ -192,11 +545,6 @@ public class SmartPoolBuilder {
             threadFactory = new CustomThreadFactory(name);
         }
 
-        // 如果未指定拒绝处理器，使用重试拒绝处理器
-        if (rejectedHandler == null) {
-            rejectedHandler = new RetryRejectedExecutionHandler();
-        }
-
         // 创建动态线程池执行器
         DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
                 name,
@@ -212,6 +560,127 @@ public class SmartPoolBuilder {
         // 设置核心线程超时策略
         executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
 
+        return configureAndRegister(executor);
+    }
+
+    /**
+     * 构建虚拟线程执行器，以最大线程数作为并发上限
+     *
+     * @return 虚拟线程执行器
+     * @throws UnsupportedOperationException 当前运行环境低于Java 21
+     */
+    private DynamicThreadPoolExecutor buildVirtual() {
+        // 如果未指定线程工厂，使用虚拟线程工厂
+        if (threadFactory == null) {
+            threadFactory = VirtualThreadPoolExecutor.newVirtualThreadFactory(name);
+        }
+        VirtualThreadPoolExecutor executor = new VirtualThreadPoolExecutor(
+                name,
+                maxPoolSize,
+                keepAliveTime,
+                TimeUnit.SECONDS,
+                threadFactory,
+                rejectedHandler
+        );
+        return configureAndRegister(executor);
+    }
+
+    /**
+     * 构建工作窃取线程池
+     * <p>
+     * 创建{@link DynamicForkJoinPool}并注册到ThreadPoolManager，适用于递归拆分、扇出密集的任务。
+     * 只使用线程池名称、并行度和负载告警参数，队列、线程工厂和拒绝策略不生效。
+     * </p>
+     *
+     * @return 配置完成的DynamicForkJoinPool实例
+     */
+    public DynamicForkJoinPool buildForkJoin() {
+        applySizing();
+        DynamicForkJoinPool pool = new DynamicForkJoinPool(name, parallelism);
+
+        // 设置负载告警参数
+        pool.getLoadAlarm().setThresholds(alarmEnterThreshold, alarmExitThreshold);
+        pool.getLoadAlarm().setCooldownMillis(alarmCooldownMillis);
+
+        // 按CPU配额调整线程数
+        if (sizing != null) {
+            CpuQuota.watch(pool, sizing);
+        }
+
+        // 绑定调节策略
+        bindStrategies();
+
+        // 注册到线程池管理器
+        return ThreadPoolManager.register(name, pool);
+    }
+
+    /**
+     * 指定了调节策略或调节周期时绑定到线程池名称
+     */
+    private void bindStrategies() {
+        if (strategies != null) {
+            AdaptiveStrategyManager.bind(name, strategies);
+        } else if (strategyNames != null) {
+            AdaptiveStrategyManager.bind(name, strategyNames);
+        }
+        if (adjustIntervalMillis > 0) {
+            AdjustmentScheduler.setInterval(name, adjustIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 是否为按优先级出队的队列，批量出队会破坏其出队顺序
+     */
+    private static boolean isPriorityOrdered(BlockingQueue<Runnable> queue) {
+        return queue instanceof PriorityTaskQueue || queue instanceof BucketedPriorityQueue
+                || queue instanceof PriorityBlockingQueue;
+    }
+
+    /**
+     * 指定了线程数规则时按当前可用CPU数计算线程数
+     */
+    private void applySizing() {
+        if (sizing == null) {
+            return;
+        }
+        int threads = sizing.threads(CpuQuota.effectiveCpus());
+        corePoolSize = threads;
+        maxPoolSize = threads;
+        parallelism = threads;
+    }
+
+    /**
+     * 应用快速路径、负载告警配置并注册到线程池管理器
+     *
+     * @param executor 新建的执行器
+     * @return 配置完成的执行器
+     */
+    private DynamicThreadPoolExecutor configureAndRegister(DynamicThreadPoolExecutor executor) {
+        // 设置快速路径模式
+        executor.setFastPathEnabled(fastPath);
+
+        // 设置任务上下文装饰器
+        if (taskDecorator != null) {
+            executor.setTaskDecorator(taskDecorator);
+        }
+
+        // 设置自适应并发上限
+        if (concurrencyLimit != null) {
+            executor.setConcurrencyLimit(concurrencyLimit);
+        }
+
+        // 设置负载告警参数
+        executor.getLoadAlarm().setThresholds(alarmEnterThreshold, alarmExitThreshold);
+        executor.getLoadAlarm().setCooldownMillis(alarmCooldownMillis);
+
+        // 按CPU配额调整线程数
+        if (sizing != null) {
+            CpuQuota.watch(executor, sizing);
+        }
+
+        // 绑定调节策略
+        bindStrategies();
+
         // 注册到线程池管理器
         ThreadPoolManager.register(name, executor);
         return executor;
@@ -220,7 +689,7 @@ public class SmartPoolBuilder {
     /**
      * 自定义线程工厂
      * <p>
-     * 创建具有统一命名规范的线程，设置为守护线程并添加异常处理器
+     * 创建具有统一命名规范的{@link PoolWorkerThread}，设置为守护线程并添加异常处理器
      * </p>
      */
     static class CustomThreadFactory implements ThreadFactory {
@@ -251,7 +720,7 @@ public class SmartPoolBuilder {
          */
         @Override
         public Thread newThread(Runnable r) {
-            Thread t = new Thread(r, poolName + "-thread-" + (++count));
+            Thread t = new PoolWorkerThread(r, poolName + "-thread-" + (++count));
             t.setDaemon(true);
             t.setUncaughtExceptionHandler((thread, throwable) ->
                     System.err.printf("[Thread %s] uncaught: %s%n", thread.getName(), throwable.getMessage()));
@@ -262,7 +731,9 @@ public class SmartPoolBuilder {
     /**
      * 重试拒绝执行处理器
      * <p>
-     * 当任务被拒绝执行时，尝试将任务重新放入队列，最多重试3次
+     * 当任务被拒绝执行时，尝试将任务重新放入队列，最多重试3次。
+     * 配置了并发上限的线程池重新放入时同样占用额度，超过并发上限的任务不经过此处理器，由线程池直接拒绝。
+     * 配置了任务上下文装饰器时收到的是载体本身，重新入队后仍恢复提交线程的上下文。
      * </p>
      */
     static class RetryRejectedExecutionHandler implements RejectedExecutionHandler {
@@ -289,8 +760,9 @@ public class SmartPoolBuilder {
             while (attempt < retries && !submitted) {
                 try {
                     // 等待100毫秒后尝试将任务放入队列
-                    executor.getQueue().offer(r, 100, TimeUnit.MILLISECONDS);
-                    submitted = true;
+                    submitted = executor instanceof DynamicThreadPoolExecutor
+                            ? ((DynamicThreadPoolExecutor) executor).requeue(r, 100, TimeUnit.MILLISECONDS)
+                            : executor.getQueue().offer(r, 100, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException ignored) {
                     // 中断异常，继续重试
                 }
@@ -298,6 +770,9 @@ public class SmartPoolBuilder {
             }
             // 如果最终仍未成功，打印错误信息
             if (!submitted) {
+                if (executor instanceof DynamicThreadPoolExecutor) {
+                    DynamicThreadPoolExecutor.discardRejected(r);
+                }
                 System.err.printf("[ThreadPool %s] Task rejected after %d retries%n", executor.toString(), retries);
             }
         }
@@ -0,0 +1,48 @@
+package com.smart.pool.core;
+
+/**
+ * 异步阶段任务
+ * <p>
+ * {@link SmartCompletableFuture}把每个异步阶段包装为该任务再交给{@link DynamicThreadPoolExecutor}，
+ * 使阶段的排队耗时与执行耗时一起计入实际运行它的线程池。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class StageTask implements TimedTask {
+
+    /**
+     * CompletableFuture内部的阶段任务
+     */
+    private final Runnable stage;
+
+    /**
+     * 入队时间（纳秒）
+     */
+    private long enqueueNanos;
+
+    StageTask(Runnable stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void run() {
+        stage.run();
+    }
+
+    @Override
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    @Override
+    public void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+
+    @Override
+    public String toString() {
+        return stage.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.smart.pool.core;
+
+/**
+ * 任务上下文传递扩展接口
+ * <p>
+ * 用于把提交线程的MDC、链路追踪ID等线程上下文带到工作线程中。与逐个任务包装一层捕获上下文的lambda不同，
+ * 上下文保存在线程池回收复用的载体对象中：{@link #newContext()}只在新建载体时调用，之后每次提交只调用
+ * {@link #capture(Object)}把当前线程的上下文写入已有的容器，稳定运行时每个任务不产生额外的对象分配。
+ * </p>
+ * <p>
+ * 调用时机：
+ * <ul>
+ *     <li>{@link #capture(Object)}：提交线程，任务进入线程池之前</li>
+ *     <li>{@link #restore(Object)}：工作线程，beforeExecute中，任务执行之前</li>
+ *     <li>{@link #clear(Object)}：工作线程，afterExecute中，任务执行之后（包括抛出异常时）</li>
+ *     <li>{@link #release(Object)}：载体回收之前，包括任务被拒绝、被移除而没有执行的情况</li>
+ * </ul>
+ * 实现需要线程安全，同一个实例会被所有提交线程和工作线程并发调用。
+ * </p>
+ *
+ * @param <C> 上下文容器类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface TaskDecorator<C> {
+
+    /**
+     * 创建可复用的上下文容器
+     *
+     * @return 上下文容器
+     */
+    C newContext();
+
+    /**
+     * 把当前线程的上下文写入容器
+     *
+     * @param context 上下文容器
+     */
+    void capture(C context);
+
+    /**
+     * 把容器中的上下文设置到当前线程
+     *
+     * @param context 上下文容器
+     */
+    void restore(C context);
+
+    /**
+     * 任务执行完成后清除当前线程的上下文
+     *
+     * @param context 上下文容器
+     */
+    void clear(C context);
+
+    /**
+     * 载体回收前释放容器持有的引用，默认不做处理
+     *
+     * @param context 上下文容器
+     */
+    default void release(C context) {
+    }
+}
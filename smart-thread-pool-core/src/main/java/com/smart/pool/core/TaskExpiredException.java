@@ -0,0 +1,26 @@
+package com.smart.pool.core;
+
+/**
+ * 任务过期异常
+ * <p>
+ * 带截止时间提交的任务在出队时已超过截止时间，不再执行，其Future以该异常完成，
+ * 调用方通过{@link java.util.concurrent.ExecutionException#getCause()}获取。
+ * 积压消化期间可能大量产生，因此不填充栈信息。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class TaskExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 构造任务过期异常
+     *
+     * @param message 异常信息
+     */
+    public TaskExpiredException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,8 @@
 package com.smart.pool.core;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 线程池依赖关系管理器
@@ -20,9 +22,10 @@ public class ThreadPoolDependencyManager {
      * <p>
      * key: 前置线程池名称（完成任务的线程池）
      * value: 依赖于该线程池完成的线程池名称列表
+     * 使用ConcurrentHashMap和CopyOnWriteArrayList，使每次任务完成时的查询无锁
      * </p>
      */
-    private static final Map<String, List<String>> dependencies = new HashMap<>();
+    private static final Map<String, List<String>> dependencies = new ConcurrentHashMap<>();
 
     /**
      * 添加线程池依赖关系
@@ -36,7 +39,7 @@ public class ThreadPoolDependencyManager {
      * @throws NullPointerException 如果任一参数为null
      */
     public static void addDependency(String fromPool, String toPool) {
-        dependencies.computeIfAbsent(fromPool, k -> new ArrayList<>()).add(toPool);
+        dependencies.computeIfAbsent(fromPool, k -> new CopyOnWriteArrayList<>()).add(toPool);
     }
 
     /**
@@ -53,7 +56,7 @@ public class ThreadPoolDependencyManager {
         List<String> dependents = dependencies.get(poolName);
         if (dependents != null) {
             for (String dependentPool : dependents) {
-                DynamicThreadPoolExecutor executor = ThreadPoolManager.get(dependentPool);
+                SmartExecutor executor = ThreadPoolManager.get(dependentPool);
                 if (executor != null) {
                     // 可以触发回调或自定义逻辑，这里仅打印示例
                     System.out.printf("Pool [%s] notified by completion of [%s]%n", dependentPool, poolName);
@@ -1,5 +1,7 @@
 package com.smart.pool.core;
 
+import com.smart.pool.core.strategy.AdjustmentScheduler;
+
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -9,8 +11,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * 提供线程池的统一注册、获取和管理功能。使用线程安全的ConcurrentHashMap存储所有线程池实例，
  * 支持通过名称快速获取特定的线程池，以及获取所有已注册的线程池集合。
+ * 所有实现{@link SmartExecutor}的线程池（ThreadPoolExecutor、虚拟线程、ForkJoinPool）都可以注册。
  * 采用单例模式设计，通过静态方法提供全局访问点。
  * </p>
+ * <p>
+ * 注册的线程池自动加入{@link AdjustmentScheduler}按各自的周期执行调节策略，移除时取消调度。
+ * </p>
  *
  * @author Smart Thread Pool
  * @since 1.0.0
@@ -20,25 +26,27 @@ public class ThreadPoolManager {
     /**
      * 线程池存储映射
      * <p>
-     * 使用ConcurrentHashMap保证线程安全，key为线程池名称，value为对应的DynamicThreadPoolExecutor实例
+     * 使用ConcurrentHashMap保证线程安全，key为线程池名称，value为对应的{@link SmartExecutor}实例
      * </p>
      */
-    private static final Map<String, DynamicThreadPoolExecutor> POOLS = new ConcurrentHashMap<>();
+    private static final Map<String, SmartExecutor> POOLS = new ConcurrentHashMap<>();
 
     /**
      * 注册线程池
      * <p>
      * 将指定的线程池实例注册到管理器中，使用线程池名称作为唯一标识。
-     * 如果已存在同名线程池，新的实例会覆盖旧的实例。
+     * 如果已存在同名线程池，新的实例会覆盖旧的实例。同时把线程池加入调节调度。
      * </p>
      *
      * @param name      线程池名称，作为唯一标识符
      * @param executor  要注册的线程池执行器实例
+     * @param <T>       线程池类型
      * @return 注册的线程池执行器实例，便于链式调用
      * @throws NullPointerException 如果name或executor为null
      */
-    public static DynamicThreadPoolExecutor register(String name, DynamicThreadPoolExecutor executor) {
+    public static <T extends SmartExecutor> T register(String name, T executor) {
         POOLS.put(name, executor);
+        AdjustmentScheduler.schedule(name);
         return executor;
     }
 
@@ -52,10 +60,26 @@ public class ThreadPoolManager {
      * @return 对应的线程池执行器实例，如果不存在则返回null
      * @throws NullPointerException 如果name为null
      */
-    public static DynamicThreadPoolExecutor get(String name) {
+    public static SmartExecutor get(String name) {
         return POOLS.get(name);
     }
 
+    /**
+     * 根据名称获取指定类型的线程池
+     * <p>
+     * 线程池不存在或类型不匹配时返回null。
+     * </p>
+     *
+     * @param name 线程池名称
+     * @param type 期望的线程池类型，例如DynamicThreadPoolExecutor.class
+     * @param <T>  线程池类型
+     * @return 对应类型的线程池执行器实例，不存在或类型不匹配返回null
+     */
+    public static <T extends SmartExecutor> T get(String name, Class<T> type) {
+        SmartExecutor executor = POOLS.get(name);
+        return type.isInstance(executor) ? type.cast(executor) : null;
+    }
+
     /**
      * 获取所有已注册的线程池
      * <p>
@@ -64,22 +88,27 @@ public class ThreadPoolManager {
      *
      * @return 所有线程池执行器实例的集合，如果没有任何注册则返回空集合
      */
-    public static Collection<DynamicThreadPoolExecutor> getAllPools() {
+    public static Collection<SmartExecutor> getAllPools() {
         return POOLS.values();
     }
 
     /**
      * 移除指定名称的线程池
      * <p>
-     * 从管理器中移除指定名称的线程池执行器。
+     * 从管理器中移除指定名称的线程池执行器，并取消其调节调度和CPU配额登记。
      * </p>
      *
      * @param name 要移除的线程池名称
      * @return 被移除的线程池执行器实例，如果不存在则返回null
      * @throws NullPointerException 如果name为null
      */
-    public static DynamicThreadPoolExecutor remove(String name) {
-        return POOLS.remove(name);
+    public static SmartExecutor remove(String name) {
+        SmartExecutor removed = POOLS.remove(name);
+        AdjustmentScheduler.cancel(name);
+        if (removed != null) {
+            CpuQuota.unwatch(removed);
+        }
+        return removed;
     }
 
     /**
@@ -116,6 +145,9 @@ public class ThreadPoolManager {
      * </p>
      */
     public static void clear() {
+        for (String name : POOLS.keySet()) {
+            AdjustmentScheduler.cancel(name);
+        }
         POOLS.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.smart.pool.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 携带入队时间的FutureTask
+ * <p>
+ * 由{@link DynamicThreadPoolExecutor#newTaskFor}创建，替代submit原本就会创建的FutureTask，
+ * 因此记录排队耗时不会带来额外的对象分配。
+ * </p>
+ *
+ * @param <V> 任务结果类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class TimedFutureTask<V> extends FutureTask<V> implements TimedTask {
+
+    /**
+     * 入队时间（纳秒）
+     */
+    private long enqueueNanos;
+
+    /**
+     * 基于Callable构造
+     *
+     * @param callable 要执行的任务
+     */
+    public TimedFutureTask(Callable<V> callable) {
+        super(callable);
+    }
+
+    /**
+     * 基于Runnable构造
+     *
+     * @param runnable 要执行的任务
+     * @param result   任务完成后返回的结果
+     */
+    public TimedFutureTask(Runnable runnable, V result) {
+        super(runnable, result);
+    }
+
+    /**
+     * 以拒绝异常完成任务，用于批量提交中未能进入线程池的任务
+     *
+     * @param e 拒绝异常
+     */
+    void reject(RejectedExecutionException e) {
+        setException(e);
+    }
+
+    @Override
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    @Override
+    public void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+}
@@ -0,0 +1,29 @@
+package com.smart.pool.core;
+
+/**
+ * 可记录入队时间的任务
+ * <p>
+ * {@link DynamicThreadPoolExecutor}在任务提交时写入入队时间，在任务开始执行时据此记录排队耗时。
+ * 通过submit/invokeAll提交的任务会被自动包装为实现该接口的{@link TimedFutureTask}，
+ * 直接通过execute提交的普通Runnable不做包装，仅记录执行耗时。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface TimedTask extends Runnable {
+
+    /**
+     * 获取入队时间
+     *
+     * @return 入队时间（System.nanoTime()），0表示未记录
+     */
+    long getEnqueueNanos();
+
+    /**
+     * 设置入队时间
+     *
+     * @param enqueueNanos 入队时间（System.nanoTime()），0表示不记录排队耗时
+     */
+    void setEnqueueNanos(long enqueueNanos);
+}
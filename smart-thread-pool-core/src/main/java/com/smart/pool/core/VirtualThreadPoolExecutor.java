@@ -0,0 +1,249 @@
+package com.smart.pool.core;
+
+import com.smart.pool.core.metrics.PoolMetrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 虚拟线程执行器
+ * <p>
+ * 每个任务运行在独立的虚拟线程上（空闲的虚拟线程在存活时间内会被复用），
+ * 并发上限不再由最大线程数决定，而是由信号量控制：超过上限的任务挂起在信号量上等待许可，
+ * 挂起的虚拟线程几乎不占用资源。适用于以阻塞IO（JDBC、HTTP）为主、瓶颈在线程数而非CPU的线程池。
+ * </p>
+ * <p>
+ * 活跃数、排队数、完成数和排队/执行耗时仍通过{@link PoolMetrics}上报：
+ * 活跃数为持有许可的任务数，排队数为等待许可的任务数，最大线程数为并发上限。
+ * 调整最大线程数即调整并发上限，核心线程数对虚拟线程没有意义，设置时被忽略。
+ * </p>
+ * <p>
+ * 虚拟线程需要Java 21及以上版本，线程工厂通过反射获取，因此本类在Java 17下也可以编译。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class VirtualThreadPoolExecutor extends DynamicThreadPoolExecutor {
+
+    /**
+     * 并发许可
+     */
+    private final AdjustableSemaphore permits;
+
+    /**
+     * 当前并发上限
+     */
+    private volatile int maxConcurrency;
+
+    /**
+     * 等待许可的任务数
+     */
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    /**
+     * 构造虚拟线程执行器
+     *
+     * @param poolName       线程池名称
+     * @param maxConcurrency 并发上限，必须大于0
+     * @param keepAliveTime  空闲虚拟线程存活时间
+     * @param unit           时间单位
+     * @param threadFactory  虚拟线程工厂
+     * @param handler        拒绝执行处理器
+     */
+    public VirtualThreadPoolExecutor(String poolName, int maxConcurrency, long keepAliveTime, TimeUnit unit,
+                                     ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+        super(poolName, 0, Integer.MAX_VALUE, keepAliveTime, unit, new SynchronousQueue<>(), threadFactory, handler);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new AdjustableSemaphore(maxConcurrency);
+    }
+
+    /**
+     * 判断当前运行环境是否支持虚拟线程
+     *
+     * @return Java 21及以上返回true
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建虚拟线程工厂，线程名为 poolName-vthread-序号
+     *
+     * @param poolName 线程池名称
+     * @return 虚拟线程工厂
+     * @throws UnsupportedOperationException 当前运行环境不支持虚拟线程
+     */
+    public static ThreadFactory newVirtualThreadFactory(String poolName) {
+        try {
+            // 等价于 Thread.ofVirtual().name(poolName + "-vthread-", 1).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, poolName + "-vthread-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory for pool " + poolName, e);
+        }
+    }
+
+    /**
+     * 任务执行前先获取并发许可，获取后再记录排队耗时，因此排队耗时包含等待许可的时间。
+     * 之后的处理（如恢复任务上下文）抛出异常时任务不会执行，许可随即归还。
+     *
+     * @param t 执行任务的线程
+     * @param r 将要执行的任务
+     */
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        waitingCount.incrementAndGet();
+        try {
+            // shutdownNow时保留中断状态，任务开始后自行响应中断
+            permits.acquireUninterruptibly();
+        } finally {
+            waitingCount.decrementAndGet();
+        }
+        try {
+            super.beforeExecute(t, r);
+        } catch (RuntimeException | Error e) {
+            // beforeExecute抛出异常时不会调用afterExecute，在这里归还许可
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 任务执行后释放并发许可
+     *
+     * @param r 已执行的任务
+     * @param t 执行过程中抛出的异常，如果没有异常则为null
+     */
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        try {
+            super.afterExecute(r, t);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 获取持有许可、正在执行的任务数
+     *
+     * @return 活跃任务数
+     */
+    @Override
+    public int getActiveCount() {
+        return Math.max(0, maxConcurrency - permits.availablePermits());
+    }
+
+    /**
+     * 获取并发上限
+     *
+     * @return 并发上限
+     */
+    @Override
+    public int getMaximumPoolSize() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 调整并发上限
+     * <p>
+     * 调小时已在执行的任务不受影响，新的任务要等到持有许可的任务数降到新上限以下才能开始。
+     * </p>
+     *
+     * @param maximumPoolSize 新的并发上限，必须大于0
+     */
+    @Override
+    public synchronized void setMaximumPoolSize(int maximumPoolSize) {
+        if (maximumPoolSize <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maximumPoolSize);
+        }
+        int delta = maximumPoolSize - maxConcurrency;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+        maxConcurrency = maximumPoolSize;
+    }
+
+    /**
+     * 虚拟线程不需要常驻的核心线程，核心线程数固定为0
+     *
+     * @return 0
+     */
+    @Override
+    public int getCorePoolSize() {
+        return 0;
+    }
+
+    /**
+     * 虚拟线程不需要常驻的核心线程，设置被忽略
+     *
+     * @param corePoolSize 核心线程数
+     */
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        // 忽略
+    }
+
+    /**
+     * 获取等待并发许可的任务数
+     *
+     * @return 等待任务数
+     */
+    @Override
+    public int getQueueSize() {
+        return waitingCount.get();
+    }
+
+    /**
+     * 等待许可的任务挂起在各自的虚拟线程上，没有容量限制
+     *
+     * @return Integer.MAX_VALUE
+     */
+    @Override
+    public int getQueueCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 获取线程池指标，排队数为等待并发许可的任务数，类型为VIRTUAL
+     *
+     * @return 线程池指标对象
+     */
+    @Override
+    public PoolMetrics getMetrics() {
+        PoolMetrics metrics = super.getMetrics();
+        metrics.setPoolType(PoolMetrics.TYPE_VIRTUAL);
+        return metrics;
+    }
+
+    /**
+     * 支持减少许可的信号量
+     */
+    private static class AdjustableSemaphore extends Semaphore {
+
+        AdjustableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.smart.pool.core.alarm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程池负载告警
+ * <p>
+ * 每个线程池持有一个实例，对线程利用率和队列利用率分别维护一个带滞回的告警状态：
+ * 利用率达到进入阈值时进入告警，降到退出阈值以下时才恢复，两次状态迁移之间至少间隔冷却时间。
+ * 只有状态迁移才会写入{@link LoadAlarmEventBuffer}，日志和Webhook由{@link LoadAlarmDispatcher}
+ * 在后台线程中处理，工作线程上的评估过程无锁且不创建对象。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LoadAlarm {
+
+    /**
+     * 默认进入告警阈值
+     */
+    public static final double DEFAULT_ENTER_THRESHOLD = 0.9;
+
+    /**
+     * 默认退出告警阈值
+     */
+    public static final double DEFAULT_EXIT_THRESHOLD = 0.7;
+
+    /**
+     * 默认冷却时间（毫秒）
+     */
+    public static final long DEFAULT_COOLDOWN_MILLIS = 5000L;
+
+    private static final int STATE_NORMAL = 0;
+    private static final int STATE_ALARM = 1;
+
+    /**
+     * 线程池名称
+     */
+    private final String poolName;
+
+    /**
+     * 重新评估负载的回调，用于线程池空闲后由后台线程确认告警解除
+     */
+    private final Runnable probe;
+
+    /**
+     * 各告警类型的当前状态，下标为{@link LoadAlarmType#ordinal()}
+     */
+    private final AtomicIntegerArray states = new AtomicIntegerArray(LoadAlarmType.values().length);
+
+    /**
+     * 各告警类型上一次状态迁移的时间（纳秒）
+     */
+    private final AtomicLongArray lastTransitionNanos = new AtomicLongArray(LoadAlarmType.values().length);
+
+    private volatile double enterThreshold = DEFAULT_ENTER_THRESHOLD;
+    private volatile double exitThreshold = DEFAULT_EXIT_THRESHOLD;
+    private volatile long cooldownNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_COOLDOWN_MILLIS);
+
+    /**
+     * 构造负载告警
+     *
+     * @param poolName 线程池名称
+     * @param probe    重新评估负载的回调，通常调用{@link #evaluate(int, int, int, int)}
+     */
+    public LoadAlarm(String poolName, Runnable probe) {
+        this.poolName = poolName;
+        this.probe = probe;
+        long start = System.nanoTime() - cooldownNanos;
+        for (int i = 0; i < lastTransitionNanos.length(); i++) {
+            lastTransitionNanos.set(i, start);
+        }
+    }
+
+    /**
+     * 评估当前负载
+     * <p>
+     * 线程利用率 = active / maxPoolSize；队列利用率 = queueSize / (queueSize + remainingCapacity)。
+     * 无界队列（remainingCapacity为Integer.MAX_VALUE）和零容量队列不参与队列告警。
+     * </p>
+     *
+     * @param active            活跃线程数
+     * @param maxPoolSize       最大线程数
+     * @param queueSize         队列中的任务数
+     * @param remainingCapacity 队列剩余容量
+     */
+    public void evaluate(int active, int maxPoolSize, int queueSize, int remainingCapacity) {
+        double threadUtilization = maxPoolSize > 0 ? (double) active / maxPoolSize : 0D;
+        update(LoadAlarmType.HIGH_LOAD, threadUtilization);
+
+        if (remainingCapacity != Integer.MAX_VALUE) {
+            long capacity = (long) queueSize + remainingCapacity;
+            if (capacity > 0) {
+                update(LoadAlarmType.QUEUE_FULL, (double) queueSize / capacity);
+            }
+        }
+    }
+
+    /**
+     * 根据利用率更新指定类型的告警状态
+     *
+     * @param type        告警类型
+     * @param utilization 利用率
+     */
+    private void update(LoadAlarmType type, double utilization) {
+        int i = type.ordinal();
+        if (states.get(i) == STATE_NORMAL) {
+            if (utilization >= enterThreshold) {
+                transition(type, STATE_NORMAL, STATE_ALARM, utilization);
+            }
+        } else if (utilization <= exitThreshold) {
+            transition(type, STATE_ALARM, STATE_NORMAL, utilization);
+        }
+    }
+
+    /**
+     * 执行状态迁移，冷却期内的迁移被忽略；状态按from到to比较并交换，并发评估时只有一个线程能完成迁移并发出事件
+     */
+    private void transition(LoadAlarmType type, int from, int to, double utilization) {
+        int i = type.ordinal();
+        long now = System.nanoTime();
+        long last = lastTransitionNanos.get(i);
+        if (now - last < cooldownNanos) {
+            return;
+        }
+        if (!lastTransitionNanos.compareAndSet(i, last, now)) {
+            return;
+        }
+        if (!states.compareAndSet(i, from, to)) {
+            // 状态已被其他线程迁移，撤销本次占用的冷却起点
+            lastTransitionNanos.compareAndSet(i, now, last);
+            return;
+        }
+        boolean enter = to == STATE_ALARM;
+        LoadAlarmDispatcher.record(this, type, enter, utilization);
+    }
+
+    /**
+     * 由后台线程重新评估负载，用于线程池空闲后没有任务完成回调时解除告警
+     */
+    void probe() {
+        probe.run();
+    }
+
+    /**
+     * 是否有任一告警处于激活状态
+     *
+     * @return 存在激活的告警返回true
+     */
+    public boolean isAnyActive() {
+        for (int i = 0; i < states.length(); i++) {
+            if (states.get(i) == STATE_ALARM) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 指定类型的告警是否处于激活状态
+     *
+     * @param type 告警类型
+     * @return 激活返回true
+     */
+    public boolean isActive(LoadAlarmType type) {
+        return states.get(type.ordinal()) == STATE_ALARM;
+    }
+
+    /**
+     * 设置告警阈值
+     *
+     * @param enterThreshold 进入告警阈值（0~1]
+     * @param exitThreshold  退出告警阈值，必须小于进入阈值
+     * @throws IllegalArgumentException 如果阈值不合法
+     */
+    public void setThresholds(double enterThreshold, double exitThreshold) {
+        if (enterThreshold <= 0 || enterThreshold > 1 || exitThreshold < 0 || exitThreshold >= enterThreshold) {
+            throw new IllegalArgumentException("require 0 <= exitThreshold < enterThreshold <= 1");
+        }
+        this.enterThreshold = enterThreshold;
+        this.exitThreshold = exitThreshold;
+    }
+
+    /**
+     * 设置两次状态迁移之间的冷却时间
+     *
+     * @param cooldownMillis 冷却时间（毫秒），必须大于等于0
+     */
+    public void setCooldownMillis(long cooldownMillis) {
+        if (cooldownMillis < 0) {
+            throw new IllegalArgumentException("cooldownMillis must not be negative");
+        }
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public double getEnterThreshold() {
+        return enterThreshold;
+    }
+
+    public double getExitThreshold() {
+        return exitThreshold;
+    }
+
+    public long getCooldownMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cooldownNanos);
+    }
+}
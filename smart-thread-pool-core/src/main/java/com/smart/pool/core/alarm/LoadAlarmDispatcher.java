@@ -0,0 +1,151 @@
+package com.smart.pool.core.alarm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 负载告警分发器
+ * <p>
+ * 持有全局的{@link LoadAlarmEventBuffer}和一个后台守护线程。工作线程只负责把状态迁移写入缓冲区，
+ * 后台线程周期性地取出事件，完成日志记录并回调{@link LoadAlarmListener}（例如Webhook），
+ * 同时对处于告警状态的线程池重新评估负载，使线程池空闲后告警也能及时解除。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LoadAlarmDispatcher {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(LoadAlarmDispatcher.class);
+
+    /**
+     * 事件缓冲区容量
+     */
+    private static final int BUFFER_CAPACITY = 1024;
+
+    /**
+     * 后台线程的轮询间隔（毫秒）
+     */
+    private static final long POLL_INTERVAL_MILLIS = 200L;
+
+    /**
+     * 全局告警事件缓冲区
+     */
+    private static final LoadAlarmEventBuffer BUFFER = new LoadAlarmEventBuffer(BUFFER_CAPACITY);
+
+    /**
+     * 已注册的告警监听器
+     */
+    private static final List<LoadAlarmListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 处于告警状态的线程池告警，仅由后台线程访问
+     */
+    private static final Set<LoadAlarm> ACTIVE_ALARMS = ConcurrentHashMap.newKeySet();
+
+    static {
+        // 使用 SPI 加载自定义告警监听器
+        for (LoadAlarmListener listener : ServiceLoader.load(LoadAlarmListener.class)) {
+            LISTENERS.add(listener);
+        }
+        Thread dispatcher = new Thread(LoadAlarmDispatcher::dispatchLoop, "smart-pool-alarm-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * 记录一次告警状态迁移，由工作线程调用，不阻塞、不创建对象
+     *
+     * @param alarm       发生状态迁移的告警
+     * @param type        告警类型
+     * @param enter       是否进入告警状态
+     * @param utilization 利用率
+     */
+    static void record(LoadAlarm alarm, LoadAlarmType type, boolean enter, double utilization) {
+        BUFFER.publish(alarm, type, enter, utilization, System.currentTimeMillis());
+    }
+
+    /**
+     * 注册告警监听器
+     *
+     * @param listener 告警监听器，不能为null
+     */
+    public static void addListener(LoadAlarmListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * 移除告警监听器
+     *
+     * @param listener 告警监听器
+     * @return 存在并被移除返回true
+     */
+    public static boolean removeListener(LoadAlarmListener listener) {
+        return LISTENERS.remove(listener);
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的告警事件数
+     *
+     * @return 丢弃的事件数
+     */
+    public static long getDroppedEventCount() {
+        return BUFFER.getDroppedCount();
+    }
+
+    /**
+     * 后台分发循环
+     */
+    private static void dispatchLoop() {
+        while (true) {
+            try {
+                BUFFER.drain(LoadAlarmDispatcher::dispatch);
+                // 对处于告警状态的线程池重新评估，空闲线程池不会再触发任务完成回调
+                for (LoadAlarm alarm : ACTIVE_ALARMS) {
+                    alarm.probe();
+                    if (!alarm.isAnyActive()) {
+                        ACTIVE_ALARMS.remove(alarm);
+                    }
+                }
+            } catch (Throwable e) {
+                log.error("[ALARM] 告警分发异常", e);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS));
+        }
+    }
+
+    /**
+     * 处理单条告警事件：记录日志并通知监听器
+     *
+     * @param alarm 发生状态迁移的告警
+     * @param event 告警事件
+     */
+    private static void dispatch(LoadAlarm alarm, LoadAlarmEvent event) {
+        if (event.isEntered()) {
+            ACTIVE_ALARMS.add(alarm);
+            log.warn("[{}][ThreadPool:{}] 进入告警状态: utilization={}",
+                    event.getType(), event.getPoolName(), String.format("%.2f", event.getUtilization()));
+        } else {
+            log.info("[{}][ThreadPool:{}] 告警解除: utilization={}",
+                    event.getType(), event.getPoolName(), String.format("%.2f", event.getUtilization()));
+        }
+        for (LoadAlarmListener listener : LISTENERS) {
+            try {
+                listener.onAlarm(event);
+            } catch (Exception e) {
+                log.error("[ALARM] 告警监听器执行失败: {}", listener, e);
+            }
+        }
+    }
+}
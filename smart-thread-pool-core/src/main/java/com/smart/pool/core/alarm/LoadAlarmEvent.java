@@ -0,0 +1,59 @@
+package com.smart.pool.core.alarm;
+
+import lombok.Getter;
+
+/**
+ * 负载告警事件
+ * <p>
+ * 描述一次告警状态迁移（进入或退出告警状态），由后台分发线程从事件缓冲区中取出后创建，
+ * 工作线程在记录事件时不会创建该对象。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+@Getter
+public class LoadAlarmEvent {
+
+    /**
+     * 线程池名称
+     */
+    private final String poolName;
+
+    /**
+     * 告警类型
+     */
+    private final LoadAlarmType type;
+
+    /**
+     * true表示进入告警状态，false表示恢复正常
+     */
+    private final boolean entered;
+
+    /**
+     * 状态迁移时的利用率（0~1）
+     */
+    private final double utilization;
+
+    /**
+     * 状态迁移时间戳（毫秒）
+     */
+    private final long timestamp;
+
+    /**
+     * 构造负载告警事件
+     *
+     * @param poolName    线程池名称
+     * @param type        告警类型
+     * @param entered     是否进入告警状态
+     * @param utilization 状态迁移时的利用率
+     * @param timestamp   状态迁移时间戳（毫秒）
+     */
+    public LoadAlarmEvent(String poolName, LoadAlarmType type, boolean entered, double utilization, long timestamp) {
+        this.poolName = poolName;
+        this.type = type;
+        this.entered = entered;
+        this.utilization = utilization;
+        this.timestamp = timestamp;
+    }
+}
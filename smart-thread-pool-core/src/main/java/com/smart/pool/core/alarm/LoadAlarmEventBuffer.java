@@ -0,0 +1,165 @@
+package com.smart.pool.core.alarm;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 无锁告警事件缓冲区
+ * <p>
+ * 基于预分配槽位的有界环形缓冲区（多生产者、单消费者）。工作线程通过CAS占用槽位并写入字段，
+ * 发布时不创建任何对象；缓冲区满时直接丢弃事件并计数，保证工作线程永远不会阻塞。
+ * 每个槽位维护一个序号：序号等于写指针时可写，等于写指针+1时可读。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LoadAlarmEventBuffer {
+
+    /**
+     * 槽位下标掩码
+     */
+    private final int mask;
+
+    /**
+     * 容量（2的幂）
+     */
+    private final int capacity;
+
+    /**
+     * 槽位序号，用于协调生产者与消费者
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * 预分配的事件字段
+     */
+    private final LoadAlarm[] sources;
+    private final LoadAlarmType[] types;
+    private final boolean[] entered;
+    private final double[] utilizations;
+    private final long[] timestamps;
+
+    /**
+     * 生产者写指针
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 消费者读指针，仅由分发线程访问
+     */
+    private long head;
+
+    /**
+     * 因缓冲区已满而丢弃的事件数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 构造告警事件缓冲区
+     *
+     * @param capacity 期望容量，会向上取整为2的幂
+     */
+    public LoadAlarmEventBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = ceilPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.sources = new LoadAlarm[this.capacity];
+        this.types = new LoadAlarmType[this.capacity];
+        this.entered = new boolean[this.capacity];
+        this.utilizations = new double[this.capacity];
+        this.timestamps = new long[this.capacity];
+    }
+
+    /**
+     * 发布一条告警状态迁移事件
+     *
+     * @param source      发生状态迁移的告警
+     * @param type        告警类型
+     * @param enter       是否进入告警状态
+     * @param utilization 利用率
+     * @param timestamp   时间戳（毫秒）
+     * @return 发布成功返回true，缓冲区已满返回false
+     */
+    public boolean publish(LoadAlarm source, LoadAlarmType type, boolean enter, double utilization, long timestamp) {
+        long pos;
+        int index;
+        while (true) {
+            pos = tail.get();
+            index = (int) (pos & mask);
+            long seq = sequences.get(index);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (seq < pos) {
+                // 消费者尚未释放该槽位，缓冲区已满
+                dropped.increment();
+                return false;
+            }
+        }
+        sources[index] = source;
+        types[index] = type;
+        entered[index] = enter;
+        utilizations[index] = utilization;
+        timestamps[index] = timestamp;
+        // 序号写入对消费者发布上面的字段
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * 取出所有已发布的事件，仅允许单个消费者线程调用
+     *
+     * @param consumer 事件消费者，参数为发生状态迁移的告警和对应事件
+     * @return 本次取出的事件数
+     */
+    public int drain(BiConsumer<LoadAlarm, LoadAlarmEvent> consumer) {
+        int count = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return count;
+            }
+            LoadAlarm source = sources[index];
+            LoadAlarmEvent event = new LoadAlarmEvent(source.getPoolName(), types[index],
+                    entered[index], utilizations[index], timestamps[index]);
+            sources[index] = null;
+            sequences.set(index, head + capacity);
+            head++;
+            count++;
+            consumer.accept(source, event);
+        }
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的事件数
+     *
+     * @return 丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 获取缓冲区容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
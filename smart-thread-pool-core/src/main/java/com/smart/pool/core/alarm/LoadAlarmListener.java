@@ -0,0 +1,19 @@
+package com.smart.pool.core.alarm;
+
+/**
+ * SPI 接口：负载告警监听器
+ * <p>
+ * 由后台分发线程回调，不会在线程池工作线程中执行。
+ * 可通过{@link LoadAlarmDispatcher#addListener(LoadAlarmListener)}注册，
+ * 或在META-INF/services/com.smart.pool.core.alarm.LoadAlarmListener文件中声明实现类。
+ * </p>
+ */
+public interface LoadAlarmListener {
+
+    /**
+     * 处理告警状态迁移事件
+     *
+     * @param event 告警事件
+     */
+    void onAlarm(LoadAlarmEvent event);
+}
@@ -0,0 +1,20 @@
+package com.smart.pool.core.alarm;
+
+/**
+ * 负载告警类型
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public enum LoadAlarmType {
+
+    /**
+     * 活跃线程数接近最大线程数
+     */
+    HIGH_LOAD,
+
+    /**
+     * 工作队列接近满载
+     */
+    QUEUE_FULL
+}
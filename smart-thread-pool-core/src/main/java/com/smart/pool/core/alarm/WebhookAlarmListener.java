@@ -0,0 +1,147 @@
+package com.smart.pool.core.alarm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Webhook告警监听器
+ * <p>
+ * 将告警状态迁移以JSON格式异步POST到指定地址，请求由HttpClient的异步线程发送，
+ * 不会阻塞告警分发线程。
+ * </p>
+ *
+ * 请求体示例：
+ * <pre>
+ * {"pool":"order-pool","type":"HIGH_LOAD","state":"ENTER","utilization":0.9500,"timestamp":1700000000000}
+ * </pre>
+ * 字符串按JSON规则转义，数值与默认Locale无关。
+ *
+ * <p>
+ * 通过SPI声明时使用无参构造方法，Webhook地址读取系统属性{@value #ENDPOINT_PROPERTY}，
+ * 未设置时读取环境变量{@value #ENDPOINT_ENV}；两者都未设置时监听器不发送任何请求。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class WebhookAlarmListener implements LoadAlarmListener {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(WebhookAlarmListener.class);
+
+    /**
+     * Webhook地址的系统属性名
+     */
+    public static final String ENDPOINT_PROPERTY = "smart.pool.alarm.webhook";
+
+    /**
+     * Webhook地址的环境变量名
+     */
+    public static final String ENDPOINT_ENV = "SMART_POOL_ALARM_WEBHOOK";
+
+    /**
+     * Webhook地址，未配置时为null
+     */
+    private final URI endpoint;
+
+    /**
+     * HTTP客户端
+     */
+    private final HttpClient client;
+
+    /**
+     * 按系统属性或环境变量配置的地址构造Webhook告警监听器，供SPI加载使用
+     */
+    public WebhookAlarmListener() {
+        this(configuredEndpoint());
+    }
+
+    /**
+     * 构造Webhook告警监听器
+     *
+     * @param endpoint Webhook地址，为null或空时不发送请求
+     */
+    public WebhookAlarmListener(String endpoint) {
+        if (endpoint == null || endpoint.trim().isEmpty()) {
+            log.warn("[ALARM] 未配置Webhook地址（系统属性{}或环境变量{}），Webhook告警不生效", ENDPOINT_PROPERTY, ENDPOINT_ENV);
+            this.endpoint = null;
+        } else {
+            this.endpoint = URI.create(endpoint.trim());
+        }
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(3))
+                .build();
+    }
+
+    @Override
+    public void onAlarm(LoadAlarmEvent event) {
+        if (endpoint == null) {
+            return;
+        }
+        String body = String.format(Locale.ROOT, "{\"pool\":\"%s\",\"type\":\"%s\",\"state\":\"%s\",\"utilization\":%.4f,\"timestamp\":%d}",
+                escape(event.getPoolName()), escape(String.valueOf(event.getType())), event.isEntered() ? "ENTER" : "EXIT",
+                event.getUtilization(), event.getTimestamp());
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        log.warn("[ALARM] Webhook发送失败: {}", endpoint, e);
+                    }
+                });
+    }
+
+    /**
+     * 读取配置的Webhook地址
+     */
+    private static String configuredEndpoint() {
+        String endpoint = System.getProperty(ENDPOINT_PROPERTY);
+        return endpoint != null ? endpoint : System.getenv(ENDPOINT_ENV);
+    }
+
+    /**
+     * 按JSON字符串规则转义
+     */
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.smart.pool.core.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 加性增、乘性减（AIMD）并发上限
+ * <p>
+ * 执行耗时不超过延迟阈值且并发已用到上限的一半以上时，上限加1；执行耗时超过阈值或任务以异常结束时，
+ * 上限乘以退避系数（默认0.9）。与TCP拥塞控制相同，一次收缩之后只有在收缩之后才开始执行的任务才会再次触发收缩，
+ * 同一批在拥塞期间执行的慢任务只收缩一次，上限不会被一次突发压到最小值。
+ * </p>
+ * <p>
+ * 样本在任务完成路径上以CAS更新，不加锁；多个线程同时增加上限时只有一个生效，与逐个样本加1的差别可以忽略。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class AimdLimit implements ConcurrencyLimit {
+
+    /**
+     * 默认退避系数
+     */
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    /**
+     * 延迟阈值（纳秒），超过视为拥塞
+     */
+    private final long latencyThresholdNanos;
+
+    private volatile double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+    private final AtomicInteger limit;
+
+    /**
+     * 上次收缩的时间，在此之前开始执行的任务不再触发收缩
+     */
+    private final AtomicLong lastDecreaseNanos;
+
+    /**
+     * 创建AIMD并发上限
+     *
+     * @param initialLimit     初始上限
+     * @param minLimit         上限的下限，必须大于0
+     * @param maxLimit         上限的上限
+     * @param latencyThreshold 延迟阈值，执行耗时超过该值视为拥塞
+     * @param unit             时间单位
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyThreshold, TimeUnit unit) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("require 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        if (latencyThreshold <= 0) {
+            throw new IllegalArgumentException("latencyThreshold must be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = new AtomicInteger(initialLimit);
+        this.latencyThresholdNanos = unit.toNanos(latencyThreshold);
+        this.lastDecreaseNanos = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.get();
+    }
+
+    @Override
+    public void onSample(long startNanos, long rttNanos, int inflight, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            long last = lastDecreaseNanos.get();
+            // 只有赢得收缩时间更新的线程执行收缩，同一批慢任务只收缩一次
+            if (startNanos - last > 0 && lastDecreaseNanos.compareAndSet(last, System.nanoTime())) {
+                double ratio = backoffRatio;
+                limit.updateAndGet(current -> Math.max(minLimit, Math.min(current - 1, (int) (current * ratio))));
+            }
+            return;
+        }
+        int current = limit.get();
+        if (inflight * 2 >= current && current < maxLimit) {
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    /**
+     * 设置退避系数
+     *
+     * @param backoffRatio 拥塞时上限乘以的系数（0.5,1)
+     */
+    public void setBackoffRatio(double backoffRatio) {
+        if (backoffRatio < 0.5 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("require 0.5 <= backoffRatio < 1");
+        }
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit[limit=" + limit.get() + ", threshold=" + latencyThresholdNanos / 1_000_000D + "ms]";
+    }
+}
@@ -0,0 +1,39 @@
+package com.smart.pool.core.limit;
+
+/**
+ * 自适应并发上限算法
+ * <p>
+ * {@link com.smart.pool.core.DynamicThreadPoolExecutor}在提交时按当前上限做准入控制：
+ * 正在执行和排队的任务数达到上限时，新任务交给拒绝执行处理器。每个任务执行完成后把执行耗时作为一个样本交给算法，
+ * 算法据此调整上限——耗时保持在基线附近时逐步放大上限，耗时膨胀时成倍收缩，使下游（如数据库）承受的并发
+ * 跟随其实际处理能力变化，而不是由线程数间接决定。
+ * </p>
+ * <p>
+ * {@link #onSample}会被所有工作线程在每个任务完成时并发调用，实现需要线程安全且不应逐个样本加锁，
+ * 可以累加到分段计数器中按窗口重新计算；{@link #getLimit()}在每次提交时读取，应当无锁。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ * @see AimdLimit
+ * @see GradientLimit
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * 获取当前并发上限
+     *
+     * @return 并发上限，不小于1
+     */
+    int getLimit();
+
+    /**
+     * 记录一个任务的执行样本
+     *
+     * @param startNanos 任务开始执行的时间（{@link System#nanoTime()}）
+     * @param rttNanos   任务执行耗时（纳秒）
+     * @param inflight   任务执行结束时正在执行的任务数（包括该任务）
+     * @param dropped    任务是否以异常结束
+     */
+    void onSample(long startNanos, long rttNanos, int inflight, boolean dropped);
+}
@@ -0,0 +1,226 @@
+package com.smart.pool.core.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 梯度并发上限
+ * <p>
+ * 比较短期执行耗时与长期基线，按两者的比值（梯度）调整上限：
+ * <pre>
+ * gradient = clamp(容忍系数 × 长期耗时 / 短期耗时, 0.5, 1)
+ * 新上限 = 上限 × gradient + √上限
+ * 上限 = 上限 × (1 - 平滑系数) + 新上限 × 平滑系数
+ * </pre>
+ * 耗时保持在基线的容忍范围内时gradient为1，上限每个窗口增长约√上限；耗时膨胀时gradient小于1，上限成比例收缩，
+ * 最多减半。√上限是允许的排队余量，使上限在稳定时仍能缓慢探测更高的并发。
+ * </p>
+ * <p>
+ * 样本按窗口聚合：窗口至少持续{@code minWindow}且至少包含10个样本，窗口内的平均耗时作为短期耗时。
+ * 长期基线在短期耗时更低时立即下降，更高时按指数移动平均（默认跨度100个窗口）缓慢上升：
+ * 基线接近无拥塞时的耗时，下游持续变慢时也能逐渐接受新的耗时水平。
+ * 窗口内的最大并发不足上限一半时不调整，避免负载很低时上限无意义地膨胀。
+ * </p>
+ * <p>
+ * 窗口内的样本累加在分段计数器中，任务完成路径不加锁；只有以CAS换上新窗口的线程重新计算上限。
+ * 关闭窗口时正在写入旧窗口的个别样本会被丢弃。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class GradientLimit implements ConcurrencyLimit {
+
+    /**
+     * 每个窗口的最少样本数
+     */
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    /**
+     * 窗口最短持续时间（纳秒）
+     */
+    private final long minWindowNanos;
+
+    private volatile double tolerance = 1.5;
+
+    private volatile double smoothing = 0.2;
+
+    /**
+     * 长期基线的跨度（窗口数）
+     */
+    private volatile int longWindow = 100;
+
+    private volatile int limit;
+
+    /**
+     * 上限的精确值，取整后发布到{@link #limit}，只在关闭窗口时访问
+     */
+    private double estimatedLimit;
+
+    /**
+     * 长期基线（纳秒），0表示尚无样本，只在关闭窗口时访问
+     */
+    private double longRttNanos;
+
+    /**
+     * 当前样本窗口
+     */
+    private final AtomicReference<Window> window;
+
+    /**
+     * 使用最短100毫秒的窗口创建梯度并发上限
+     *
+     * @param initialLimit 初始上限
+     * @param minLimit     上限的下限，必须大于0
+     * @param maxLimit     上限的上限
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 创建梯度并发上限
+     *
+     * @param initialLimit 初始上限
+     * @param minLimit     上限的下限，必须大于0
+     * @param maxLimit     上限的上限
+     * @param minWindow    样本窗口的最短持续时间
+     * @param unit         时间单位
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, long minWindow, TimeUnit unit) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("require 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.minWindowNanos = unit.toNanos(minWindow);
+        this.window = new AtomicReference<>(new Window(System.nanoTime()));
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long startNanos, long rttNanos, int inflight, boolean dropped) {
+        Window w = window.get();
+        w.add(rttNanos, inflight, dropped);
+        long now = startNanos + rttNanos;
+        if (now - w.startNanos < minWindowNanos || w.count.sum() < MIN_WINDOW_SAMPLES
+                || !window.compareAndSet(w, new Window(now))) {
+            return;
+        }
+        // 只有换上新窗口的线程关闭旧窗口；先读样本数再读总耗时，并发写入只会使平均耗时略微偏高
+        long count = w.count.sum();
+        long sum = w.sum.sum();
+        if (count > 0) {
+            update((double) sum / count, w.maxInflight.get(), w.dropped);
+        }
+    }
+
+    /**
+     * 按一个窗口的聚合结果调整上限，每个窗口只由关闭它的线程调用一次
+     */
+    private synchronized void update(double shortRtt, int maxInflight, boolean dropped) {
+        if (longRttNanos == 0 || shortRtt < longRttNanos) {
+            // 基线立即跟随更低的耗时，只缓慢跟随升高的耗时
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * 2 / (longWindow + 1);
+        }
+        double current = estimatedLimit;
+        if (!dropped && maxInflight < current / 2) {
+            return;
+        }
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - smoothing) + next * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 设置延迟容忍系数
+     *
+     * @param tolerance 短期耗时不超过基线的该倍数时视为未膨胀，不小于1
+     */
+    public void setTolerance(double tolerance) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("tolerance must be >= 1");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 设置上限平滑系数
+     *
+     * @param smoothing 每个窗口新上限所占的权重（0,1]
+     */
+    public void setSmoothing(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("require 0 < smoothing <= 1");
+        }
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * 设置长期基线跨度
+     *
+     * @param longWindow 基线指数移动平均跨越的窗口数，必须大于1
+     */
+    public void setLongWindow(int longWindow) {
+        if (longWindow <= 1) {
+            throw new IllegalArgumentException("longWindow must be > 1");
+        }
+        this.longWindow = longWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "GradientLimit[limit=" + limit + "]";
+    }
+
+    /**
+     * 一个样本窗口的聚合值，所有工作线程并发写入
+     */
+    private static final class Window {
+
+        private final long startNanos;
+
+        private final LongAdder sum = new LongAdder();
+
+        private final LongAdder count = new LongAdder();
+
+        private final AtomicInteger maxInflight = new AtomicInteger();
+
+        private volatile boolean dropped;
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 记录一个样本，先累加耗时再累加样本数
+         */
+        private void add(long rttNanos, int inflight, boolean dropped) {
+            sum.add(rttNanos);
+            count.increment();
+            int max;
+            while (inflight > (max = maxInflight.get()) && !maxInflight.compareAndSet(max, inflight)) {
+                // 并发更新最大并发，失败时重新读取
+            }
+            if (dropped && !this.dropped) {
+                this.dropped = true;
+            }
+        }
+    }
+}
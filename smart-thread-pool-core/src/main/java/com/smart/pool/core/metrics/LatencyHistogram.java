@@ -0,0 +1,146 @@
+package com.smart.pool.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁定长对数线性直方图
+ * <p>
+ * 用于记录纳秒级延迟。数值按2的幂分组，每组再线性划分为32个子桶，相对误差约3%；
+ * 小于64纳秒的数值精确记录，超过上限（约4.9小时）的数值计入最后一个桶。
+ * 内存在构造时一次性分配，{@link #record(long)}只执行原子自增，不加锁、不创建对象，
+ * 可以在工作线程的任务路径上调用。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每组子桶数量的位数
+     */
+    static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * 每组子桶数量
+     */
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 可精确区分的最大指数，2^44纳秒约为4.9小时
+     */
+    static final int MAX_EXPONENT = 44;
+
+    /**
+     * 桶总数
+     */
+    static final int BUCKET_COUNT = indexOf((1L << (MAX_EXPONENT + 1)) - 1) + 1;
+
+    /**
+     * 各桶计数
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 记录值总和，用于计算平均值
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * 记录的最大值
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个延迟值
+     *
+     * @param nanos 延迟（纳秒），负值按0处理
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(nanos));
+        sum.add(nanos);
+        long current;
+        while (nanos > (current = max.get())) {
+            if (max.compareAndSet(current, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 获取当前直方图的快照
+     * <p>
+     * 复制各桶计数，之后的百分位计算在快照上进行，不影响记录路径。
+     * </p>
+     *
+     * @return 直方图快照
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new LatencySnapshot(copy, total, sum.sum(), max.get());
+    }
+
+    /**
+     * 读取单个桶的计数
+     */
+    long countAt(int index) {
+        return counts.get(index);
+    }
+
+    /**
+     * 读取记录值总和
+     */
+    long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * 读取记录的最大值
+     */
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * 计算数值所在的桶下标
+     *
+     * @param value 非负数值
+     * @return 桶下标
+     */
+    static int indexOf(long value) {
+        if (value < (SUB_BUCKET_COUNT << 1)) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * 获取桶内的最大值
+     *
+     * @param index 桶下标
+     * @return 落入该桶的最大数值
+     */
+    static long highestValueOf(int index) {
+        if (index < (SUB_BUCKET_COUNT << 1)) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,134 @@
+package com.smart.pool.core.metrics;
+
+/**
+ * 延迟直方图快照
+ * <p>
+ * {@link LatencyHistogram}在某一时刻的只读副本，用于计算百分位数。
+ * 两个快照相减可以得到一个时间窗口内的分布。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LatencySnapshot {
+
+    /**
+     * 空快照
+     */
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0, 0);
+
+    /**
+     * 各桶计数
+     */
+    private final long[] counts;
+
+    /**
+     * 记录总数
+     */
+    private final long totalCount;
+
+    /**
+     * 记录值总和（纳秒）
+     */
+    private final long sum;
+
+    /**
+     * 最大值（纳秒）
+     */
+    private final long max;
+
+    LatencySnapshot(long[] counts, long totalCount, long sum, long max) {
+        this.counts = counts;
+        this.totalCount = totalCount;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * 计算百分位数
+     *
+     * @param percentile 百分位（0~1），例如0.99表示p99
+     * @return 对应的延迟（纳秒），不超过记录到的最大值；没有记录时返回0
+     */
+    public long getValueAtPercentile(double percentile) {
+        return valueAtPercentile(counts, totalCount, max, percentile);
+    }
+
+    /**
+     * 在各桶计数上计算百分位数
+     *
+     * @param counts     各桶计数
+     * @param totalCount 记录总数
+     * @param max        最大值（纳秒），结果不超过该值
+     * @param percentile 百分位（0~1）
+     * @return 对应的延迟（纳秒），没有记录时返回0
+     */
+    static long valueAtPercentile(long[] counts, long totalCount, long max, double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(1D, Math.max(0D, percentile)) * totalCount);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 计算本快照相对于更早快照的增量分布
+     * <p>
+     * 返回的快照中最大值取本快照窗口内出现过的最高桶上限，用于计算最近一个窗口的百分位数。
+     * </p>
+     *
+     * @param earlier 更早的快照
+     * @return 增量快照
+     */
+    public LatencySnapshot minus(LatencySnapshot earlier) {
+        long[] delta = new long[counts.length];
+        long total = 0;
+        int highest = -1;
+        for (int i = 0; i < counts.length; i++) {
+            delta[i] = counts[i] - earlier.counts[i];
+            if (delta[i] > 0) {
+                total += delta[i];
+                highest = i;
+            }
+        }
+        long windowMax = highest < 0 ? 0 : Math.min(LatencyHistogram.highestValueOf(highest), max);
+        return new LatencySnapshot(delta, total, sum - earlier.sum, windowMax);
+    }
+
+    /**
+     * 获取记录总数
+     *
+     * @return 记录总数
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 获取最大值
+     *
+     * @return 最大值（纳秒）
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 获取平均值
+     *
+     * @return 平均值（纳秒），没有记录时返回0
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0D : (double) sum / totalCount;
+    }
+}
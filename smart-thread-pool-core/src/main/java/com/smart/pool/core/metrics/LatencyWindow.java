@@ -0,0 +1,111 @@
+package com.smart.pool.core.metrics;
+
+/**
+ * 可复用的延迟滑动窗口
+ * <p>
+ * 记录上一次{@link #roll(LatencyHistogram)}时直方图的各桶计数，每次滚动得到两次调用之间新增记录的分布。
+ * 与{@link LatencyHistogram#snapshot()}配合{@link LatencySnapshot#minus(LatencySnapshot)}的结果相同，
+ * 但计数数组在构造时一次性分配并反复使用，适合调节策略按周期读取最近一个周期的百分位数。
+ * 非线程安全，每个窗口只应由一个线程滚动和读取。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class LatencyWindow {
+
+    /**
+     * 上次滚动时的各桶累计计数
+     */
+    private final long[] previous = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * 最近一个窗口内的各桶计数
+     */
+    private final long[] delta = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * 上次滚动时的记录值总和
+     */
+    private long previousSum;
+
+    /**
+     * 窗口内记录数
+     */
+    private long count;
+
+    /**
+     * 窗口内记录值总和（纳秒）
+     */
+    private long sum;
+
+    /**
+     * 窗口内最高桶的上限（纳秒）
+     */
+    private long max;
+
+    /**
+     * 结束当前窗口并开始下一个窗口
+     * <p>
+     * 首次调用得到直方图创建以来的全部记录。
+     * </p>
+     *
+     * @param histogram 被观察的直方图，每个窗口只应观察同一个直方图
+     */
+    public void roll(LatencyHistogram histogram) {
+        long total = 0;
+        int highest = -1;
+        for (int i = 0; i < delta.length; i++) {
+            long current = histogram.countAt(i);
+            long d = current - previous[i];
+            previous[i] = current;
+            delta[i] = d;
+            if (d > 0) {
+                total += d;
+                highest = i;
+            }
+        }
+        long currentSum = histogram.sum();
+        count = total;
+        sum = currentSum - previousSum;
+        previousSum = currentSum;
+        max = highest < 0 ? 0 : Math.min(LatencyHistogram.highestValueOf(highest), histogram.max());
+    }
+
+    /**
+     * 计算窗口内的百分位数
+     *
+     * @param percentile 百分位（0~1），例如0.99表示p99
+     * @return 对应的延迟（纳秒）；窗口内没有记录时返回0
+     */
+    public long getValueAtPercentile(double percentile) {
+        return LatencySnapshot.valueAtPercentile(delta, count, max, percentile);
+    }
+
+    /**
+     * 获取窗口内记录数
+     *
+     * @return 记录数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 获取窗口内的平均值
+     *
+     * @return 平均值（纳秒），没有记录时返回0
+     */
+    public double getMean() {
+        return count == 0 ? 0D : (double) sum / count;
+    }
+
+    /**
+     * 获取窗口内的最大值
+     *
+     * @return 窗口内最高桶的上限（纳秒），没有记录时返回0
+     */
+    public long getMax() {
+        return max;
+    }
+}
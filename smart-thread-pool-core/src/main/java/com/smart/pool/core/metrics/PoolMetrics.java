@@ -14,12 +14,33 @@ import lombok.Setter;
 @Setter
 public class PoolMetrics implements PoolMetricsMBean {
 
+    /**
+     * 线程池类型：基于共享队列的ThreadPoolExecutor
+     */
+    public static final String TYPE_THREAD_POOL = "THREAD_POOL";
+
+    /**
+     * 线程池类型：虚拟线程执行器
+     */
+    public static final String TYPE_VIRTUAL = "VIRTUAL";
+
+    /**
+     * 线程池类型：工作窃取的ForkJoinPool
+     */
+    public static final String TYPE_FORK_JOIN = "FORK_JOIN";
+
     /**
      * 线程池名称
      * 用于标识和区分不同的线程池实例
      */
     private String poolName;
 
+    /**
+     * 线程池类型
+     * 取值为TYPE_THREAD_POOL、TYPE_VIRTUAL或TYPE_FORK_JOIN
+     */
+    private String poolType;
+
     /**
      * 当前活动线程数
      * 正在执行任务的线程数量
@@ -56,6 +77,80 @@ public class PoolMetrics implements PoolMetricsMBean {
      */
     private int queueSize;
 
+    /**
+     * 队列容量
+     * 工作队列当前的容量，无界队列为Integer.MAX_VALUE，可调整容量的队列会随调整变化
+     */
+    private int queueCapacity;
+
+    /**
+     * 合并提交次数
+     * 通过submitCoalesced提交、因同一键的任务仍在排队而被合并的累计次数
+     */
+    private long coalescedCount;
+
+    /**
+     * 已提交任务数
+     * 提交到线程池的累计任务数，包括被拒绝的任务，两次采样之差可得到任务到达速率
+     */
+    private long submittedCount;
+
+    /**
+     * 并发上限
+     * 自适应并发上限算法当前允许的执行与排队任务总数，未配置并发上限时为0
+     */
+    private int concurrencyLimit;
+
+    /**
+     * 被限制任务数
+     * 提交时超过并发上限、交给拒绝执行处理器的累计任务数
+     */
+    private long limitedCount;
+
+    /**
+     * 过期任务数
+     * 带截止时间提交的任务在出队时已过期、未执行即被丢弃的累计数量
+     */
+    private long expiredCount;
+
+    /**
+     * 工作窃取次数
+     * 仅ForkJoin线程池有效，工作线程从其他线程队列中窃取任务的累计次数
+     */
+    private long stealCount;
+
+    /**
+     * 并行度
+     * 仅ForkJoin线程池有效，目标并行工作线程数
+     */
+    private int parallelism;
+
+    /**
+     * 外部提交排队数
+     * 仅ForkJoin线程池有效，从非工作线程提交、尚未开始执行的任务数量
+     */
+    private long queuedSubmissionCount;
+
+    /**
+     * 排队耗时分位数（毫秒）
+     * 任务从提交到开始执行的等待时间
+     */
+    private double queueWaitP50Millis;
+    private double queueWaitP90Millis;
+    private double queueWaitP99Millis;
+    private double queueWaitP999Millis;
+    private double queueWaitMaxMillis;
+
+    /**
+     * 执行耗时分位数（毫秒）
+     * 任务从开始执行到执行结束的时间
+     */
+    private double executionP50Millis;
+    private double executionP90Millis;
+    private double executionP99Millis;
+    private double executionP999Millis;
+    private double executionMaxMillis;
+
     /**
      * 构造函数 - 创建指定名称的线程池指标对象
      *
@@ -84,4 +179,27 @@ public class PoolMetrics implements PoolMetricsMBean {
         this.queueSize = queueSize;
         this.completedTaskCount = completedTaskCount;
     }
+
+    /**
+     * 根据直方图快照填充排队耗时和执行耗时分位数
+     *
+     * @param queueWait 排队耗时快照
+     * @param execution 执行耗时快照
+     */
+    public void applyLatency(LatencySnapshot queueWait, LatencySnapshot execution) {
+        this.queueWaitP50Millis = toMillis(queueWait.getValueAtPercentile(0.5));
+        this.queueWaitP90Millis = toMillis(queueWait.getValueAtPercentile(0.9));
+        this.queueWaitP99Millis = toMillis(queueWait.getValueAtPercentile(0.99));
+        this.queueWaitP999Millis = toMillis(queueWait.getValueAtPercentile(0.999));
+        this.queueWaitMaxMillis = toMillis(queueWait.getMax());
+        this.executionP50Millis = toMillis(execution.getValueAtPercentile(0.5));
+        this.executionP90Millis = toMillis(execution.getValueAtPercentile(0.9));
+        this.executionP99Millis = toMillis(execution.getValueAtPercentile(0.99));
+        this.executionP999Millis = toMillis(execution.getValueAtPercentile(0.999));
+        this.executionMaxMillis = toMillis(execution.getMax());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000D;
+    }
 }
\ No newline at end of file
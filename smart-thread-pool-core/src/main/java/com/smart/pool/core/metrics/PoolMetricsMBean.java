@@ -2,10 +2,30 @@ package com.smart.pool.core.metrics;
 
 public interface PoolMetricsMBean {
     String getPoolName();
+    String getPoolType();
     int getActiveCount();
     int getCorePoolSize();
     int getMaximumPoolSize();
     int getQueueSize();
+    int getQueueCapacity();
     long getCompletedTaskCount();
     long getTaskCount();
+    long getSubmittedCount();
+    int getConcurrencyLimit();
+    long getLimitedCount();
+    long getCoalescedCount();
+    long getExpiredCount();
+    long getStealCount();
+    int getParallelism();
+    long getQueuedSubmissionCount();
+    double getQueueWaitP50Millis();
+    double getQueueWaitP90Millis();
+    double getQueueWaitP99Millis();
+    double getQueueWaitP999Millis();
+    double getQueueWaitMaxMillis();
+    double getExecutionP50Millis();
+    double getExecutionP90Millis();
+    double getExecutionP99Millis();
+    double getExecutionP999Millis();
+    double getExecutionMaxMillis();
 }
@@ -0,0 +1,562 @@
+package com.smart.pool.core.queue;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 工作线程批量出队的队列包装
+ * <p>
+ * 包装线程池的工作队列：工作线程通过take/poll取任务时，除了取回一个任务，还用一次drainTo把若干任务搬到
+ * 本线程的缓冲区，之后的take/poll直接从缓冲区返回，不再竞争队列锁、也不会挂起。任务仍然逐个交给线程池的
+ * 工作循环执行，beforeExecute/afterExecute、排队与执行耗时统计都与普通模式一致，缓冲区中的等待计入排队耗时。
+ * </p>
+ * <p>
+ * 每次搬运的数量随队列深度自适应：取队列中任务数按工作线程数平分后的份额，上限为maxBatch，
+ * 队列较浅时退化为逐个出队，因此一个线程缓冲的任务不会超过它应得的份额。
+ * 工作线程在挂起等待之前会先从其他线程的缓冲区取任务；有工作线程挂起等待时不搬运，
+ * 搬运后发现有线程挂起则把多搬的任务放回被包装的队列唤醒它，避免任务滞留在忙碌线程的缓冲区里而空闲线程在等待。
+ * </p>
+ * <p>
+ * 缓冲区中的任务按搬运时的顺序执行，不适用于优先级队列：之后到达的高优先级任务无法越过已缓冲的任务，
+ * {@link com.smart.pool.core.SmartPoolBuilder}对优先级队列会忽略批量出队设置。
+ * </p>
+ * <p>
+ * size()、remove、drainTo（shutdownNow使用）、toArray等操作同时覆盖缓冲区中的任务，线程池关闭时不会丢失任务。
+ * 缓冲区中的任务不占用被包装队列的容量，所以实际可容纳的任务数最多比队列容量多出 工作线程数 × maxBatch。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class BatchDrainingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    /**
+     * 工作线程的任务缓冲区
+     * <p>
+     * 只有所属线程写入槽位和推进读写位置；读取槽位使用getAndSet(null)，
+     * 因此其他线程可以并发地从中取走任务，同一任务只会被一个线程取得。
+     * </p>
+     */
+    private final class DrainBuffer extends AbstractCollection<Runnable> {
+        final AtomicReferenceArray<Runnable> slots;
+        final Thread owner;
+        int head;
+        int tail;
+
+        DrainBuffer(int size, Thread owner) {
+            this.slots = new AtomicReferenceArray<>(size);
+            this.owner = owner;
+        }
+
+        /**
+         * 由drainTo调用，只在所属线程中追加
+         */
+        @Override
+        public boolean add(Runnable task) {
+            slots.set(tail++, task);
+            buffered.incrementAndGet();
+            return true;
+        }
+
+        /**
+         * 所属线程按顺序取出下一个未被其他线程取走的任务
+         */
+        Runnable pollOwn() {
+            while (head < tail) {
+                Runnable task = slots.getAndSet(head++, null);
+                if (task != null) {
+                    buffered.decrementAndGet();
+                    return task;
+                }
+            }
+            head = tail = 0;
+            return null;
+        }
+
+        /**
+         * 所属线程把尚未执行的任务放回被包装的队列，放不下时保留在缓冲区
+         */
+        void handBack() {
+            while (head < tail) {
+                Runnable task = slots.getAndSet(head, null);
+                if (task != null) {
+                    if (!requeue(task)) {
+                        slots.set(head, task);
+                        return;
+                    }
+                    buffered.decrementAndGet();
+                }
+                head++;
+            }
+            head = tail = 0;
+        }
+
+        /**
+         * 其他线程从缓冲区中取走一个任务
+         */
+        Runnable steal() {
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) != null) {
+                    Runnable task = slots.getAndSet(i, null);
+                    if (task != null) {
+                        buffered.decrementAndGet();
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 删除第一个匹配的任务
+         */
+        boolean removeMatching(Object o, boolean identity) {
+            for (int i = 0; i < slots.length(); i++) {
+                Runnable task = slots.get(i);
+                if (task != null && (identity ? task == o : o.equals(task)) && slots.compareAndSet(i, task, null)) {
+                    buffered.decrementAndGet();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 缓冲区中当前任务的快照
+         */
+        List<Runnable> snapshot() {
+            List<Runnable> tasks = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                Runnable task = slots.get(i);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+            return tasks;
+        }
+
+        /**
+         * 返回缓冲区快照上的只读迭代器，不反映迭代开始后的变化
+         */
+        @Override
+        public Iterator<Runnable> iterator() {
+            return Collections.unmodifiableList(snapshot()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return tail - head;
+        }
+    }
+
+    /**
+     * 被包装的工作队列
+     */
+    private final BlockingQueue<Runnable> delegate;
+
+    /**
+     * 单次搬运的最大任务数
+     */
+    private final int maxBatch;
+
+    /**
+     * 当前线程的缓冲区
+     */
+    private final ThreadLocal<DrainBuffer> localBuffer = new ThreadLocal<>();
+
+    /**
+     * 所有工作线程的缓冲区，供窃取和关闭时回收任务
+     */
+    private final ConcurrentLinkedQueue<DrainBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 持有缓冲区的工作线程数
+     */
+    private final AtomicInteger workers = new AtomicInteger();
+
+    /**
+     * 所有缓冲区中的任务数
+     */
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    /**
+     * 正在被包装队列上挂起等待的工作线程数
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * 构造批量出队包装
+     *
+     * @param delegate 被包装的工作队列
+     * @param maxBatch 单次搬运的最大任务数，必须大于0
+     */
+    public BatchDrainingQueue(BlockingQueue<Runnable> delegate, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * 获取被包装的工作队列
+     *
+     * @return 被包装的队列
+     */
+    public BlockingQueue<Runnable> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 获取单次搬运的最大任务数
+     *
+     * @return 最大批量
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * 获取当前线程的缓冲区，首次调用时注册
+     */
+    private DrainBuffer buffer() {
+        DrainBuffer buffer = localBuffer.get();
+        if (buffer == null) {
+            buffer = new DrainBuffer(maxBatch, Thread.currentThread());
+            localBuffer.set(buffer);
+            sweepDeadOwners();
+            buffers.add(buffer);
+            workers.incrementAndGet();
+        }
+        return buffer;
+    }
+
+    /**
+     * 注销所属线程已经退出（例如任务抛出异常）且已被取空的缓冲区。
+     * 仍有任务的缓冲区保留，其中的任务由其他工作线程在挂起前窃取执行。
+     * 只在新线程注册时执行，新线程通常正是线程池为替换退出线程而创建的
+     */
+    private void sweepDeadOwners() {
+        for (DrainBuffer buffer : buffers) {
+            if (!buffer.owner.isAlive() && isDrained(buffer) && buffers.remove(buffer)) {
+                workers.decrementAndGet();
+            }
+        }
+    }
+
+    private static boolean isDrained(DrainBuffer buffer) {
+        for (int i = 0; i < buffer.slots.length(); i++) {
+            if (buffer.slots.get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 工作线程退出（等待超时）时注销空缓冲区
+     */
+    private void release(DrainBuffer buffer) {
+        if (buffer.head >= buffer.tail && buffers.remove(buffer)) {
+            workers.decrementAndGet();
+            localBuffer.remove();
+        }
+    }
+
+    /**
+     * 取到一个任务后按队列深度补充缓冲区
+     * <p>
+     * 有线程挂起等待时不搬运。搬运与挂起并发发生时，搬运方先写缓冲区再读{@link #waiting}，
+     * 挂起方先写{@link #waiting}再检查缓冲区，两者至少有一方看到对方：
+     * 挂起方看到缓冲区就直接窃取，搬运方看到挂起线程就把任务放回被包装的队列唤醒它。
+     * </p>
+     */
+    private void refill(DrainBuffer buffer) {
+        if (waiting.get() > 0) {
+            return;
+        }
+        int share = delegate.size() / Math.max(1, workers.get());
+        int n = Math.min(share, maxBatch);
+        if (n > 0 && delegate.drainTo(buffer, n) > 0 && waiting.get() > 0) {
+            buffer.handBack();
+        }
+    }
+
+    /**
+     * 把任务放回被包装的队列，EagerTaskQueue按容量入队，不因线程数未满而拒绝
+     */
+    private boolean requeue(Runnable task) {
+        return delegate instanceof EagerTaskQueue ? ((EagerTaskQueue) delegate).force(task) : delegate.offer(task);
+    }
+
+    /**
+     * 从其他线程的缓冲区取走一个任务
+     */
+    private Runnable stealAny() {
+        if (buffered.get() == 0) {
+            return null;
+        }
+        for (DrainBuffer buffer : buffers) {
+            Runnable task = buffer.steal();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        DrainBuffer buffer = buffer();
+        Runnable task = buffer.pollOwn();
+        if (task != null) {
+            return task;
+        }
+        task = delegate.poll();
+        if (task == null) {
+            waiting.incrementAndGet();
+            try {
+                if ((task = stealAny()) != null) {
+                    return task;
+                }
+                task = delegate.take();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        refill(buffer);
+        return task;
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        DrainBuffer buffer = buffer();
+        Runnable task = buffer.pollOwn();
+        if (task != null) {
+            return task;
+        }
+        task = delegate.poll();
+        if (task == null) {
+            waiting.incrementAndGet();
+            try {
+                if ((task = stealAny()) != null) {
+                    return task;
+                }
+                task = delegate.poll(timeout, unit);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (task == null) {
+                release(buffer);
+                return null;
+            }
+        }
+        refill(buffer);
+        return task;
+    }
+
+    @Override
+    public Runnable poll() {
+        DrainBuffer buffer = localBuffer.get();
+        if (buffer != null) {
+            Runnable task = buffer.pollOwn();
+            if (task != null) {
+                return task;
+            }
+        }
+        Runnable task = delegate.poll();
+        return task != null ? task : stealAny();
+    }
+
+    @Override
+    public Runnable peek() {
+        Runnable task = delegate.peek();
+        if (task != null || buffered.get() == 0) {
+            return task;
+        }
+        for (DrainBuffer buffer : buffers) {
+            for (int i = 0; i < buffer.slots.length(); i++) {
+                if ((task = buffer.slots.get(i)) != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        return delegate.offer(task);
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        delegate.put(task);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.offer(task, timeout, unit);
+    }
+
+    /**
+     * 返回被包装队列与所有缓冲区中的任务数之和
+     *
+     * @return 排队任务数
+     */
+    @Override
+    public int size() {
+        return delegate.size() + buffered.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buffered.get() == 0 && delegate.isEmpty();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return delegate.remainingCapacity();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        return delegate.remove(o) || removeBuffered(o, false);
+    }
+
+    private boolean removeBuffered(Object o, boolean identity) {
+        if (buffered.get() == 0) {
+            return false;
+        }
+        for (DrainBuffer buffer : buffers) {
+            if (buffer.removeMatching(o, identity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        if (delegate.contains(o)) {
+            return true;
+        }
+        for (DrainBuffer buffer : buffers) {
+            for (int i = 0; i < buffer.slots.length(); i++) {
+                if (o.equals(buffer.slots.get(i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回被包装队列与所有缓冲区中任务的快照
+     *
+     * @return 元素数组
+     */
+    @Override
+    public Object[] toArray() {
+        List<Object> snapshot = new ArrayList<>(Arrays.asList(delegate.toArray()));
+        for (DrainBuffer buffer : buffers) {
+            snapshot.addAll(buffer.snapshot());
+        }
+        return snapshot.toArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), snapshot.length);
+        }
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        while (stealAny() != null) {
+            // 逐个取走缓冲区中的任务
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 先转移被包装队列中的任务，再转移各缓冲区中的任务
+     */
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = delegate.drainTo(c, maxElements);
+        Runnable task;
+        while (n < maxElements && (task = stealAny()) != null) {
+            c.add(task);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 返回基于当前快照的迭代器，remove按对象身份删除
+     *
+     * @return 迭代器
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<Runnable>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public Runnable next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (Runnable) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                Object o = snapshot[lastRet];
+                if (!delegate.remove(o)) {
+                    removeBuffered(o, true);
+                }
+                lastRet = -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.smart.pool.core.queue;
+
+import java.util.List;
+
+/**
+ * 支持批量入队的队列
+ * <p>
+ * {@link com.smart.pool.core.DynamicThreadPoolExecutor#executeAll}通过该接口一次加锁转移一批任务，
+ * 未实现该接口的工作队列退化为逐个offer。
+ * </p>
+ *
+ * @param <E> 元素类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface BatchQueue<E> {
+
+    /**
+     * 按顺序批量入队，空位不足时只接收前面的一部分
+     *
+     * @param items 要入队的元素，不能包含null
+     * @return 实际入队的元素数，即items中前多少个元素已入队
+     */
+    int offerAll(List<? extends E> items);
+}
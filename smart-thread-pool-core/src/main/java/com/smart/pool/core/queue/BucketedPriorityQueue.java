@@ -0,0 +1,459 @@
+package com.smart.pool.core.queue;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分级桶优先级阻塞队列
+ * <p>
+ * 为每个优先级（0~15）维护一个无锁FIFO队列，并用一个位图记录哪些级别非空。
+ * 入队只追加到对应级别的队列并置位，出队通过位图找到最高的非空级别再出队，两者都是常数时间，
+ * 不随排队任务数增长，也没有全局锁。同一级别内严格先进先出。
+ * </p>
+ * <p>
+ * 优先级通过{@link Prioritized#getPriority()}读取，超出范围的优先级截断到0或15，未实现该接口的任务按0处理。
+ * 该队列严格按优先级出队、不做老化，需要防止低优先级任务饿死时使用{@link PriorityTaskQueue}。
+ * </p>
+ * <p>
+ * 容量通过原子计数器控制，可以在运行时调整；阻塞操作采用与{@link MpmcArrayBlockingQueue}相同的
+ * 先自旋、再让出CPU、最后挂起的等待策略。迭代器基于调用时的快照，按优先级从高到低排列。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class BucketedPriorityQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable>, ResizableQueue {
+
+    /**
+     * 优先级级别数，有效优先级为0~15
+     */
+    public static final int LEVELS = 16;
+
+    /**
+     * 挂起前的自旋次数
+     */
+    private static final int SPIN_TRIES = 128;
+
+    /**
+     * 自旋之后、挂起之前让出CPU的次数
+     */
+    private static final int YIELD_TRIES = 8;
+
+    /**
+     * 每个优先级一个FIFO队列，下标即优先级
+     */
+    private final ConcurrentLinkedQueue<Runnable>[] buckets;
+
+    /**
+     * 非空级别位图，第i位为1表示级别i可能有元素
+     */
+    private final AtomicInteger occupancy = new AtomicInteger();
+
+    /**
+     * 元素数（包括已预留容量、尚未追加到桶中的元素）
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * 当前容量
+     */
+    private volatile int capacity;
+
+    /**
+     * 挂起等待的锁和条件，只在慢路径上使用
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 挂起等待元素的消费者数和等待空位的生产者数
+     */
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    /**
+     * 构造分级桶优先级队列
+     *
+     * @param capacity 队列容量，必须大于0
+     */
+    @SuppressWarnings("unchecked")
+    public BucketedPriorityQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.buckets = new ConcurrentLinkedQueue[LEVELS];
+        for (int i = 0; i < LEVELS; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int old = this.capacity;
+        this.capacity = capacity;
+        if (capacity > old && waitingProducers.get() > 0) {
+            signalAll(notFull);
+        }
+    }
+
+    /**
+     * 计算任务所在级别
+     *
+     * @param task 任务
+     * @return 0~15
+     */
+    private static int levelOf(Object task) {
+        int priority = task instanceof Prioritized ? ((Prioritized) task).getPriority() : 0;
+        return Math.max(0, Math.min(LEVELS - 1, priority));
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        if (!tryOffer(task)) {
+            return false;
+        }
+        if (waitingConsumers.get() > 0) {
+            signal(notEmpty);
+        }
+        return true;
+    }
+
+    /**
+     * 预留容量后追加到对应级别并置位
+     *
+     * @param task 任务
+     * @return 队列满时返回false
+     */
+    private boolean tryOffer(Runnable task) {
+        int c;
+        do {
+            c = count.get();
+            if (c >= capacity) {
+                return false;
+            }
+        } while (!count.compareAndSet(c, c + 1));
+        int level = levelOf(task);
+        buckets[level].offer(task);
+        // 先追加再置位，出队方清位后会复查桶，置位不会丢失
+        int bit = 1 << level;
+        if ((occupancy.get() & bit) == 0) {
+            occupancy.getAndUpdate(bits -> bits | bit);
+        }
+        return true;
+    }
+
+    @Override
+    public Runnable poll() {
+        Runnable task = tryPoll();
+        if (task != null && waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return task;
+    }
+
+    /**
+     * 从最高的非空级别出队
+     *
+     * @return 队列空时返回null
+     */
+    private Runnable tryPoll() {
+        int bits;
+        while ((bits = occupancy.get()) != 0) {
+            int level = 31 - Integer.numberOfLeadingZeros(bits);
+            ConcurrentLinkedQueue<Runnable> bucket = buckets[level];
+            Runnable task = bucket.poll();
+            if (task != null) {
+                count.decrementAndGet();
+                return task;
+            }
+            // 桶已空：清位后复查，期间有并发追加则重新置位
+            int bit = 1 << level;
+            occupancy.getAndUpdate(b -> b & ~bit);
+            if (!bucket.isEmpty()) {
+                occupancy.getAndUpdate(b -> b | bit);
+            }
+        }
+        return null;
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAll(Condition condition) {
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        offer(task, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long nanos = unit.toNanos(timeout);
+        for (int i = 0; i < SPIN_TRIES + YIELD_TRIES; i++) {
+            if (offer(task)) {
+                return true;
+            }
+            backoff(i);
+        }
+        long deadline = System.nanoTime() + nanos;
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            // 登记后再尝试一次，避免消费者在登记前出队而错过唤醒
+            while (!tryOffer(task)) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0L) {
+                    return false;
+                }
+                notFull.awaitNanos(nanos);
+            }
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+        if (waitingConsumers.get() > 0) {
+            signal(notEmpty);
+        }
+        return true;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long nanos = unit.toNanos(timeout);
+        for (int i = 0; i < SPIN_TRIES + YIELD_TRIES; i++) {
+            Runnable task = poll();
+            if (task != null) {
+                return task;
+            }
+            backoff(i);
+        }
+        long deadline = System.nanoTime() + nanos;
+        Runnable task;
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            // 登记后再尝试一次，避免生产者在登记前入队而错过唤醒
+            while ((task = tryPoll()) == null) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0L) {
+                    return null;
+                }
+                notEmpty.awaitNanos(nanos);
+            }
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+        if (waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return task;
+    }
+
+    /**
+     * 慢路径之前的退避：先自旋，再让出CPU
+     *
+     * @param attempt 已尝试次数
+     */
+    private static void backoff(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            Runnable task = buckets[level].peek();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - count.get());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        if (buckets[levelOf(o)].remove(o) || removeFromAnyBucket(o)) {
+            count.decrementAndGet();
+            if (waitingProducers.get() > 0) {
+                signal(notFull);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 元素的优先级可变时可能不在按当前优先级计算的桶中，逐个桶查找
+     */
+    private boolean removeFromAnyBucket(Object o) {
+        for (ConcurrentLinkedQueue<Runnable> bucket : buckets) {
+            if (bucket.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (ConcurrentLinkedQueue<Runnable> bucket : buckets) {
+            if (bucket.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回按优先级从高到低排列的快照
+     *
+     * @return 元素数组
+     */
+    @Override
+    public Object[] toArray() {
+        List<Runnable> snapshot = new ArrayList<>(count.get());
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            snapshot.addAll(buckets[level]);
+        }
+        return snapshot.toArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), snapshot.length);
+        }
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // 逐个出队
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        Runnable task;
+        while (n < maxElements && (task = poll()) != null) {
+            c.add(task);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 返回基于当前快照的迭代器，remove委托给{@link #remove(Object)}
+     *
+     * @return 迭代器
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<Runnable>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public Runnable next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (Runnable) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                BucketedPriorityQueue.this.remove(snapshot[lastRet]);
+                lastRet = -1;
+            }
+        };
+    }
+}
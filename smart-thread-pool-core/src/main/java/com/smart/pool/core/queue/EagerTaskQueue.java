@@ -0,0 +1,148 @@
+package com.smart.pool.core.queue;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 优先扩容线程的工作队列
+ * <p>
+ * ThreadPoolExecutor只有在入队失败时才会创建核心线程以外的线程，使用普通有界队列时，
+ * 队列填满之前线程数停留在核心线程数，突发流量全部转化为排队等待。该队列与Tomcat的TaskQueue语义相同：
+ * 没有空闲工作线程且线程数未达到最大值时让{@link #offer(Runnable)}返回false，促使线程池先把线程扩到最大值，
+ * 线程数达到最大值后才真正入队。
+ * </p>
+ * <p>
+ * 空闲线程数由阻塞在{@link #take()}和{@link #poll(long, TimeUnit)}中的工作线程数统计，不需要线程池额外计数。
+ * 线程池并发扩容到最大值时入队可能失败而进入拒绝流程，{@link #forceRejectionHandler(RejectedExecutionHandler)}
+ * 包装的拒绝处理器会先按容量强制入队，只有队列也已满时才交给原拒绝处理器。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class EagerTaskQueue extends ResizableLinkedBlockingQueue<Runnable> {
+
+    /**
+     * 所属线程池，绑定之前按普通队列入队
+     */
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * 阻塞等待任务的工作线程数
+     */
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+
+    /**
+     * 构造优先扩容队列
+     *
+     * @param capacity 队列容量，必须大于0
+     */
+    public EagerTaskQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 绑定所属线程池
+     *
+     * @param executor 使用该队列的线程池
+     */
+    public void setExecutor(ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 入队，有空闲线程或线程数已达最大值时才真正入队
+     *
+     * @param task 任务
+     * @return 返回false时线程池会尝试创建新线程
+     */
+    @Override
+    public boolean offer(Runnable task) {
+        ThreadPoolExecutor parent = executor;
+        if (parent == null) {
+            return super.offer(task);
+        }
+        // 有空闲线程等待任务，直接入队交给它
+        if (idleWorkers.get() > size()) {
+            return super.offer(task);
+        }
+        // 线程数未达到最大值，返回false让线程池创建新线程
+        if (parent.getPoolSize() < parent.getMaximumPoolSize()) {
+            return false;
+        }
+        return super.offer(task);
+    }
+
+    /**
+     * 批量入队，线程数未达到最大值时只接收空闲线程能立即取走的部分，其余留给线程池创建新线程
+     *
+     * @param tasks 任务
+     * @return 实际入队的任务数
+     */
+    @Override
+    public int offerAll(List<? extends Runnable> tasks) {
+        ThreadPoolExecutor parent = executor;
+        if (parent == null || parent.getPoolSize() >= parent.getMaximumPoolSize()) {
+            return super.offerAll(tasks);
+        }
+        int room = Math.min(tasks.size(), idleWorkers.get() - size());
+        return room <= 0 ? 0 : super.offerAll(tasks.subList(0, room));
+    }
+
+    /**
+     * 忽略扩容判断按容量入队，供拒绝流程使用
+     *
+     * @param task 任务
+     * @return 队列已满返回false
+     */
+    public boolean force(Runnable task) {
+        return super.offer(task);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        idleWorkers.incrementAndGet();
+        try {
+            return super.take();
+        } finally {
+            idleWorkers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        idleWorkers.incrementAndGet();
+        try {
+            return super.poll(timeout, unit);
+        } finally {
+            idleWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 获取阻塞等待任务的工作线程数
+     *
+     * @return 空闲线程数
+     */
+    public int getIdleWorkers() {
+        return idleWorkers.get();
+    }
+
+    /**
+     * 包装拒绝处理器：线程池未关闭时先强制入队，队列已满才交给原处理器
+     *
+     * @param handler 原拒绝处理器
+     * @return 包装后的拒绝处理器
+     */
+    public RejectedExecutionHandler forceRejectionHandler(RejectedExecutionHandler handler) {
+        return (task, parent) -> {
+            if (!parent.isShutdown() && force(task)) {
+                return;
+            }
+            handler.rejectedExecution(task, parent);
+        };
+    }
+}
@@ -0,0 +1,466 @@
+package com.smart.pool.core.queue;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于数组的无锁多生产者多消费者有界阻塞队列
+ * <p>
+ * 采用Vyukov有界MPMC环形缓冲区算法：每个槽位带一个序号，生产者和消费者各自通过CAS推进尾/头指针来认领槽位，
+ * 非阻塞的offer/poll路径上没有锁，槽位预先分配，入队不创建节点对象。
+ * </p>
+ * <p>
+ * 阻塞操作采用先自旋、再让出CPU、最后挂起的等待策略：只有在自旋和让出都没有等到元素（或空位）时才获取锁并挂起，
+ * 对端只在确有挂起的线程时才获取锁唤醒，因此队列繁忙时阻塞操作同样不竞争锁。
+ * </p>
+ * <p>
+ * 容量会向上取整为2的幂。remove(Object)把槽位置空而不移动其他元素，消费者会跳过被置空的槽位，
+ * 所以删除后到被跳过之前size()会把已删除的元素计算在内。迭代器基于调用时的快照。
+ * </p>
+ *
+ * @param <E> 元素类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class MpmcArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * 挂起前的自旋次数
+     */
+    private static final int SPIN_TRIES = 128;
+
+    /**
+     * 自旋之后、挂起之前让出CPU的次数
+     */
+    private static final int YIELD_TRIES = 8;
+
+    /**
+     * 头/尾指针在counters中的下标，间隔128字节避免伪共享
+     */
+    private static final int HEAD = 8;
+    private static final int TAIL = 24;
+
+    /**
+     * 槽位数（2的幂）
+     */
+    private final int capacity;
+
+    private final int mask;
+
+    /**
+     * 元素槽位
+     */
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * 槽位序号：等于位置pos时可供生产者写入，等于pos+1时可供消费者读取
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * 头（消费者）指针和尾（生产者）指针
+     */
+    private final AtomicLongArray counters = new AtomicLongArray(32);
+
+    /**
+     * 挂起等待的锁和条件，只在慢路径上使用
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 挂起等待元素的消费者数和等待空位的生产者数
+     */
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    /**
+     * 创建队列
+     *
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public MpmcArrayBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity too large: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 获取取整后的容量
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        if (!tryOffer(e)) {
+            return false;
+        }
+        if (waitingConsumers.get() > 0) {
+            signal(notEmpty);
+        }
+        return true;
+    }
+
+    /**
+     * 无锁入队
+     *
+     * @param e 元素
+     * @return 队列满时返回false
+     */
+    private boolean tryOffer(E e) {
+        long pos = counters.get(TAIL);
+        for (;;) {
+            int index = (int) (pos & mask);
+            long dif = sequences.get(index) - pos;
+            if (dif == 0) {
+                if (counters.compareAndSet(TAIL, pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = counters.get(TAIL);
+            } else if (dif < 0) {
+                return false;
+            } else {
+                pos = counters.get(TAIL);
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        E e = tryPoll();
+        if (e != null && waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return e;
+    }
+
+    /**
+     * 无锁出队，跳过被remove置空的槽位
+     *
+     * @return 队列空时返回null
+     */
+    private E tryPoll() {
+        long pos = counters.get(HEAD);
+        for (;;) {
+            int index = (int) (pos & mask);
+            long dif = sequences.get(index) - (pos + 1);
+            if (dif == 0) {
+                if (counters.compareAndSet(HEAD, pos, pos + 1)) {
+                    E e = buffer.getAndSet(index, null);
+                    sequences.set(index, pos + capacity);
+                    if (e != null) {
+                        return e;
+                    }
+                }
+                pos = counters.get(HEAD);
+            } else if (dif < 0) {
+                return null;
+            } else {
+                pos = counters.get(HEAD);
+            }
+        }
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offer(e, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long nanos = unit.toNanos(timeout);
+        for (int i = 0; i < SPIN_TRIES + YIELD_TRIES; i++) {
+            if (offer(e)) {
+                return true;
+            }
+            backoff(i);
+        }
+        long deadline = System.nanoTime() + nanos;
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            // 登记后再尝试一次，避免消费者在登记前出队而错过唤醒
+            while (!tryOffer(e)) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0L) {
+                    return false;
+                }
+                notFull.awaitNanos(nanos);
+            }
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+        if (waitingConsumers.get() > 0) {
+            signal(notEmpty);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long nanos = unit.toNanos(timeout);
+        for (int i = 0; i < SPIN_TRIES + YIELD_TRIES; i++) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            backoff(i);
+        }
+        long deadline = System.nanoTime() + nanos;
+        E e;
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            // 登记后再尝试一次，避免生产者在登记前入队而错过唤醒
+            while ((e = tryPoll()) == null) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0L) {
+                    return null;
+                }
+                notEmpty.awaitNanos(nanos);
+            }
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+        if (waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return e;
+    }
+
+    /**
+     * 慢路径之前的退避：先自旋，再让出CPU
+     *
+     * @param attempt 已尝试次数
+     */
+    private static void backoff(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 返回第一个可读取的元素，并发修改下只是一个近似结果
+     *
+     * @return 队首元素，队列空时返回null
+     */
+    @Override
+    public E peek() {
+        long head = counters.get(HEAD);
+        long tail = counters.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) (pos & mask);
+            E e = buffer.get(index);
+            if (e != null && sequences.get(index) == pos + 1) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        for (;;) {
+            long head = counters.get(HEAD);
+            long tail = counters.get(TAIL);
+            if (counters.get(HEAD) == head) {
+                return (int) Math.max(0L, Math.min(tail - head, capacity));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * 删除一个与o相等的元素
+     * <p>
+     * 槽位被置空而不是移除，消费者出队时跳过该槽位。
+     * </p>
+     *
+     * @param o 要删除的元素
+     * @return 删除成功返回true
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long head = counters.get(HEAD);
+        long tail = counters.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                continue;
+            }
+            E e = buffer.get(index);
+            if (e != null && (e == o || o.equals(e)) && buffer.compareAndSet(index, e, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Object e : toArray()) {
+            if (o.equals(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object[] toArray() {
+        List<Object> list = new ArrayList<>();
+        long head = counters.get(HEAD);
+        long tail = counters.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            int index = (int) (pos & mask);
+            E e = buffer.get(index);
+            if (e != null && sequences.get(index) == pos + 1) {
+                list.add(e);
+            }
+        }
+        return list.toArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            return (T[]) Arrays.copyOf(snapshot, snapshot.length, a.getClass());
+        }
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // 逐个出队
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 返回基于当前快照的迭代器，remove委托给{@link #remove(Object)}
+     *
+     * @return 迭代器
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<E>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (E) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                MpmcArrayBlockingQueue.this.remove(snapshot[lastRet]);
+                lastRet = -1;
+            }
+        };
+    }
+}
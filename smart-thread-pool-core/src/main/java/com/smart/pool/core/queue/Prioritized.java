@@ -0,0 +1,20 @@
+package com.smart.pool.core.queue;
+
+/**
+ * 携带优先级的任务
+ * <p>
+ * 优先级队列通过该接口读取任务优先级，未实现该接口的任务按默认优先级0处理。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface Prioritized {
+
+    /**
+     * 获取任务优先级
+     *
+     * @return 优先级，数值越大优先级越高
+     */
+    int getPriority();
+}
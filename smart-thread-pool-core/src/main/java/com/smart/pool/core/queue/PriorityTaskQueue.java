@@ -0,0 +1,478 @@
+package com.smart.pool.core.queue;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 带老化的有界优先级任务队列
+ * <p>
+ * 按{@link Prioritized#getPriority()}出队，优先级相同的任务按入队顺序（序列号）先进先出。
+ * 为避免低优先级任务饿死，每个任务在入队时计算排序键：入队时间 - 优先级 × 老化时间，
+ * 相当于优先级每高一级就把入队时间提前一个老化时间。因此低优先级任务等待超过优先级差 × 老化时间后，
+ * 会排到新入队的高优先级任务之前。排序键在入队时一次算出，不需要随时间重排堆。
+ * </p>
+ * <p>
+ * 与JDK PriorityBlockingQueue不同，该队列有容量上限，队列满时offer返回false，由线程池扩容或进入拒绝流程；
+ * 元素无需实现Comparable，submit包装出的FutureTask也可以直接入队。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class PriorityTaskQueue extends AbstractQueue<Runnable>
+        implements BlockingQueue<Runnable>, ResizableQueue, BatchQueue<Runnable> {
+
+    /**
+     * 默认老化时间：优先级每高一级相当于提前入队1秒
+     */
+    public static final long DEFAULT_AGING_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 队列元素，保存排序键和序列号
+     */
+    private static final class Entry implements Comparable<Entry> {
+        final Runnable task;
+        final long rank;
+        final long seq;
+
+        Entry(Runnable task, long rank, long seq) {
+            this.task = task;
+            this.rank = rank;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            // 排序键用差值比较，nanoTime回绕时仍然正确
+            long diff = rank - o.rank;
+            if (diff != 0L) {
+                return diff < 0L ? -1 : 1;
+            }
+            return Long.compare(seq, o.seq);
+        }
+    }
+
+    /**
+     * 二叉堆，只在持有lock时访问
+     */
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 当前容量
+     */
+    private volatile int capacity;
+
+    /**
+     * 老化时间（纳秒），0表示不老化
+     */
+    private final long agingNanos;
+
+    /**
+     * 入队序列号，只在持有lock时递增
+     */
+    private long sequence;
+
+    /**
+     * 使用默认老化时间构造
+     *
+     * @param capacity 队列容量，必须大于0
+     */
+    public PriorityTaskQueue(int capacity) {
+        this(capacity, DEFAULT_AGING_NANOS);
+    }
+
+    /**
+     * 构造优先级队列
+     *
+     * @param capacity   队列容量，必须大于0
+     * @param agingNanos 老化时间（纳秒），0表示不老化，严格按优先级出队
+     */
+    public PriorityTaskQueue(int capacity, long agingNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (agingNanos < 0L) {
+            throw new IllegalArgumentException("agingNanos must not be negative: " + agingNanos);
+        }
+        this.capacity = capacity;
+        this.agingNanos = agingNanos;
+    }
+
+    /**
+     * 获取老化时间
+     *
+     * @return 老化时间（纳秒）
+     */
+    public long getAgingNanos() {
+        return agingNanos;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int old = this.capacity;
+            this.capacity = capacity;
+            if (capacity > old && heap.size() < capacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 计算排序键：入队时间减去优先级对应的老化时间，溢出时取饱和值
+     */
+    private long rankOf(Runnable task) {
+        int priority = task instanceof Prioritized ? ((Prioritized) task).getPriority() : 0;
+        long aging = agingNanos;
+        if (aging == 0L) {
+            // 不老化：只按优先级排序，序列号保证同优先级先进先出
+            return -(long) priority;
+        }
+        long boost = priority * aging;
+        if (Math.multiplyHigh(priority, aging) != (boost >> 63)) {
+            boost = priority > 0 ? Long.MAX_VALUE / 4 : Long.MIN_VALUE / 4;
+        }
+        return System.nanoTime() - boost;
+    }
+
+    /**
+     * 在持有lock时入堆
+     */
+    private void enqueue(Runnable task) {
+        heap.add(new Entry(task, rankOf(task), sequence++));
+        notEmpty.signal();
+    }
+
+    /**
+     * 在持有lock时出堆
+     */
+    private Runnable dequeue() {
+        Entry e = heap.poll();
+        notFull.signal();
+        return e.task;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (heap.size() >= capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int offerAll(List<? extends Runnable> tasks) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int accepted = Math.min(tasks.size(), capacity - heap.size());
+            for (int i = 0; i < accepted; i++) {
+                enqueue(Objects.requireNonNull(tasks.get(i)));
+            }
+            return Math.max(0, accepted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() >= capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() >= capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (heap.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (heap.isEmpty()) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return heap.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Entry e = heap.peek();
+            return e == null ? null : e.task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        return removeMatching(o, false);
+    }
+
+    /**
+     * 删除第一个匹配的元素
+     *
+     * @param o        要删除的元素
+     * @param identity true按对象身份匹配，false按equals匹配
+     * @return 删除成功返回true
+     */
+    private boolean removeMatching(Object o, boolean identity) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (Iterator<Entry> it = heap.iterator(); it.hasNext(); ) {
+                Runnable task = it.next().task;
+                if (identity ? task == o : o.equals(task)) {
+                    it.remove();
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (Entry e : heap) {
+                if (o.equals(e.task)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回堆中元素的快照，顺序不保证与出队顺序一致
+     *
+     * @return 元素数组
+     */
+    @Override
+    public Object[] toArray() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] a = new Object[heap.size()];
+            int k = 0;
+            for (Entry e : heap) {
+                a[k++] = e.task;
+            }
+            return a;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), snapshot.length);
+        }
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            heap.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = Math.min(maxElements, heap.size());
+            for (int i = 0; i < n; i++) {
+                c.add(heap.poll().task);
+            }
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回基于当前快照的迭代器，remove按对象身份删除队列中的元素
+     *
+     * @return 迭代器
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<Runnable>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public Runnable next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (Runnable) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                removeMatching(snapshot[lastRet], true);
+                lastRet = -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.smart.pool.core.queue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 工作队列类型
+ * <p>
+ * 供{@link com.smart.pool.core.SmartPoolBuilder#queueType(QueueType)}和@SmartPool注解选择工作队列实现。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public enum QueueType {
+
+    /**
+     * 容量可在运行时调整的链表队列（默认）
+     */
+    RESIZABLE_LINKED {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new ResizableLinkedBlockingQueue<>(capacity);
+        }
+    },
+
+    /**
+     * 优先扩容线程的可调整容量链表队列，线程数达到最大值之前不排队，适合对延迟敏感的线程池
+     */
+    EAGER {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new EagerTaskQueue(capacity);
+        }
+    },
+
+    /**
+     * 有界优先级队列，按任务优先级出队，同优先级先进先出，等待时间越长越靠前（默认老化时间1秒）
+     */
+    PRIORITY {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new PriorityTaskQueue(capacity);
+        }
+    },
+
+    /**
+     * 分级桶优先级队列，优先级0~15各一个无锁FIFO队列，入队出队均为常数时间，严格按优先级出队、不老化
+     */
+    BUCKETED_PRIORITY {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new BucketedPriorityQueue(capacity);
+        }
+    },
+
+    /**
+     * JDK LinkedBlockingQueue，每个任务分配一个链表节点
+     */
+    LINKED {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new LinkedBlockingQueue<>(capacity);
+        }
+    },
+
+    /**
+     * JDK ArrayBlockingQueue，入队出队共用一把锁
+     */
+    ARRAY {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new ArrayBlockingQueue<>(capacity);
+        }
+    },
+
+    /**
+     * 无锁数组环形缓冲区，适合大量生产者并发提交，容量向上取整为2的幂
+     */
+    MPMC {
+        @Override
+        public BlockingQueue<Runnable> create(int capacity) {
+            return new MpmcArrayBlockingQueue<>(capacity);
+        }
+    };
+
+    /**
+     * 创建该类型的工作队列
+     *
+     * @param capacity 队列容量
+     * @return 工作队列
+     */
+    public abstract BlockingQueue<Runnable> create(int capacity);
+}
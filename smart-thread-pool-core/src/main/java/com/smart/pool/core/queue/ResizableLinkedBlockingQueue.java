@@ -0,0 +1,632 @@
+package com.smart.pool.core.queue;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 容量可调整的有界链表阻塞队列
+ * <p>
+ * 与LinkedBlockingQueue相同的双锁结构：入队只竞争putLock，出队只竞争takeLock，元素数用原子计数器在两端之间同步，
+ * 因此生产者和消费者互不阻塞。区别在于容量是volatile字段，可以通过{@link #setCapacity(int)}在运行时调整，
+ * 调大时立即唤醒等待空位的生产者。
+ * </p>
+ * <p>
+ * 迭代器基于调用时的快照，不会抛出ConcurrentModificationException，remove按对象身份删除队列中的元素。
+ * </p>
+ * <p>
+ * {@link #offerAll(List)}在一次putLock内追加一批节点，队列由空变为非空时只唤醒一个消费者，
+ * 后续消费者由前一个出队的线程在仍有元素时逐个唤醒，因此被唤醒的消费者数不超过批量大小。
+ * </p>
+ *
+ * @param <E> 元素类型
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public class ResizableLinkedBlockingQueue<E> extends AbstractQueue<E>
+        implements BlockingQueue<E>, ResizableQueue, BatchQueue<E> {
+
+    /**
+     * 链表节点
+     */
+    static class Node<E> {
+        E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * 当前容量
+     */
+    private volatile int capacity;
+
+    /**
+     * 当前元素数
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * 链表头，head.item始终为null
+     */
+    private Node<E> head;
+
+    /**
+     * 链表尾
+     */
+    private Node<E> last;
+
+    /**
+     * 出队锁
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
+
+    /**
+     * 等待元素的条件
+     */
+    private final Condition notEmpty = takeLock.newCondition();
+
+    /**
+     * 入队锁
+     */
+    private final ReentrantLock putLock = new ReentrantLock();
+
+    /**
+     * 等待空位的条件
+     */
+    private final Condition notFull = putLock.newCondition();
+
+    /**
+     * 创建容量为Integer.MAX_VALUE的队列
+     */
+    public ResizableLinkedBlockingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 创建指定容量的队列
+     *
+     * @param capacity 容量，必须大于0
+     */
+    public ResizableLinkedBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        last = head = new Node<>(null);
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            int old = this.capacity;
+            this.capacity = capacity;
+            if (capacity > old && count.get() < capacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待元素的消费者，只在队列由空变为非空时调用
+     */
+    private void signalNotEmpty() {
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * 唤醒等待空位的生产者，只在队列由满变为未满时调用
+     */
+    private void signalNotFull() {
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * 在持有putLock时追加到链表尾
+     */
+    private void enqueue(Node<E> node) {
+        last = last.next = node;
+    }
+
+    /**
+     * 在持有takeLock时从链表头取出元素
+     */
+    private E dequeue() {
+        Node<E> h = head;
+        Node<E> first = h.next;
+        // 帮助GC
+        h.next = h;
+        head = first;
+        E x = first.item;
+        first.item = null;
+        return x;
+    }
+
+    /**
+     * 同时获取两把锁，用于需要遍历或修改整个链表的操作
+     */
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        final int c;
+        final Node<E> node = new Node<>(e);
+        final ReentrantLock putLock = this.putLock;
+        final AtomicInteger count = this.count;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() >= capacity) {
+                notFull.await();
+            }
+            enqueue(node);
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final int c;
+        final ReentrantLock putLock = this.putLock;
+        final AtomicInteger count = this.count;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() >= capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(new Node<>(e));
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        final AtomicInteger count = this.count;
+        if (count.get() >= capacity) {
+            return false;
+        }
+        final int c;
+        final Node<E> node = new Node<>(e);
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            if (count.get() >= capacity) {
+                return false;
+            }
+            enqueue(node);
+            c = count.getAndIncrement();
+            if (c + 1 < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public int offerAll(List<? extends E> items) {
+        int n = items.size();
+        if (n == 0) {
+            return 0;
+        }
+        // 在锁外创建节点，缩短持锁时间
+        final AtomicInteger count = this.count;
+        int room = capacity - count.get();
+        if (room <= 0) {
+            return 0;
+        }
+        int prepared = Math.min(n, room);
+        Node<E> first = null;
+        Node<E> tail = null;
+        for (int i = 0; i < prepared; i++) {
+            Node<E> node = new Node<>(Objects.requireNonNull(items.get(i)));
+            if (first == null) {
+                first = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+        final int c;
+        int accepted;
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            accepted = Math.min(prepared, capacity - count.get());
+            if (accepted <= 0) {
+                return 0;
+            }
+            if (accepted < prepared) {
+                // 加锁前空位被其他生产者占用，截断多准备的节点
+                tail = first;
+                for (int i = 1; i < accepted; i++) {
+                    tail = tail.next;
+                }
+                tail.next = null;
+            }
+            last.next = first;
+            last = tail;
+            c = count.getAndAdd(accepted);
+            if (c + accepted < capacity) {
+                notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return accepted;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        final E x;
+        final int c;
+        final AtomicInteger count = this.count;
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return x;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        final E x;
+        final int c;
+        long nanos = unit.toNanos(timeout);
+        final AtomicInteger count = this.count;
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return x;
+    }
+
+    @Override
+    public E poll() {
+        final AtomicInteger count = this.count;
+        if (count.get() == 0) {
+            return null;
+        }
+        final E x;
+        final int c;
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            x = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return x;
+    }
+
+    @Override
+    public E peek() {
+        if (count.get() == 0) {
+            return null;
+        }
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lock();
+        try {
+            Node<E> first = head.next;
+            return first == null ? null : first.item;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - count.get());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        fullyLock();
+        try {
+            for (Node<E> pred = head, p = pred.next; p != null; pred = p, p = p.next) {
+                if (o.equals(p.item)) {
+                    unlink(p, pred);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * 按对象身份删除元素，供快照迭代器使用
+     */
+    private void removeIdentical(Object o) {
+        fullyLock();
+        try {
+            for (Node<E> pred = head, p = pred.next; p != null; pred = p, p = p.next) {
+                if (p.item == o) {
+                    unlink(p, pred);
+                    return;
+                }
+            }
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * 在持有两把锁时删除节点p
+     */
+    private void unlink(Node<E> p, Node<E> pred) {
+        p.item = null;
+        pred.next = p.next;
+        if (last == p) {
+            last = pred;
+        }
+        if (count.getAndDecrement() >= capacity) {
+            notFull.signal();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        fullyLock();
+        try {
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                if (o.equals(p.item)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        fullyLock();
+        try {
+            Object[] a = new Object[count.get()];
+            int k = 0;
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                a[k++] = p.item;
+            }
+            return a;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        fullyLock();
+        try {
+            int size = count.get();
+            if (a.length < size) {
+                a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+            }
+            int k = 0;
+            for (Node<E> p = head.next; p != null; p = p.next) {
+                a[k++] = (T) p.item;
+            }
+            if (a.length > k) {
+                a[k] = null;
+            }
+            return a;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        fullyLock();
+        try {
+            for (Node<E> p, h = head; (p = h.next) != null; h = p) {
+                h.next = h;
+                p.item = null;
+            }
+            head = last;
+            if (count.getAndSet(0) >= capacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        boolean signalNotFull = false;
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lock();
+        try {
+            int n = Math.min(maxElements, count.get());
+            int i = 0;
+            try {
+                while (i < n) {
+                    c.add(dequeue());
+                    i++;
+                }
+                return n;
+            } finally {
+                // 即使c.add抛出异常也要保持计数一致
+                if (i > 0) {
+                    signalNotFull = count.getAndAdd(-i) >= capacity;
+                }
+            }
+        } finally {
+            takeLock.unlock();
+            if (signalNotFull) {
+                signalNotFull();
+            }
+        }
+    }
+
+    /**
+     * 返回基于当前快照的迭代器
+     *
+     * @return 迭代器
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<E>() {
+            private int cursor;
+            private int lastRet = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                lastRet = cursor;
+                return (E) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastRet < 0) {
+                    throw new IllegalStateException();
+                }
+                removeIdentical(snapshot[lastRet]);
+                lastRet = -1;
+            }
+        };
+    }
+}
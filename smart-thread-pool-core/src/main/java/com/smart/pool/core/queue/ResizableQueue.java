@@ -0,0 +1,32 @@
+package com.smart.pool.core.queue;
+
+/**
+ * 支持运行时调整容量的队列
+ * <p>
+ * 线程池的工作队列实现该接口后，可以通过{@link com.smart.pool.core.SmartExecutor#setQueueCapacity(int)}
+ * 在不重启的情况下调整队列深度：调小以更早地触发拒绝、卸载负载，调大以吸收已知的批量任务。
+ * </p>
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+public interface ResizableQueue {
+
+    /**
+     * 获取当前容量
+     *
+     * @return 队列容量
+     */
+    int getCapacity();
+
+    /**
+     * 调整容量
+     * <p>
+     * 调小到低于当前元素数时不会丢弃已入队的元素，只是在元素数降到新容量以下之前拒绝新的入队。
+     * </p>
+     *
+     * @param capacity 新容量，必须大于0
+     * @throws IllegalArgumentException 容量小于等于0
+     */
+    void setCapacity(int capacity);
+}
@@ -1,16 +1,26 @@
 package com.smart.pool.core.strategy;
 
-import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
 
 /**
  * SPI 插件接口：线程池调节策略
+ * <p>
+ * 面向{@link SmartExecutor}，同一个策略可以调节ThreadPoolExecutor、虚拟线程和ForkJoinPool线程池。
+ * </p>
  */
 public interface AdaptiveStrategy {
 
     /**
      * 调整线程池
      */
-    void adjust(DynamicThreadPoolExecutor executor);
+    void adjust(SmartExecutor executor);
+
+    /**
+     * 返回策略名称，用于按名称把策略绑定到线程池，默认为类名
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 
     /**
      * 返回策略优先级，值越大越优先执行
@@ -22,7 +32,7 @@ public interface AdaptiveStrategy {
     /**
      * 是否启用当前策略，可动态控制
      */
-    default boolean isEnabled(DynamicThreadPoolExecutor executor) {
+    default boolean isEnabled(SmartExecutor executor) {
         return true;
     }
 }
@@ -1,90 +1,352 @@
 package com.smart.pool.core.strategy;
 
-import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 自适应策略管理器
  *
  * 负责管理和协调所有自适应线程池策略的执行。
- * 使用Java SPI（Service Provider Interface）机制动态加载所有自适应策略实现，
- * 按照优先级顺序执行启用的策略，实现线程池的智能调优。
+ * 策略通过Java SPI（Service Provider Interface）机制加载或通过{@link #register(AdaptiveStrategy)}注册，
+ * 只在首次使用和显式{@link #reload()}时解析并按优先级排序，之后每次调节直接使用缓存的策略链。
  *
  * 核心功能：
- * - 动态加载所有自适应策略实现
+ * - 一次性加载所有自适应策略实现，显式重新加载
  * - 按优先级排序策略执行顺序
+ * - 按线程池名称绑定策略（例如来自@SmartPool的scalingPolicy），未绑定的线程池使用默认策略链
  * - 条件执行：只执行当前启用的策略
- * - 支持策略链式执行，允许多个策略协同工作
+ * - 每次调节不分配对象，单个策略抛出异常不影响其他策略
+ *
+ * 策略名称：
+ * - 策略通过{@link AdaptiveStrategy#getName()}按名称查找，名称不区分大小写
+ * - 内置策略可以直接绑定，不会加入默认策略链：{@link DefaultAdaptiveStrategy}为"SMOOTH"，
+ *   {@link PidAdaptiveStrategy}为"PID"（目标排队延迟20毫秒），{@link LittleLawAdaptiveStrategy}为"LITTLE"
+ * - "STABLE"表示不调节，绑定后该线程池不执行任何策略
  *
  * 设计模式：
  * - 策略模式：不同的自适应算法实现统一的策略接口
  * - 责任链模式：按优先级顺序执行策略
- * - SPI机制：支持运行时动态发现和加载策略实现
+ * - SPI机制：支持运行时发现和加载策略实现
  *
  * @author Smart Thread Pool
  * @since 1.0.0
  * @see AdaptiveStrategy
- * @see DynamicThreadPoolExecutor
+ * @see SmartExecutor
  */
 public class AdaptiveStrategyManager {
 
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveStrategyManager.class);
+
+    /**
+     * 不调节的策略名称
+     */
+    public static final String STABLE = "STABLE";
+
+    private static final AdaptiveStrategy[] EMPTY = new AdaptiveStrategy[0];
+
+    /**
+     * 按优先级降序排列的比较器
+     */
+    private static final Comparator<AdaptiveStrategy> BY_PRIORITY =
+            Comparator.comparingInt(AdaptiveStrategy::getPriority).reversed();
+
+    /**
+     * 内置策略，可以按名称绑定，但不加入默认策略链
+     */
+    private static final List<AdaptiveStrategy> BUILTIN = Arrays.asList(
+            new DefaultAdaptiveStrategy(),
+            new PidAdaptiveStrategy(),
+            new LittleLawAdaptiveStrategy());
+
+    /**
+     * 通过{@link #register(AdaptiveStrategy)}注册的策略
+     */
+    private static final List<AdaptiveStrategy> REGISTERED = new CopyOnWriteArrayList<>();
+
     /**
-     * 自适应策略服务加载器
-     * 使用Java SPI机制动态加载所有AdaptiveStrategy的实现类
-     * 需要在META-INF/services/com.smart.pool.core.strategy.AdaptiveStrategy文件中声明实现类
-     * 支持运行时动态发现和加载新的策略实现
+     * 线程池名称到绑定的策略名称或策略实例
      */
-    private static final ServiceLoader<AdaptiveStrategy> loader =
-            ServiceLoader.load(AdaptiveStrategy.class);
+    private static final Map<String, Object[]> BINDINGS = new ConcurrentHashMap<>();
+
+    /**
+     * 线程池名称到解析后的策略链，绑定或策略集合变化时失效
+     */
+    private static final Map<String, AdaptiveStrategy[]> CHAINS = new ConcurrentHashMap<>();
+
+    /**
+     * 默认策略链：SPI加载和注册的策略，按优先级降序
+     */
+    private static volatile AdaptiveStrategy[] defaults;
+
+    /**
+     * 策略名称（小写）到策略实例
+     */
+    private static volatile Map<String, AdaptiveStrategy> byName;
 
     /**
      * 执行线程池自适应调整
      *
      * 按照以下流程执行自适应策略：
-     * 1. 收集所有通过SPI加载的策略实现
-     * 2. 根据优先级进行降序排序（优先级值越大越优先）
-     * 3. 遍历排序后的策略列表
-     * 4. 检查每个策略是否在当前上下文中启用
-     * 5. 执行启用的策略对线程池进行调整
+     * 1. 按线程池名称取出缓存的策略链，首次调节时解析绑定并缓存
+     * 2. 按优先级顺序遍历策略链
+     * 3. 检查每个策略是否在当前上下文中启用
+     * 4. 执行启用的策略对线程池进行调整
      *
      * 特点：
      * - 策略执行顺序可预测：高优先级策略先执行
      * - 条件执行：只有满足条件的策略才会被执行
      * - 异常隔离：单个策略失败不会影响其他策略执行
-     * - 动态扩展：支持运行时添加新的策略实现
+     * - 无分配：稳定运行时每次调节只有一次哈希查找和数组遍历
      *
      * @param executor 需要调整的动态线程池执行器
      *               不能为空，需要包含当前的运行时状态信息
      *
      * 使用示例：
-     * DynamicThreadPoolExecutor executor = ...;
-     * AdaptiveStrategyManager.adjust(executor); // 触发所有启用的自适应策略
+     * SmartExecutor executor = ...;
+     * AdaptiveStrategyManager.adjust(executor); // 触发绑定到该线程池的自适应策略
      *
      * 注意事项：
      * - 策略的优先级值越大，执行优先级越高
      * - 策略的启用状态可能依赖于线程池的当前状态
      * - 建议策略实现保持轻量级，避免长时间阻塞
      */
-    public static void adjust(DynamicThreadPoolExecutor executor) {
-        // 收集所有通过SPI加载的策略实现到列表中
-        List<AdaptiveStrategy> strategies = new ArrayList<>();
-        loader.forEach(strategies::add);
-
-        // 按优先级排序，值越大越优先执行
-        // 使用降序排序确保高优先级策略先执行
-        strategies.sort(Comparator.comparingInt(AdaptiveStrategy::getPriority).reversed());
-
-        // 遍历排序后的策略列表，执行启用的策略
-        for (AdaptiveStrategy strategy : strategies) {
-            // 检查策略是否在当前上下文中启用
-            if (strategy.isEnabled(executor)) {
-                // 执行策略对线程池进行调整
-                strategy.adjust(executor);
+    public static void adjust(SmartExecutor executor) {
+        String poolName = executor.getPoolName();
+        AdaptiveStrategy[] chain = CHAINS.get(poolName);
+        if (chain == null) {
+            chain = chainOf(poolName);
+        }
+        for (int i = 0; i < chain.length; i++) {
+            AdaptiveStrategy strategy = chain[i];
+            try {
+                if (strategy.isEnabled(executor)) {
+                    strategy.adjust(executor);
+                }
+            } catch (RuntimeException e) {
+                log.warn("[STRATEGY][ThreadPool:{}] 策略{}执行失败", poolName, strategy.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 把线程池绑定到指定名称的策略
+     * <p>
+     * 绑定后该线程池只执行这些策略，按优先级降序执行；绑定{@link #STABLE}表示不调节。
+     * 没有任何名称能找到对应策略时记录警告并回退到默认策略链。
+     * </p>
+     *
+     * @param poolName      线程池名称
+     * @param strategyNames 策略名称，不区分大小写
+     */
+    public static void bind(String poolName, String... strategyNames) {
+        BINDINGS.put(poolName, strategyNames.clone());
+        CHAINS.remove(poolName);
+    }
+
+    /**
+     * 把线程池绑定到指定的策略实例
+     * <p>
+     * 用于需要按线程池单独配置参数的策略，例如不同目标延迟的{@link PidAdaptiveStrategy}，
+     * 策略实例不需要注册，也不会加入默认策略链。
+     * </p>
+     *
+     * @param poolName   线程池名称
+     * @param strategies 策略实例
+     */
+    public static void bind(String poolName, AdaptiveStrategy... strategies) {
+        BINDINGS.put(poolName, strategies.clone());
+        CHAINS.remove(poolName);
+    }
+
+    /**
+     * 解除线程池的策略绑定，之后使用默认策略链
+     *
+     * @param poolName 线程池名称
+     */
+    public static void unbind(String poolName) {
+        BINDINGS.remove(poolName);
+        CHAINS.remove(poolName);
+    }
+
+    /**
+     * 注册策略实例
+     * <p>
+     * 注册的策略加入默认策略链，也可以按名称绑定。用于无法通过SPI声明的策略，例如Spring容器中的Bean。
+     * </p>
+     *
+     * @param strategy 策略实例
+     */
+    public static synchronized void register(AdaptiveStrategy strategy) {
+        REGISTERED.add(strategy);
+        rebuild(loadServices());
+    }
+
+    /**
+     * 注销策略实例
+     *
+     * @param strategy 策略实例
+     */
+    public static synchronized void unregister(AdaptiveStrategy strategy) {
+        if (REGISTERED.remove(strategy)) {
+            rebuild(loadServices());
+        }
+    }
+
+    /**
+     * 重新通过SPI加载策略并清空所有线程池的策略链缓存
+     * <p>
+     * 策略只在首次使用时加载一次，类路径上的策略实现变化后需要调用此方法才会生效。
+     * </p>
+     */
+    public static synchronized void reload() {
+        rebuild(loadServices());
+    }
+
+    /**
+     * 按名称查找策略
+     *
+     * @param name 策略名称，不区分大小写
+     * @return 策略实例，不存在时返回null
+     */
+    public static AdaptiveStrategy find(String name) {
+        return registry().get(name.toLowerCase());
+    }
+
+    /**
+     * 获取默认策略链
+     *
+     * @return 按优先级降序排列的策略副本
+     */
+    public static List<AdaptiveStrategy> getDefaultStrategies() {
+        registry();
+        return Arrays.asList(defaults.clone());
+    }
+
+    /**
+     * 获取线程池当前使用的策略链
+     *
+     * @param poolName 线程池名称
+     * @return 按优先级降序排列的策略副本
+     */
+    public static List<AdaptiveStrategy> getStrategies(String poolName) {
+        return Arrays.asList(chainOf(poolName).clone());
+    }
+
+    /**
+     * 取出或解析线程池的策略链
+     * <p>
+     * 先在computeIfAbsent之外完成策略加载：加载会清空策略链缓存，不能在缓存的映射函数中执行。
+     * </p>
+     */
+    private static AdaptiveStrategy[] chainOf(String poolName) {
+        registry();
+        return CHAINS.computeIfAbsent(poolName, AdaptiveStrategyManager::resolve);
+    }
+
+    /**
+     * 解析线程池的策略链
+     */
+    private static AdaptiveStrategy[] resolve(String poolName) {
+        Map<String, AdaptiveStrategy> named = byName;
+        Object[] bound = BINDINGS.get(poolName);
+        if (bound == null) {
+            return defaults;
+        }
+        List<AdaptiveStrategy> chain = new ArrayList<>(bound.length);
+        boolean matched = false;
+        for (Object item : bound) {
+            if (item instanceof AdaptiveStrategy) {
+                chain.add((AdaptiveStrategy) item);
+                matched = true;
+                continue;
+            }
+            String name = (String) item;
+            if (STABLE.equalsIgnoreCase(name)) {
+                matched = true;
+                continue;
+            }
+            AdaptiveStrategy strategy = named.get(name.toLowerCase());
+            if (strategy == null) {
+                log.warn("[STRATEGY][ThreadPool:{}] 未找到策略{}", poolName, name);
+            } else if (!chain.contains(strategy)) {
+                chain.add(strategy);
+                matched = true;
+            }
+        }
+        if (!matched) {
+            return defaults;
+        }
+        chain.sort(BY_PRIORITY);
+        return chain.toArray(EMPTY);
+    }
+
+    /**
+     * 获取名称索引，首次调用时加载策略
+     */
+    private static Map<String, AdaptiveStrategy> registry() {
+        Map<String, AdaptiveStrategy> named = byName;
+        if (named == null) {
+            synchronized (AdaptiveStrategyManager.class) {
+                named = byName;
+                if (named == null) {
+                    rebuild(loadServices());
+                    named = byName;
+                }
+            }
+        }
+        return named;
+    }
+
+    /**
+     * 通过SPI加载策略，单个实现加载失败时跳过
+     */
+    private static List<AdaptiveStrategy> loadServices() {
+        List<AdaptiveStrategy> loaded = new ArrayList<>();
+        Iterator<AdaptiveStrategy> it = ServiceLoader.load(AdaptiveStrategy.class).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) {
+                    break;
+                }
+                loaded.add(it.next());
+            } catch (ServiceConfigurationError e) {
+                log.warn("[STRATEGY] 加载策略失败", e);
             }
         }
+        return loaded;
+    }
+
+    /**
+     * 重建默认策略链和名称索引，并清空策略链缓存，调用方持有类锁
+     */
+    private static void rebuild(List<AdaptiveStrategy> loaded) {
+        List<AdaptiveStrategy> chain = new ArrayList<>(loaded);
+        chain.addAll(REGISTERED);
+        chain.sort(BY_PRIORITY);
+
+        Map<String, AdaptiveStrategy> named = new ConcurrentHashMap<>();
+        for (AdaptiveStrategy strategy : BUILTIN) {
+            named.put(strategy.getName().toLowerCase(), strategy);
+        }
+        for (AdaptiveStrategy strategy : chain) {
+            named.put(strategy.getName().toLowerCase(), strategy);
+        }
+
+        defaults = chain.toArray(EMPTY);
+        byName = named;
+        CHAINS.clear();
+        log.info("[STRATEGY] 已加载策略: {}", named.keySet());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,526 @@
+package com.smart.pool.core.strategy;
+
+import com.smart.pool.core.SmartExecutor;
+import com.smart.pool.core.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按线程池调节周期执行自适应策略的调度器
+ *
+ * 每个线程池按自己的周期调用{@link AdaptiveStrategyManager#adjust(SmartExecutor)}，
+ * 周期可以小于1秒（最小为一个时间格{@link #TICK_MILLIS}毫秒），未设置周期的线程池使用默认周期5秒。
+ *
+ * 实现为单线程的哈希时间轮：
+ * - 时间轮有{@link #WHEEL_SIZE}个槽，每个时间格推进一个槽，调节任务按到期时间放入对应的槽，
+ *   超过一圈的周期记录剩余圈数
+ * - 每个时间格只检查一个槽，调度开销与线程池数量和周期长短无关，数百个线程池共用一个线程
+ * - 调节任务固定频率执行，执行耗时超过周期时跳过错过的周期，不会连续补执行
+ * - 没有线程池需要调节时调度线程阻塞等待，不空转
+ *
+ * 线程池注册与注销：
+ * - {@link ThreadPoolManager#register(String, SmartExecutor)}时自动加入调度，移除时自动取消
+ * - 按名称调度，每次到期时从ThreadPoolManager取出当前实例，同名线程池被替换后调节新实例
+ * - 注册、注销和修改周期可以在任意线程调用，由调度线程在下一个时间格生效
+ *
+ * 调节在调度线程中串行执行，策略实现应保持轻量；所有线程池的策略调用仍然只来自同一个线程。
+ * 调度器由{@link #start()}启动（监控模块的MetricsCollector启动时调用），启动前只记录调度关系。
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ * @see AdaptiveStrategyManager
+ */
+public final class AdjustmentScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AdjustmentScheduler.class);
+
+    /**
+     * 时间格长度（毫秒），也是最小调节周期
+     */
+    public static final long TICK_MILLIS = 10L;
+
+    /**
+     * 时间轮槽数，一圈为5.12秒
+     */
+    public static final int WHEEL_SIZE = 512;
+
+    /**
+     * 默认调节周期（毫秒）
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 5000L;
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    /**
+     * 线程池名称到调度任务
+     */
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * 线程池名称到单独设置的调节周期（纳秒）
+     */
+    private static final Map<String, Long> INTERVALS = new ConcurrentHashMap<>();
+
+    /**
+     * 等待调度线程放入时间轮的任务，包括新加入和修改了周期的任务
+     */
+    private static final Queue<Entry> PENDING = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 等待调度线程从时间轮移除的任务
+     */
+    private static final Queue<Entry> CANCELLED = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 时间轮各槽的链表头，只由调度线程访问
+     */
+    private static final Entry[] WHEEL = new Entry[WHEEL_SIZE];
+
+    private static final Object LOCK = new Object();
+
+    private static volatile long defaultIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INTERVAL_MILLIS);
+
+    /**
+     * 调度线程，未启动或已停止时为null
+     */
+    private static volatile Thread worker;
+
+    /**
+     * 时间轮中的任务数，只由调度线程访问
+     */
+    private static int active;
+
+    /**
+     * 当前时间轮的起始时间和已推进的时间格数，只由调度线程访问
+     */
+    private static long startNanos;
+
+    private static long tick;
+
+    private AdjustmentScheduler() {
+    }
+
+    /**
+     * 启动调度线程，重复调用无效
+     */
+    public static void start() {
+        synchronized (LOCK) {
+            if (worker != null) {
+                return;
+            }
+            PENDING.addAll(ENTRIES.values());
+            Thread t = new Thread(AdjustmentScheduler::run, "smart-pool-adjuster");
+            t.setDaemon(true);
+            worker = t;
+            t.start();
+        }
+        log.info("[ADJUST] 调节调度器已启动, 线程池数: {}", ENTRIES.size());
+    }
+
+    /**
+     * 停止调度线程，已登记的线程池保留，再次{@link #start()}后继续调节
+     */
+    public static void stop() {
+        Thread t;
+        synchronized (LOCK) {
+            t = worker;
+            worker = null;
+            LOCK.notifyAll();
+        }
+        if (t != null) {
+            t.interrupt();
+            if (t != Thread.currentThread()) {
+                // 等待旧线程清空时间轮，避免与重新启动的调度线程同时访问
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * 是否已启动
+     *
+     * @return 调度线程正在运行时返回true
+     */
+    public static boolean isRunning() {
+        return worker != null;
+    }
+
+    /**
+     * 把线程池加入调度
+     * <p>
+     * 按单独设置的周期调节，没有设置时使用默认周期。已在调度中时不做任何操作。
+     * 通常不需要直接调用，注册到{@link ThreadPoolManager}时会自动加入。
+     * </p>
+     *
+     * @param poolName 线程池名称
+     */
+    public static void schedule(String poolName) {
+        synchronized (LOCK) {
+            if (ENTRIES.containsKey(poolName)) {
+                return;
+            }
+            Entry entry = new Entry(poolName, intervalOf(poolName));
+            ENTRIES.put(poolName, entry);
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * 把线程池移出调度，单独设置的周期保留
+     *
+     * @param poolName 线程池名称
+     */
+    public static void cancel(String poolName) {
+        synchronized (LOCK) {
+            Entry entry = ENTRIES.remove(poolName);
+            if (entry != null) {
+                entry.cancelled = true;
+                CANCELLED.offer(entry);
+            }
+        }
+    }
+
+    /**
+     * 设置线程池的调节周期
+     * <p>
+     * 可以在线程池创建前设置；线程池已在调度中时从下一个时间格开始按新周期重新计时。
+     * </p>
+     *
+     * @param poolName 线程池名称
+     * @param interval 调节周期，不小于{@link #TICK_MILLIS}毫秒
+     * @param unit     时间单位
+     */
+    public static void setInterval(String poolName, long interval, TimeUnit unit) {
+        long nanos = checkInterval(interval, unit);
+        synchronized (LOCK) {
+            INTERVALS.put(poolName, nanos);
+            reschedule(poolName);
+        }
+    }
+
+    /**
+     * 清除线程池单独设置的调节周期，之后使用默认周期
+     *
+     * @param poolName 线程池名称
+     */
+    public static void resetInterval(String poolName) {
+        synchronized (LOCK) {
+            if (INTERVALS.remove(poolName) != null) {
+                reschedule(poolName);
+            }
+        }
+    }
+
+    /**
+     * 设置默认调节周期，对未单独设置周期的线程池生效
+     *
+     * @param interval 调节周期，不小于{@link #TICK_MILLIS}毫秒
+     * @param unit     时间单位
+     */
+    public static void setDefaultInterval(long interval, TimeUnit unit) {
+        long nanos = checkInterval(interval, unit);
+        synchronized (LOCK) {
+            defaultIntervalNanos = nanos;
+            for (String poolName : ENTRIES.keySet()) {
+                if (!INTERVALS.containsKey(poolName)) {
+                    reschedule(poolName);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取线程池的调节周期
+     *
+     * @param poolName 线程池名称
+     * @return 调节周期（毫秒），未单独设置时为默认周期
+     */
+    public static long getIntervalMillis(String poolName) {
+        return TimeUnit.NANOSECONDS.toMillis(intervalOf(poolName));
+    }
+
+    /**
+     * 线程池是否在调度中
+     *
+     * @param poolName 线程池名称
+     * @return 已加入且未取消时返回true
+     */
+    public static boolean isScheduled(String poolName) {
+        return ENTRIES.containsKey(poolName);
+    }
+
+    /**
+     * 获取调度中的线程池数量
+     *
+     * @return 线程池数量
+     */
+    public static int getScheduledCount() {
+        return ENTRIES.size();
+    }
+
+    private static long intervalOf(String poolName) {
+        Long nanos = INTERVALS.get(poolName);
+        return nanos != null ? nanos : defaultIntervalNanos;
+    }
+
+    private static long checkInterval(long interval, TimeUnit unit) {
+        long nanos = unit.toNanos(interval);
+        if (nanos < TICK_NANOS) {
+            throw new IllegalArgumentException("interval must be >= " + TICK_MILLIS + "ms");
+        }
+        return nanos;
+    }
+
+    /**
+     * 用新周期替换调度中的任务，调用方持有LOCK
+     */
+    private static void reschedule(String poolName) {
+        Entry old = ENTRIES.get(poolName);
+        if (old == null) {
+            return;
+        }
+        old.cancelled = true;
+        CANCELLED.offer(old);
+        Entry entry = new Entry(poolName, intervalOf(poolName));
+        ENTRIES.put(poolName, entry);
+        enqueue(entry);
+    }
+
+    /**
+     * 交给调度线程放入时间轮，调用方持有LOCK
+     */
+    private static void enqueue(Entry entry) {
+        if (worker != null) {
+            PENDING.offer(entry);
+            LOCK.notifyAll();
+        }
+    }
+
+    /**
+     * 调度线程主循环
+     */
+    private static void run() {
+        Thread self = Thread.currentThread();
+        startNanos = System.nanoTime();
+        tick = 0;
+        try {
+            while (worker == self) {
+                if (!awaitWork(self)) {
+                    break;
+                }
+                waitForNextTick();
+                removeCancelled();
+                transferPending();
+                expire((int) (tick & MASK));
+                tick++;
+            }
+        } catch (InterruptedException e) {
+            // 停止
+        } finally {
+            clearWheel();
+        }
+    }
+
+    /**
+     * 时间轮为空时阻塞等待新任务，重新开始时重置时间轮的起始时间
+     *
+     * @return 调度器仍在运行时返回true
+     */
+    private static boolean awaitWork(Thread self) throws InterruptedException {
+        if (active > 0 || !PENDING.isEmpty()) {
+            return true;
+        }
+        removeCancelled();
+        synchronized (LOCK) {
+            while (worker == self && PENDING.isEmpty()) {
+                LOCK.wait();
+            }
+        }
+        startNanos = System.nanoTime();
+        tick = 0;
+        return worker == self;
+    }
+
+    /**
+     * 等待到当前时间格结束
+     */
+    private static void waitForNextTick() throws InterruptedException {
+        long deadline = startNanos + (tick + 1) * TICK_NANOS;
+        long sleepNanos = deadline - System.nanoTime();
+        if (sleepNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        }
+    }
+
+    private static void removeCancelled() {
+        Entry entry;
+        while ((entry = CANCELLED.poll()) != null) {
+            if (entry.bucket >= 0) {
+                unlink(entry);
+            }
+        }
+    }
+
+    private static void transferPending() {
+        Entry entry;
+        long now = System.nanoTime();
+        while ((entry = PENDING.poll()) != null) {
+            if (!entry.cancelled) {
+                entry.deadline = now + entry.intervalNanos;
+                insert(entry, tick);
+            }
+        }
+    }
+
+    /**
+     * 执行槽中到期的任务，并按周期重新放入时间轮
+     * <p>
+     * 先把到期任务摘到单独的链表再执行，周期恰好是整圈时重新放入的任务不会在本次遍历中再次到期。
+     * </p>
+     */
+    private static void expire(int bucket) {
+        Entry due = null;
+        Entry entry = WHEEL[bucket];
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.remainingRounds <= 0) {
+                unlink(entry);
+                entry.next = due;
+                due = entry;
+            } else {
+                entry.remainingRounds--;
+            }
+            entry = next;
+        }
+        while (due != null) {
+            Entry next = due.next;
+            due.next = null;
+            if (!due.cancelled) {
+                fire(due);
+            }
+            if (!due.cancelled) {
+                long now = System.nanoTime();
+                due.deadline += due.intervalNanos;
+                if (due.deadline - now < 0) {
+                    // 执行落后超过一个周期时跳过错过的周期
+                    due.deadline = now + due.intervalNanos;
+                }
+                insert(due, tick + 1);
+            }
+            due = next;
+        }
+    }
+
+    /**
+     * 调节一个线程池，线程池已从ThreadPoolManager移除时取消调度
+     */
+    private static void fire(Entry entry) {
+        SmartExecutor executor = ThreadPoolManager.get(entry.poolName);
+        if (executor == null) {
+            synchronized (LOCK) {
+                ENTRIES.remove(entry.poolName, entry);
+            }
+            entry.cancelled = true;
+            return;
+        }
+        try {
+            AdaptiveStrategyManager.adjust(executor);
+        } catch (RuntimeException e) {
+            log.warn("[ADJUST][ThreadPool:{}] 调节失败", entry.poolName, e);
+        }
+    }
+
+    /**
+     * 按到期时间放入时间轮
+     *
+     * @param entry 调度任务
+     * @param base  最早可以执行的时间格：当前槽尚未处理时为当前时间格，正在处理当前槽时为下一个时间格
+     */
+    private static void insert(Entry entry, long base) {
+        long ticks = Math.max(base, Math.max(0, entry.deadline - startNanos) / TICK_NANOS);
+        entry.remainingRounds = (ticks - base) / WHEEL_SIZE;
+        int bucket = (int) (ticks & MASK);
+        entry.bucket = bucket;
+        entry.prev = null;
+        entry.next = WHEEL[bucket];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        WHEEL[bucket] = entry;
+        active++;
+    }
+
+    private static void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            WHEEL[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+        active--;
+    }
+
+    private static void clearWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            Entry entry = WHEEL[i];
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.bucket = -1;
+                entry = next;
+            }
+            WHEEL[i] = null;
+        }
+        active = 0;
+        PENDING.clear();
+        CANCELLED.clear();
+    }
+
+    /**
+     * 单个线程池的调度任务，链表指针和到期时间只由调度线程访问
+     */
+    private static final class Entry {
+
+        private final String poolName;
+
+        private final long intervalNanos;
+
+        private volatile boolean cancelled;
+
+        private long deadline;
+
+        private long remainingRounds;
+
+        /**
+         * 所在槽，不在时间轮中时为-1
+         */
+        private int bucket = -1;
+
+        private Entry prev;
+
+        private Entry next;
+
+        private Entry(String poolName, long intervalNanos) {
+            this.poolName = poolName;
+            this.intervalNanos = intervalNanos;
+        }
+    }
+}
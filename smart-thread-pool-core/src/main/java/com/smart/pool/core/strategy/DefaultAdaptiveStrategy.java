@@ -1,6 +1,6 @@
 package com.smart.pool.core.strategy;
 
-import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
 
 /**
  * 默认自适应线程池调节策略
@@ -22,7 +22,7 @@ import com.smart.pool.core.DynamicThreadPoolExecutor;
  * @author Smart Thread Pool
  * @since 1.0.0
  * @see AdaptiveStrategy
- * @see DynamicThreadPoolExecutor
+ * @see SmartExecutor
  */
 public class DefaultAdaptiveStrategy implements AdaptiveStrategy {
 
@@ -37,7 +37,7 @@ public class DefaultAdaptiveStrategy implements AdaptiveStrategy {
      *
      * 调节目标：在任务处理能力和资源消耗之间找到平衡点
      *
-     * @param executor 需要调节的动态线程池执行器
+     * @param executor 需要调节的线程池执行器
      *                必须包含有效的运行时状态信息
      *
      * 线程安全：
@@ -48,9 +48,9 @@ public class DefaultAdaptiveStrategy implements AdaptiveStrategy {
      * - 建议配合适当的调节间隔，避免过于频繁的调节
      */
     @Override
-    public void adjust(DynamicThreadPoolExecutor executor) {
+    public void adjust(SmartExecutor executor) {
         // 获取当前线程池状态信息
-        int queueSize = executor.getQueue().size();      // 当前队列大小
+        int queueSize = executor.getQueueSize();        // 当前队列大小
         int corePool = executor.getCorePoolSize();      // 当前核心线程数
         int maxPool = executor.getMaximumPoolSize();    // 最大线程数限制
 
@@ -67,6 +67,16 @@ public class DefaultAdaptiveStrategy implements AdaptiveStrategy {
         // 其他情况：保持当前配置不变
     }
 
+    /**
+     * 获取策略名称
+     *
+     * @return "SMOOTH"，与@SmartPool的scalingPolicy对应：每次只调整1个线程
+     */
+    @Override
+    public String getName() {
+        return "SMOOTH";
+    }
+
     /**
      * 获取策略优先级
      *
@@ -85,13 +95,13 @@ public class DefaultAdaptiveStrategy implements AdaptiveStrategy {
      * 检查策略是否启用
      *
      * @param executor 线程池执行器（用于上下文判断）
-     * @return true 表示策略始终启用，false 表示策略被禁用
+     * @return true 表示策略启用，false 表示策略被禁用
      *
-     * 默认策略始终返回true，确保在任何情况下都能提供基本的自适应能力
+     * 默认策略对所有支持调整线程数的线程池启用，确保在任何情况下都能提供基本的自适应能力
      * 子类可以重写此方法，根据特定条件动态启用或禁用策略
      */
     @Override
-    public boolean isEnabled(DynamicThreadPoolExecutor executor) {
-        return true; // 默认始终启用，提供基础调节能力
+    public boolean isEnabled(SmartExecutor executor) {
+        return executor.isResizable(); // 不支持调整线程数的线程池（如Java 17下的ForkJoinPool）跳过
     }
 }
\ No newline at end of file
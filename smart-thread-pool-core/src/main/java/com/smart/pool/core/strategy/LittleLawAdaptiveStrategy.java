@@ -0,0 +1,261 @@
+package com.smart.pool.core.strategy;
+
+import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
+import com.smart.pool.core.metrics.LatencyWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于利特尔法则的调节策略
+ *
+ * 按实测负载计算线程数，而不是依赖预先估计的配置：
+ * - 到达速率λ：{@link DynamicThreadPoolExecutor#getSubmittedCount()}在两次调节之间的增量除以间隔，
+ *   被拒绝和排队中的任务也计入，线程池饱和时仍能反映真实负载
+ * - 平均服务时间W：执行耗时直方图在两次调节之间新增记录的平均值
+ * - 所需并发数 L = λ·W，按目标利用率留出余量：线程数 = ⌈L / 目标利用率⌉
+ *
+ * 平滑与防抖：
+ * - λ和W分别做基于时间的指数加权移动平均（EWMA），时间常数默认30秒，与调节周期无关，
+ *   单个慢任务只会小幅抬高平均服务时间，不会立即扩容
+ * - 周期内没有任务完成时保留上一次的服务时间估计
+ * - 计算结果与当前核心线程数相差不超过容差（默认10%，至少1个线程）时不调整
+ *
+ * 线程数控制：
+ * - 同时设置核心线程数和最大线程数，计算结果限制在线程数范围内
+ * - 线程数上限默认为首次调节时线程池的最大线程数，缩容时最大线程数回落到该值
+ *
+ * 只适用于{@link DynamicThreadPoolExecutor}，首次调节只记录基线不做调整。
+ * 每个线程池的估计状态独立保存，线程池关闭或不再被引用后自动清除，
+ * 从ThreadPoolManager移除或被同名线程池替换而未关闭的线程池不会残留状态。
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ * @see AdaptiveStrategy
+ */
+public class LittleLawAdaptiveStrategy implements AdaptiveStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(LittleLawAdaptiveStrategy.class);
+
+    /**
+     * 默认目标利用率
+     */
+    public static final double DEFAULT_TARGET_UTILIZATION = 0.8;
+
+    /**
+     * 目标利用率（0,1]，越小留出的余量越多
+     */
+    private volatile double targetUtilization = DEFAULT_TARGET_UTILIZATION;
+
+    /**
+     * EWMA时间常数（纳秒）
+     */
+    private volatile long smoothingNanos = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * 相对容差
+     */
+    private volatile double tolerance = 0.1;
+
+    private volatile int minThreads = 1;
+
+    /**
+     * 线程数上限，0表示使用首次调节时的最大线程数
+     */
+    private volatile int maxThreads = 0;
+
+    /**
+     * 各线程池的估计状态，按线程池实例弱引用保存
+     */
+    private final Map<SmartExecutor, State> states = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 执行一个周期的调节
+     *
+     * @param executor 需要调节的线程池执行器
+     */
+    @Override
+    public void adjust(SmartExecutor executor) {
+        if (executor.isShutdown()) {
+            states.remove(executor);
+            return;
+        }
+        DynamicThreadPoolExecutor pool = (DynamicThreadPoolExecutor) executor;
+        State state = states.get(executor);
+        if (state == null) {
+            state = states.computeIfAbsent(executor, State::new);
+            state.lastSubmitted = pool.getSubmittedCount();
+            state.window.roll(pool.getExecutionHistogram());
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - state.lastNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        state.lastNanos = now;
+        long submitted = pool.getSubmittedCount();
+        double rate = (submitted - state.lastSubmitted) * 1e9 / elapsed;
+        state.lastSubmitted = submitted;
+        state.window.roll(pool.getExecutionHistogram());
+
+        // 按实际间隔计算平滑系数，调节周期变化时时间常数不变
+        double alpha = 1 - Math.exp(-(double) elapsed / smoothingNanos);
+        if (state.warm) {
+            state.rate += alpha * (rate - state.rate);
+            if (state.window.getCount() > 0) {
+                state.serviceNanos += alpha * (state.window.getMean() - state.serviceNanos);
+            }
+        } else if (state.window.getCount() > 0) {
+            state.rate = rate;
+            state.serviceNanos = state.window.getMean();
+            state.warm = true;
+        } else {
+            return;
+        }
+
+        double concurrency = state.rate * state.serviceNanos / 1e9;
+        int ceiling = maxThreads > 0 ? maxThreads : state.baselineMax;
+        int floor = Math.min(minThreads, ceiling);
+        int target = Math.max(floor, Math.min(ceiling, (int) Math.ceil(concurrency / targetUtilization)));
+        int current = executor.getCorePoolSize();
+        if (Math.abs(target - current) < Math.max(1D, current * tolerance)) {
+            return;
+        }
+        PoolResizer.resize(executor, target, Math.max(target, state.baselineMax));
+        log.debug("[LITTLE][ThreadPool:{}] 到达速率{}/s, 平均服务时间{}ms, 所需并发{}, 核心线程数{} -> {}",
+                executor.getPoolName(), state.rate, state.serviceNanos / 1_000_000D, concurrency, current, target);
+    }
+
+    /**
+     * 策略名称
+     *
+     * @return "LITTLE"
+     */
+    @Override
+    public String getName() {
+        return "LITTLE";
+    }
+
+    /**
+     * 只调节支持调整线程数的{@link DynamicThreadPoolExecutor}
+     */
+    @Override
+    public boolean isEnabled(SmartExecutor executor) {
+        return executor instanceof DynamicThreadPoolExecutor && executor.isResizable();
+    }
+
+    /**
+     * 设置目标利用率
+     *
+     * @param targetUtilization 目标利用率（0,1]，例如0.8表示按所需并发数的1.25倍设置线程数
+     */
+    public void setTargetUtilization(double targetUtilization) {
+        if (targetUtilization <= 0 || targetUtilization > 1) {
+            throw new IllegalArgumentException("require 0 < targetUtilization <= 1");
+        }
+        this.targetUtilization = targetUtilization;
+    }
+
+    /**
+     * 设置EWMA平滑时间常数
+     *
+     * @param smoothing 时间常数，必须大于0，越大越平滑、响应越慢
+     * @param unit      时间单位
+     */
+    public void setSmoothing(long smoothing, TimeUnit unit) {
+        if (smoothing <= 0) {
+            throw new IllegalArgumentException("smoothing must be positive");
+        }
+        this.smoothingNanos = unit.toNanos(smoothing);
+    }
+
+    /**
+     * 设置调整容差
+     *
+     * @param tolerance 相对容差，计算结果与当前核心线程数之差小于当前值乘以该比例（且小于1个线程）时不调整
+     */
+    public void setTolerance(double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("tolerance must not be negative");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 设置线程数范围
+     *
+     * @param minThreads 线程数下限，必须大于0
+     * @param maxThreads 线程数上限，0表示使用首次调节时线程池的最大线程数
+     */
+    public void setThreadLimits(int minThreads, int maxThreads) {
+        if (minThreads <= 0 || maxThreads < 0 || (maxThreads > 0 && maxThreads < minThreads)) {
+            throw new IllegalArgumentException("require 0 < minThreads <= maxThreads, or maxThreads = 0");
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * 获取线程池当前的到达速率估计
+     *
+     * @param executor 线程池
+     * @return 平滑后的到达速率（任务/秒），尚未估计时返回0
+     */
+    public double getArrivalRate(SmartExecutor executor) {
+        State state = states.get(executor);
+        return state == null ? 0D : state.rate;
+    }
+
+    /**
+     * 获取线程池当前的平均服务时间估计
+     *
+     * @param executor 线程池
+     * @return 平滑后的平均服务时间（纳秒），尚未估计时返回0
+     */
+    public double getServiceNanos(SmartExecutor executor) {
+        State state = states.get(executor);
+        return state == null ? 0D : state.serviceNanos;
+    }
+
+    /**
+     * 单个线程池的估计状态，只由调节线程写入
+     */
+    private static final class State {
+
+        private final LatencyWindow window = new LatencyWindow();
+
+        /**
+         * 首次调节时的最大线程数
+         */
+        private final int baselineMax;
+
+        private long lastNanos = System.nanoTime();
+
+        private long lastSubmitted;
+
+        /**
+         * 是否已有第一个有效估计
+         */
+        private boolean warm;
+
+        /**
+         * 平滑后的到达速率（任务/秒）
+         */
+        private volatile double rate;
+
+        /**
+         * 平滑后的平均服务时间（纳秒）
+         */
+        private volatile double serviceNanos;
+
+        private State(SmartExecutor executor) {
+            this.baselineMax = executor.getMaximumPoolSize();
+        }
+    }
+}
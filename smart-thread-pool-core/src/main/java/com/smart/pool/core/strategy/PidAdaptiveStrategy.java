@@ -0,0 +1,323 @@
+package com.smart.pool.core.strategy;
+
+import com.smart.pool.core.SmartExecutor;
+import com.smart.pool.core.metrics.LatencyHistogram;
+import com.smart.pool.core.metrics.LatencyWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PID控制器调节策略
+ *
+ * 以排队耗时百分位数（默认p99）为被控量，把线程数驱动到目标排队延迟附近。
+ * 每个调节周期读取排队耗时直方图在本周期内新增记录的分布，计算相对误差
+ * e = (实测 - 目标) / 目标，核心线程数 = 基准线程数 + Kp·e + Ki·∫e·dt + Kd·de/dt，
+ * 基准线程数为首次调节时的核心线程数。
+ *
+ * 与{@link DefaultAdaptiveStrategy}按队列长度每次±1不同：
+ * - 比例项让调整幅度随偏差增大，突发10倍延迟时一个周期即可扩容多个线程
+ * - 积分项消除稳态偏差，负载稳定后线程数停在满足目标的最小值附近
+ * - 微分项按误差变化率提前制动，抑制来回震荡
+ *
+ * 稳定性措施：
+ * - 积分抗饱和：积分项不超出线程数范围，输出被步长或线程数上下限截断时不再沿同方向累积
+ * - 微分平滑：微分项经过指数平滑，单个周期的延迟抖动不会放大成大幅调整
+ * - 死区：误差在死区内视为达标，不做调整
+ * - 步长限制：每个周期扩容和缩容的线程数分别有上限，默认扩容快、缩容慢
+ *
+ * 线程数控制：
+ * - 调整核心线程数；超过最大线程数时同时提高最大线程数，不超过线程数上限
+ * - 线程数上限默认为首次调节时线程池的最大线程数，缩容时最大线程数回落到该值
+ * - 周期内没有任务出队但队列不为空时，按队首任务至少等待了一个周期计算延迟
+ *
+ * 误差以目标延迟为单位，增益的单位为线程数：默认比例增益为2，即实测延迟为目标的2倍时比例项为2个线程。
+ * 参数可以在运行时修改。每个线程池的控制器状态独立保存，线程池关闭或不再被引用后自动清除，
+ * 从ThreadPoolManager移除或被同名线程池替换而未关闭的线程池不会残留状态。
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ * @see AdaptiveStrategy
+ * @see LatencyWindow
+ */
+public class PidAdaptiveStrategy implements AdaptiveStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(PidAdaptiveStrategy.class);
+
+    /**
+     * 默认目标排队延迟（毫秒）
+     */
+    public static final long DEFAULT_TARGET_MILLIS = 20L;
+
+    /**
+     * 单个周期的误差上限，避免一次极端延迟把积分项和输出推到饱和
+     */
+    private static final double MAX_ERROR = 10D;
+
+    /**
+     * 目标排队延迟（纳秒）
+     */
+    private final long targetNanos;
+
+    private volatile double percentile = 0.99;
+
+    private volatile double kp = 2.0;
+
+    private volatile double ki = 0.2;
+
+    private volatile double kd = 0.5;
+
+    /**
+     * 微分项平滑系数（0,1]，越小越平滑
+     */
+    private volatile double derivativeSmoothing = 0.5;
+
+    /**
+     * 误差死区
+     */
+    private volatile double deadband = 0.1;
+
+    private volatile int maxStepUp = 8;
+
+    private volatile int maxStepDown = 2;
+
+    private volatile int minThreads = 1;
+
+    /**
+     * 线程数上限，0表示使用首次调节时的最大线程数
+     */
+    private volatile int maxThreads = 0;
+
+    /**
+     * 各线程池的控制器状态，按线程池实例弱引用保存
+     */
+    private final Map<SmartExecutor, State> states = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 使用默认目标排队延迟20毫秒创建策略
+     */
+    public PidAdaptiveStrategy() {
+        this(DEFAULT_TARGET_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 创建策略
+     *
+     * @param target 目标排队延迟，必须大于0
+     * @param unit   时间单位
+     */
+    public PidAdaptiveStrategy(long target, TimeUnit unit) {
+        if (target <= 0) {
+            throw new IllegalArgumentException("target must be positive");
+        }
+        this.targetNanos = unit.toNanos(target);
+    }
+
+    /**
+     * 执行一个周期的PID调节
+     *
+     * 首次调节只记录直方图基线，不做调整，之后每次使用距上次调节的实际间隔计算积分和微分。
+     *
+     * @param executor 需要调节的线程池执行器
+     */
+    @Override
+    public void adjust(SmartExecutor executor) {
+        if (executor.isShutdown()) {
+            states.remove(executor);
+            return;
+        }
+        LatencyHistogram histogram = executor.getQueueWaitHistogram();
+        State state = states.get(executor);
+        if (state == null) {
+            state = states.computeIfAbsent(executor, State::new);
+            state.window.roll(histogram);
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - state.lastNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        double dt = elapsed / 1e9;
+        state.lastNanos = now;
+        state.window.roll(histogram);
+
+        long measured = state.window.getValueAtPercentile(percentile);
+        if (state.window.getCount() == 0 && executor.getQueueSize() > 0) {
+            // 整个周期没有任务出队，队首任务至少等待了一个周期
+            measured = elapsed;
+        }
+        double error = Math.min(MAX_ERROR, (double) (measured - targetNanos) / targetNanos);
+        if (Math.abs(error) < deadband) {
+            error = 0;
+        }
+
+        double rawDerivative = (error - state.lastError) / dt;
+        state.derivative += derivativeSmoothing * (rawDerivative - state.derivative);
+        state.lastError = error;
+        double integral = state.integral + ki * error * dt;
+
+        int current = executor.getCorePoolSize();
+        int ceiling = maxThreads > 0 ? maxThreads : state.baselineMax;
+        int floor = Math.min(minThreads, ceiling);
+        int desired = (int) Math.round(state.baselineCore + kp * error + integral + kd * state.derivative);
+        int bounded = Math.max(floor, Math.min(ceiling, desired));
+        int target = Math.max(current - maxStepDown, Math.min(current + maxStepUp, bounded));
+
+        // 抗饱和：输出被截断且误差仍推向截断方向时不累积积分，积分项本身不超出线程数范围
+        if (target == desired || Math.signum(error) != Math.signum(desired - target)) {
+            state.integral = Math.max(floor - state.baselineCore, Math.min(ceiling - state.baselineCore, integral));
+        }
+
+        if (target != current) {
+            PoolResizer.resize(executor, target, Math.max(target, state.baselineMax));
+            log.debug("[PID][ThreadPool:{}] p{}排队耗时{}ms, 误差{}, 核心线程数{} -> {}",
+                    executor.getPoolName(), percentile * 100, measured / 1_000_000D, error, current, target);
+        }
+    }
+
+    /**
+     * 策略名称
+     *
+     * @return "PID"
+     */
+    @Override
+    public String getName() {
+        return "PID";
+    }
+
+    /**
+     * 只调节支持调整线程数并记录排队耗时的线程池
+     */
+    @Override
+    public boolean isEnabled(SmartExecutor executor) {
+        return executor.isResizable() && executor.getQueueWaitHistogram() != null;
+    }
+
+    /**
+     * 获取目标排队延迟
+     *
+     * @return 目标排队延迟（纳秒）
+     */
+    public long getTargetNanos() {
+        return targetNanos;
+    }
+
+    /**
+     * 设置被控的排队耗时百分位
+     *
+     * @param percentile 百分位（0,1]，例如0.99表示p99
+     */
+    public void setPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("require 0 < percentile <= 1");
+        }
+        this.percentile = percentile;
+    }
+
+    /**
+     * 设置PID增益
+     *
+     * @param kp 比例增益，每单位误差对应的线程数
+     * @param ki 积分增益，每单位误差·秒对应的线程数
+     * @param kd 微分增益，每单位误差/秒对应的线程数
+     */
+    public void setGains(double kp, double ki, double kd) {
+        if (kp < 0 || ki < 0 || kd < 0) {
+            throw new IllegalArgumentException("gains must not be negative");
+        }
+        this.kp = kp;
+        this.ki = ki;
+        this.kd = kd;
+    }
+
+    /**
+     * 设置微分项平滑系数
+     *
+     * @param derivativeSmoothing 平滑系数（0,1]，1表示不平滑
+     */
+    public void setDerivativeSmoothing(double derivativeSmoothing) {
+        if (derivativeSmoothing <= 0 || derivativeSmoothing > 1) {
+            throw new IllegalArgumentException("require 0 < derivativeSmoothing <= 1");
+        }
+        this.derivativeSmoothing = derivativeSmoothing;
+    }
+
+    /**
+     * 设置误差死区
+     *
+     * @param deadband 相对误差死区，误差绝对值小于该值时不调整
+     */
+    public void setDeadband(double deadband) {
+        if (deadband < 0) {
+            throw new IllegalArgumentException("deadband must not be negative");
+        }
+        this.deadband = deadband;
+    }
+
+    /**
+     * 设置每个周期的调整步长上限
+     *
+     * @param maxStepUp   每个周期最多增加的线程数，必须大于0
+     * @param maxStepDown 每个周期最多减少的线程数，必须大于0
+     */
+    public void setStepLimits(int maxStepUp, int maxStepDown) {
+        if (maxStepUp <= 0 || maxStepDown <= 0) {
+            throw new IllegalArgumentException("step limits must be positive");
+        }
+        this.maxStepUp = maxStepUp;
+        this.maxStepDown = maxStepDown;
+    }
+
+    /**
+     * 设置线程数范围
+     *
+     * @param minThreads 核心线程数下限，必须大于0
+     * @param maxThreads 线程数上限，0表示使用首次调节时线程池的最大线程数
+     */
+    public void setThreadLimits(int minThreads, int maxThreads) {
+        if (minThreads <= 0 || maxThreads < 0 || (maxThreads > 0 && maxThreads < minThreads)) {
+            throw new IllegalArgumentException("require 0 < minThreads <= maxThreads, or maxThreads = 0");
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * 单个线程池的控制器状态，只由调节线程访问
+     */
+    private static final class State {
+
+        private final LatencyWindow window = new LatencyWindow();
+
+        /**
+         * 首次调节时的核心线程数，控制器输出以此为基准
+         */
+        private final int baselineCore;
+
+        /**
+         * 首次调节时的最大线程数
+         */
+        private final int baselineMax;
+
+        private long lastNanos = System.nanoTime();
+
+        /**
+         * 积分项（线程数）
+         */
+        private double integral;
+
+        private double lastError;
+
+        private double derivative;
+
+        private State(SmartExecutor executor) {
+            this.baselineCore = executor.getCorePoolSize();
+            this.baselineMax = executor.getMaximumPoolSize();
+        }
+    }
+}
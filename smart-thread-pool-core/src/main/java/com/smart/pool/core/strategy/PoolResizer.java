@@ -0,0 +1,34 @@
+package com.smart.pool.core.strategy;
+
+import com.smart.pool.core.SmartExecutor;
+
+/**
+ * 调节策略共用的线程数调整
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ */
+final class PoolResizer {
+
+    private PoolResizer() {
+    }
+
+    /**
+     * 同时调整核心线程数和最大线程数，按调整方向决定先后顺序，保持核心线程数不超过最大线程数
+     *
+     * @param executor 线程池
+     * @param core     新的核心线程数
+     * @param max      新的最大线程数，不小于core
+     */
+    static void resize(SmartExecutor executor, int core, int max) {
+        if (max > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(max);
+            executor.setCorePoolSize(core);
+        } else {
+            executor.setCorePoolSize(core);
+            if (max < executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(max);
+            }
+        }
+    }
+}
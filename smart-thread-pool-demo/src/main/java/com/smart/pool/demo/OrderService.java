@@ -42,7 +42,7 @@ public class OrderService {
      * - name：线程池唯一标识，用于监控和依赖管理
      * - corePoolSize：初始核心线程数，低负载时保持的最小线程
      * - maxPoolSize：最大线程数，高负载时的扩容上限
-     * - scalingPolicy：扩容策略，AGGRESSIVE表示快速响应负载变化
+     * - scalingPolicy：扩容策略，PID表示按排队延迟快速响应负载变化
      * - priorityStrategy：优先级策略，LOAD_BASED根据负载动态调整任务优先级
      * - enableLifecycleSimulation：启用生命周期监控，输出线程创建/销毁日志
      * - adjustIntervalSeconds：调节检查间隔，每5秒评估一次负载状态
@@ -50,15 +50,15 @@ public class OrderService {
      * - lowLoadThreshold：低负载阈值20%，低于此值触发缩容
      *
      * 行为特征：
-     * 1. 负载>80%时：核心线程数+1（最大不超过maxPoolSize）
-     * 2. 负载<20%时：核心线程数-1（最小不低于corePoolSize）
+     * 1. p99排队延迟超过20ms时：按偏差大小一次扩容多个线程（最大不超过maxPoolSize）
+     * 2. 延迟回落到目标以下时：每个周期最多缩容2个线程
      * 3. 每5秒检查一次，实时调整以适应当前负载
      */
     @SmartPool(
             name = "order-pool",
             corePoolSize = 4,
             maxPoolSize = 12,
-            scalingPolicy = "AGGRESSIVE",
+            scalingPolicy = "PID",
             priorityStrategy = "LOAD_BASED",
             enableLifecycleSimulation = true,
             adjustIntervalSeconds = 5,
@@ -1,9 +1,12 @@
 package com.smart.pool.monitor;
 
+import com.smart.pool.core.SmartExecutor;
 import com.smart.pool.core.ThreadPoolManager;
+import com.smart.pool.core.metrics.PoolMetricsMBean;
 
 import javax.management.*;
 import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
 
 /**
  * JMX指标导出器
@@ -16,6 +19,7 @@ import java.lang.management.ManagementFactory;
  * 2. 自动为每个线程池创建对应的MBean，使用标准化的命名规范
  * 3. 支持重复调用，通过isRegistered检查避免重复注册
  * 4. 异常处理机制确保单个线程池注册失败不会影响其他线程池
+ * 5. 注册的MBean每次读取属性时都从线程池获取最新指标，而不是注册时的快照
  *
  * MBean命名规范：
  * - 域名：smart.pool
@@ -40,7 +44,7 @@ public class JmxMetricsExporter {
      * 2. 遍历ThreadPoolManager中注册的所有线程池
      * 3. 为每个线程池创建对应的ObjectName（遵循smart.pool:type=ThreadPool,name={poolName}规范）
      * 4. 检查MBean是否已注册，避免重复注册
-     * 5. 将线程池的指标对象注册为MBean
+     * 5. 将线程池的实时指标视图注册为MBean
      *
      * 异常处理：
      * - 单个线程池注册失败时打印异常堆栈，但不中断整个导出过程
@@ -62,11 +66,27 @@ public class JmxMetricsExporter {
             try {
                 ObjectName name = new ObjectName("smart.pool:type=ThreadPool,name=" + pool.getMetrics().getPoolName());
                 if (!mbs.isRegistered(name)) {
-                    mbs.registerMBean(pool.getMetrics(), name);
+                    mbs.registerMBean(new StandardMBean(liveMetrics(pool), PoolMetricsMBean.class), name);
                 }
             } catch (Exception e) {
                 e.printStackTrace();
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建线程池的实时指标视图
+     * <p>
+     * 每次调用属性方法时都重新获取线程池指标，使JMX客户端看到的排队/执行耗时分位数保持最新。
+     * </p>
+     *
+     * @param pool 线程池
+     * @return 实时指标视图
+     */
+    private static PoolMetricsMBean liveMetrics(SmartExecutor pool) {
+        return (PoolMetricsMBean) Proxy.newProxyInstance(
+                PoolMetricsMBean.class.getClassLoader(),
+                new Class<?>[]{PoolMetricsMBean.class},
+                (proxy, method, args) -> method.invoke(pool.getMetrics(), args));
+    }
+}
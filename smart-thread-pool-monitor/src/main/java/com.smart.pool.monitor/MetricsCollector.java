@@ -1,9 +1,9 @@
 package com.smart.pool.monitor;
 
-import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
 import com.smart.pool.core.ThreadPoolManager;
 import com.smart.pool.core.metrics.PoolMetrics;
-import com.smart.pool.core.strategy.AdaptiveStrategyManager;
+import com.smart.pool.core.strategy.AdjustmentScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,7 +17,7 @@ import java.util.concurrent.TimeUnit;
  * 核心功能：
  * 1. 自动同步线程池指标到 Prometheus（HTTP端口9090）
  * 2. 自动注册线程池MBean到JMX，支持JConsole等工具监控
- * 3. 定时执行SPI自适应调节策略，实现线程池动态优化
+ * 3. 启动调节调度器，按各线程池的调节周期执行自适应调节策略
  *
  * 设计特点：
  * - 采用单例模式设计，确保全局只有一个收集器实例
@@ -27,9 +27,8 @@ import java.util.concurrent.TimeUnit;
  *
  * 工作流程：
  * 1. 启动时初始化Prometheus HTTP服务器和JMX MBean
- * 2. 每5秒执行一次指标收集和策略调节
- * 3. 为每个线程池调用getMetrics()更新指标
- * 4. 通过AdaptiveStrategyManager应用SPI调节策略
+ * 2. 每5秒为每个线程池调用getMetrics()更新指标
+ * 3. 由AdjustmentScheduler按各线程池的周期（默认5秒，可以小于1秒）通过AdaptiveStrategyManager应用调节策略
  *
  * 线程安全：
  * - 使用volatile保证initialized变量的可见性
@@ -71,7 +70,8 @@ public class MetricsCollector {
      * 1. 检查是否已初始化，避免重复启动
      * 2. 启动Prometheus HTTP服务器（端口9090）
      * 3. 注册所有线程池MBean到JMX
-     * 4. 启动定时任务，每5秒执行指标收集和策略调节
+     * 4. 启动定时任务，每5秒执行指标收集
+     * 5. 启动调节调度器，按各线程池的调节周期执行策略调节
      *
      * 异常处理：
      * - Prometheus或JMX初始化失败时打印异常，但不中断整个启动过程
@@ -84,7 +84,8 @@ public class MetricsCollector {
      * 策略调节：
      * - 通过AdaptiveStrategyManager调用SPI加载的调节策略
      * - 支持根据运行时指标动态调整线程池参数
-     * - 调节周期为5秒，平衡实时性和系统开销
+     * - 调节周期按线程池设置（@SmartPool.adjustIntervalSeconds、SmartPoolBuilder.adjustInterval），默认5秒
+     * - 所有线程池共用AdjustmentScheduler的一个调度线程，线程池注册和移除时自动加入和取消调度
      */
     public static void startCollecting() {
         if (initialized) return;
@@ -102,16 +103,13 @@ public class MetricsCollector {
             e.printStackTrace();
         }
 
-        // 定时刷新指标并执行 SPI 策略
+        // 定时刷新指标
         monitor.scheduleAtFixedRate(() -> {
-            ThreadPoolManager.getAllPools().forEach(pool -> {
-                // 更新指标
-                pool.getMetrics();
-
-                // 调用 SPI 调节策略
-                AdaptiveStrategyManager.adjust(pool);
-            });
+            ThreadPoolManager.getAllPools().forEach(SmartExecutor::getMetrics);
         }, 0, 5, TimeUnit.SECONDS);
+
+        // 按各线程池的周期执行调节策略
+        AdjustmentScheduler.start();
     }
 
     /**
@@ -139,7 +137,7 @@ public class MetricsCollector {
      */
     public static List<PoolMetrics> currentMetrics() {
         List<PoolMetrics> list = new ArrayList<>();
-        for (DynamicThreadPoolExecutor pool : ThreadPoolManager.getAllPools()) {
+        for (SmartExecutor pool : ThreadPoolManager.getAllPools()) {
             list.add(pool.getMetrics());
         }
         return list;
@@ -1,10 +1,21 @@
 package com.smart.pool.monitor;
 
+import com.smart.pool.core.SmartExecutor;
 import com.smart.pool.core.ThreadPoolManager;
+import com.smart.pool.core.metrics.LatencyHistogram;
+import com.smart.pool.core.metrics.LatencyWindow;
 import com.smart.pool.core.metrics.PoolMetrics;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.exporter.HTTPServer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Prometheus指标导出器
  *
@@ -12,7 +23,7 @@ import io.prometheus.client.exporter.HTTPServer;
  * 负责将智能线程池的运行指标以Prometheus格式暴露，支持通过HTTP端点进行监控数据采集
  *
  * 设计特点：
- * 1. 采用静态Gauge指标定义，确保指标注册的单例性
+ * 1. 采用静态Gauge指标定义，确保指标注册的单例性；累计计数在抓取时读取，以Counter类型导出
  * 2. 使用守护线程进行后台指标收集，避免阻塞应用主线程
  * 3. 支持多线程池指标的标签化区分，通过pool标签区分不同线程池
  * 4. 固定5秒采集周期，平衡实时性和系统开销
@@ -20,7 +31,14 @@ import io.prometheus.client.exporter.HTTPServer;
  * 指标定义：
  * - threadpool_active_threads：线程池活跃线程数（Gauge类型）
  * - threadpool_queue_size：线程池队列大小（Gauge类型）
- * - 标签维度：pool（线程池名称）
+ * - threadpool_queue_capacity：线程池队列容量，随运行时调整变化（Gauge类型）
+ * - threadpool_queue_wait_seconds：最近一个采集周期内的任务排队耗时分位数（Gauge类型）
+ * - threadpool_execution_seconds：最近一个采集周期内的任务执行耗时分位数（Gauge类型）
+ * - threadpool_submitted_total / threadpool_coalesced_total / threadpool_limited_total / threadpool_expired_total：
+ *   提交、合并、超过并发上限和过期丢弃的累计任务数（Counter类型）
+ * - threadpool_steal_count / threadpool_parallelism / threadpool_queued_submissions：
+ *   ForkJoin线程池的窃取次数、并行度和外部提交排队数（Gauge类型，仅FORK_JOIN类型线程池）
+ * - 标签维度：pool（线程池名称）、quantile（0.5/0.9/0.99/0.999/1，1表示最大值）
  *
  * HTTP端点：
  * - 默认提供/metrics路径，符合Prometheus标准
@@ -67,6 +85,83 @@ public class PrometheusExporter {
     private static final Gauge queueSize = Gauge.build()
             .name("threadpool_queue_size").help("Queue size").labelNames("pool").register();
 
+    /**
+     * 队列容量指标
+     *
+     * 指标详情：
+     * - 名称：threadpool_queue_capacity
+     * - 类型：Gauge，无界队列为Integer.MAX_VALUE
+     * - 标签：pool（标识不同线程池）
+     */
+    private static final Gauge queueCapacity = Gauge.build()
+            .name("threadpool_queue_capacity").help("Queue capacity").labelNames("pool").register();
+
+    /**
+     * 累计计数指标
+     *
+     * 指标详情：
+     * - 类型：Counter，由{@link CounterCollector}在抓取时读取线程池的累计计数
+     * - 标签：pool（标识不同线程池）
+     */
+    private static final Collector counters = new CounterCollector().register();
+
+    /**
+     * 并发上限指标
+     *
+     * 指标详情：
+     * - 名称：threadpool_concurrency_limit
+     * - 类型：Gauge，取值为自适应并发上限算法当前的上限，未配置并发上限时为0
+     * - 标签：pool（标识不同线程池）
+     */
+    private static final Gauge concurrencyLimit = Gauge.build()
+            .name("threadpool_concurrency_limit").help("Current adaptive concurrency limit, 0 if not configured")
+            .labelNames("pool").register();
+
+    /**
+     * 排队耗时分位数指标
+     *
+     * 指标详情：
+     * - 名称：threadpool_queue_wait_seconds
+     * - 类型：Gauge，取值来自排队耗时直方图在最近一个采集周期内新增的记录，周期内没有记录时为NaN
+     * - 标签：pool（线程池名称）、quantile（分位数，1表示最大值）
+     *
+     * 不使用累计分布：运行一段时间后累计分位数几乎不再变化，会掩盖延迟劣化
+     */
+    private static final Gauge queueWait = Gauge.build()
+            .name("threadpool_queue_wait_seconds").help("Task queue wait time quantiles")
+            .labelNames("pool", "quantile").register();
+
+    /**
+     * 执行耗时分位数指标
+     *
+     * 指标详情：
+     * - 名称：threadpool_execution_seconds
+     * - 类型：Gauge，取值来自执行耗时直方图在最近一个采集周期内新增的记录，周期内没有记录时为NaN
+     * - 标签：pool（线程池名称）、quantile（分位数，1表示最大值）
+     */
+    private static final Gauge execution = Gauge.build()
+            .name("threadpool_execution_seconds").help("Task execution time quantiles")
+            .labelNames("pool", "quantile").register();
+
+    /**
+     * 工作窃取次数指标（仅ForkJoin线程池）
+     */
+    private static final Gauge stealCount = Gauge.build()
+            .name("threadpool_steal_count").help("ForkJoin work steal count").labelNames("pool").register();
+
+    /**
+     * 并行度指标（仅ForkJoin线程池）
+     */
+    private static final Gauge parallelism = Gauge.build()
+            .name("threadpool_parallelism").help("ForkJoin parallelism").labelNames("pool").register();
+
+    /**
+     * 外部提交排队数指标（仅ForkJoin线程池）
+     */
+    private static final Gauge queuedSubmissions = Gauge.build()
+            .name("threadpool_queued_submissions").help("ForkJoin queued external submissions")
+            .labelNames("pool").register();
+
     /**
      * 监控线程实例
      *
@@ -77,6 +172,11 @@ public class PrometheusExporter {
      */
     private Thread monitorThread;
 
+    /**
+     * 各线程池的排队耗时和执行耗时窗口，只由监控线程访问
+     */
+    private final Map<SmartExecutor, LatencyWindow[]> windows = new HashMap<>();
+
     /**
      * 启动Prometheus导出器
      *
@@ -124,11 +224,83 @@ public class PrometheusExporter {
                     PoolMetrics metrics = pool.getMetrics();
                     activeThreads.labels(metrics.getPoolName()).set(metrics.getActiveCount());
                     queueSize.labels(metrics.getPoolName()).set(metrics.getQueueSize());
+                    queueCapacity.labels(metrics.getPoolName()).set(metrics.getQueueCapacity());
+                    concurrencyLimit.labels(metrics.getPoolName()).set(metrics.getConcurrencyLimit());
+                    String name = metrics.getPoolName();
+                    LatencyWindow[] pair = windows.computeIfAbsent(pool,
+                            p -> new LatencyWindow[]{new LatencyWindow(), new LatencyWindow()});
+                    exportWindow(queueWait, name, pair[0], pool.getQueueWaitHistogram());
+                    exportWindow(execution, name, pair[1], pool.getExecutionHistogram());
+                    if (PoolMetrics.TYPE_FORK_JOIN.equals(metrics.getPoolType())) {
+                        stealCount.labels(name).set(metrics.getStealCount());
+                        parallelism.labels(name).set(metrics.getParallelism());
+                        queuedSubmissions.labels(name).set(metrics.getQueuedSubmissionCount());
+                    }
                 });
+                // 清除已移除或被替换的线程池的窗口
+                windows.keySet().removeIf(pool -> ThreadPoolManager.get(pool.getPoolName()) != pool);
                 try { Thread.sleep(5000); } catch (Exception ignored) {}
             }
         });
         monitorThread.setDaemon(true);
         monitorThread.start();
     }
-}
\ No newline at end of file
+
+    /**
+     * 滚动窗口并导出最近一个采集周期的分位数（秒）
+     *
+     * @param gauge     分位数指标
+     * @param name      线程池名称
+     * @param window    该线程池的窗口
+     * @param histogram 被观察的直方图，线程池不记录耗时时为null
+     */
+    private static void exportWindow(Gauge gauge, String name, LatencyWindow window, LatencyHistogram histogram) {
+        if (histogram == null) {
+            return;
+        }
+        window.roll(histogram);
+        boolean empty = window.getCount() == 0;
+        gauge.labels(name, "0.5").set(empty ? Double.NaN : window.getValueAtPercentile(0.5) / 1e9);
+        gauge.labels(name, "0.9").set(empty ? Double.NaN : window.getValueAtPercentile(0.9) / 1e9);
+        gauge.labels(name, "0.99").set(empty ? Double.NaN : window.getValueAtPercentile(0.99) / 1e9);
+        gauge.labels(name, "0.999").set(empty ? Double.NaN : window.getValueAtPercentile(0.999) / 1e9);
+        gauge.labels(name, "1").set(empty ? Double.NaN : window.getMax() / 1e9);
+    }
+
+    /**
+     * 累计计数收集器
+     *
+     * 累计计数由线程池自身维护，Counter只能递增不能赋值，因此在每次抓取时读取计数并以Counter类型导出：
+     * - threadpool_submitted_total：提交到线程池的累计任务数（包括被拒绝的任务），rate()后即任务到达速率
+     * - threadpool_coalesced_total：submitCoalesced被合并到已排队任务的累计次数
+     * - threadpool_limited_total：超过并发上限而交给拒绝执行处理器的累计任务数
+     * - threadpool_expired_total：带截止时间的任务在出队时已过期而被丢弃的累计数量
+     *
+     * 线程池重建后计数从0开始，Prometheus按Counter重置处理，rate()不会出现负值
+     */
+    private static final class CounterCollector extends Collector {
+
+        private static final List<String> POOL_LABEL = Collections.singletonList("pool");
+
+        @Override
+        public List<MetricFamilySamples> collect() {
+            CounterMetricFamily submitted = new CounterMetricFamily("threadpool_submitted_total",
+                    "Tasks submitted to the pool, including rejected ones", POOL_LABEL);
+            CounterMetricFamily coalesced = new CounterMetricFamily("threadpool_coalesced_total",
+                    "Submissions coalesced into a queued task", POOL_LABEL);
+            CounterMetricFamily limited = new CounterMetricFamily("threadpool_limited_total",
+                    "Submissions turned away by the adaptive concurrency limit", POOL_LABEL);
+            CounterMetricFamily expired = new CounterMetricFamily("threadpool_expired_total",
+                    "Tasks dropped at dequeue because their deadline had passed", POOL_LABEL);
+            for (SmartExecutor pool : ThreadPoolManager.getAllPools()) {
+                PoolMetrics metrics = pool.getMetrics();
+                List<String> labels = Collections.singletonList(metrics.getPoolName());
+                submitted.addMetric(labels, metrics.getSubmittedCount());
+                coalesced.addMetric(labels, metrics.getCoalescedCount());
+                limited.addMetric(labels, metrics.getLimitedCount());
+                expired.addMetric(labels, metrics.getExpiredCount());
+            }
+            return Arrays.asList(submitted, coalesced, limited, expired);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.smart.pool.starter.annotation;
+
+/**
+ * 线程数确定方式
+ *
+ * 取值说明：
+ * - FIXED：使用注解中的corePoolSize、maxPoolSize
+ * - CPU_BOUND：线程数等于容器可用CPU数，适合计算密集型任务
+ * - IO_BOUND：线程数 = CPU数 × targetUtilization × (1 + waitComputeRatio)，适合阻塞型任务
+ *
+ * CPU_BOUND和IO_BOUND的CPU数从cgroup配额读取，配额变化时线程数自动随之调整。
+ *
+ * @author Smart Thread Pool
+ * @since 1.0.0
+ * @see SmartPool#sizing()
+ */
+public enum SizingMode {
+
+    FIXED,
+
+    CPU_BOUND,
+
+    IO_BOUND
+}
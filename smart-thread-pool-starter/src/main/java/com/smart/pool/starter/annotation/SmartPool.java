@@ -1,5 +1,7 @@
 package com.smart.pool.starter.annotation;
 
+import com.smart.pool.core.queue.QueueType;
+
 import java.lang.annotation.*;
 
 /**
@@ -27,7 +29,7 @@ import java.lang.annotation.*;
  *         corePoolSize = 2,
  *         maxPoolSize = 16,
  *         queueCapacity = 200,
- *         scalingPolicy = "AGGRESSIVE",
+ *         scalingPolicy = "PID",
  *         highLoadThreshold = 0.8,
  *         lowLoadThreshold = 0.2,
  *         dependsOn = {"order-pool"}
@@ -43,7 +45,8 @@ import java.lang.annotation.*;
  *
  * 扩缩容策略说明：
  * - SMOOTH：平滑调整，避免突然的线程数变化
- * - AGGRESSIVE：快速响应负载变化，适合突发流量场景
+ * - PID：按排队延迟快速响应负载变化，适合突发流量场景
+ * - LITTLE：按到达速率和服务时间估算所需线程数
  * - STABLE：固定大小，不进行自动调整
  *
  * 监控指标：
@@ -95,7 +98,8 @@ public @interface SmartPool {
      * 最大线程数
      *
      * 线程池允许创建的最大线程数量。
-     * 当队列满时，线程池会创建新线程直到达到这个上限。
+     * 当队列满时，线程池会创建新线程直到达到这个上限；
+     * queueType为EAGER时先创建线程直到达到这个上限，之后才排队。
      *
      * 设置建议：
      * - 考虑系统资源限制和线程切换开销
@@ -105,19 +109,86 @@ public @interface SmartPool {
      */
     int maxPoolSize() default 8;
 
+    /**
+     * 线程数确定方式
+     *
+     * 容器的CPU配额各不相同时，写死的线程数在小配额容器中过多、在大配额容器中不足。
+     * 设为CPU_BOUND或IO_BOUND后按cgroup配额计算线程数，corePoolSize和maxPoolSize不再生效，
+     * 配额变化时线程数自动随之调整。
+     *
+     * @return 线程数确定方式，默认FIXED
+     */
+    SizingMode sizing() default SizingMode.FIXED;
+
+    /**
+     * 目标CPU利用率（0~1]
+     *
+     * 仅在sizing为IO_BOUND时生效。
+     *
+     * @return 目标CPU利用率，默认0.8
+     */
+    double targetUtilization() default 0.8;
+
+    /**
+     * 任务等待时间与计算时间之比
+     *
+     * 仅在sizing为IO_BOUND时生效。例如任务平均计算10毫秒、等待远程调用90毫秒时为9。
+     *
+     * @return 等待/计算比，默认1
+     */
+    double waitComputeRatio() default 1.0;
+
     /**
      * 队列容量
      *
      * 任务队列的最大容量。当所有核心线程都在工作时，
      * 新任务会被放入队列等待执行。
      *
-     * 队列类型：LinkedBlockingQueue
+     * 队列类型：由queueType指定，默认为可调整容量的链表队列
      * 建议设置：根据任务峰值和平均处理时间评估
      *
      * @return 队列容量，默认100
      */
     int queueCapacity() default 100;
 
+    /**
+     * 工作队列类型
+     *
+     * 可选值：
+     * - RESIZABLE_LINKED：容量可在运行时调整的链表队列
+     * - EAGER：优先扩容线程，线程数达到maxPoolSize之前不排队，适合对延迟敏感的线程池
+     * - PRIORITY：按任务优先级出队，同优先级先进先出，等待越久越靠前，见priorityAgingMillis
+     * - BUCKETED_PRIORITY：优先级0~15的分级桶队列，入队出队为常数时间，不老化
+     * - LINKED：JDK LinkedBlockingQueue
+     * - ARRAY：JDK ArrayBlockingQueue
+     * - MPMC：无锁数组环形缓冲区，适合大量线程并发提交，容量向上取整为2的幂
+     *
+     * @return 工作队列类型，默认RESIZABLE_LINKED
+     */
+    QueueType queueType() default QueueType.RESIZABLE_LINKED;
+
+    /**
+     * 优先级队列的老化时间（毫秒）
+     *
+     * 仅在queueType为PRIORITY时生效。任务在队列中每等待这么长时间，
+     * 相当于优先级提高一级，避免低优先级任务被持续的高优先级流量饿死。
+     * 设置为0表示严格按优先级出队。
+     *
+     * @return 老化时间，默认1000毫秒
+     */
+    long priorityAgingMillis() default 1000;
+
+    /**
+     * 工作线程单次批量出队的最大任务数
+     *
+     * 大于1时工作线程按队列深度一次搬运多个任务到本线程缓冲区再逐个执行，
+     * 减少微任务场景下每个任务的队列加锁和唤醒开销。
+     * 每个任务的执行回调和耗时统计不受影响。
+     *
+     * @return 最大批量，默认1（不批量出队）
+     */
+    int drainBatchSize() default 1;
+
     /**
      * 线程空闲存活时间（秒）
      *
@@ -212,8 +283,11 @@ public @interface SmartPool {
      *
      * 策略对比：
      * - SMOOTH：渐进式调整，每次增减1个线程，适合稳定业务
-     * - AGGRESSIVE：快速调整，可一次增减多个线程，适合突发流量
+     * - PID：以p99排队延迟20毫秒为目标，一个周期可增减多个线程，适合突发流量
+     * - LITTLE：按利特尔法则（到达速率×平均服务时间）估算所需线程数，适合负载平稳变化的业务
      * - STABLE：禁用自动调整，适合对线程数有严格要求的场景
+     * - 其他值：按名称绑定AdaptiveStrategyManager中注册的策略（AdaptiveStrategy#getName，不区分大小写），
+     *   找不到对应策略时使用默认策略链
      *
      * 触发条件：
      * - 高负载：活跃线程数/最大线程数 > highLoadThreshold
@@ -228,16 +302,28 @@ public @interface SmartPool {
      *
      * 系统检查负载并决定是否进行扩缩容的时间间隔。
      * 仅当scalingPolicy不为"STABLE"时生效。
+     * 每个线程池按自己的周期调节，所有线程池共用一个调度线程（AdjustmentScheduler）。
      *
      * 设置建议：
-     * - 高并发场景：1-3秒，快速响应负载变化
+     * - 高并发场景：1-3秒，快速响应负载变化，需要亚秒级响应时使用adjustIntervalMillis
      * - 一般业务：5-10秒，平衡响应速度和系统开销
      * - 低负载场景：10-30秒，减少不必要的检查
+     * - 夜间批处理：数分钟，避免频繁调整
      *
-     * @return 调整周期，默认5秒
+     * @return 调整周期，默认5秒，小于等于0表示使用AdjustmentScheduler的默认周期
      */
     int adjustIntervalSeconds() default 5;
 
+    /**
+     * 动态调整周期（毫秒）
+     *
+     * 大于0时优先于adjustIntervalSeconds，用于亚秒级的调节周期，例如200表示每200毫秒调节一次。
+     * 最小为10毫秒。周期越短，调节策略对突发负载的响应越快，PID等按实际间隔计算的策略不需要重新调参。
+     *
+     * @return 调整周期，默认0表示使用adjustIntervalSeconds
+     */
+    long adjustIntervalMillis() default 0L;
+
     /**
      * 最大负载阈值（0~1）
      *
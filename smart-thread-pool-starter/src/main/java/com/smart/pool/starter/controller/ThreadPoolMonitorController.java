@@ -1,6 +1,6 @@
 package com.smart.pool.starter.controller;
 
-import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartExecutor;
 import com.smart.pool.core.ThreadPoolManager;
 import com.smart.pool.core.metrics.PoolMetrics;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -106,7 +106,7 @@ public class ThreadPoolMonitorController {
     public List<PoolMetrics> metrics() {
         return ThreadPoolManager.getAllPools()
                 .stream()
-                .map(DynamicThreadPoolExecutor::getMetrics)
+                .map(SmartExecutor::getMetrics)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.smart.pool.starter.manager;
 
 import com.smart.pool.core.DynamicThreadPoolExecutor;
+import com.smart.pool.core.SmartPoolBuilder;
 import com.smart.pool.core.ThreadPoolManager;
+import com.smart.pool.core.queue.QueueType;
 import com.smart.pool.core.strategy.AdaptiveStrategy;
+import com.smart.pool.starter.annotation.SizingMode;
 import com.smart.pool.starter.annotation.SmartPool;
 import org.springframework.beans.BeansException;
 import org.springframework.context.annotation.Lazy;
@@ -10,8 +13,6 @@ import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -37,9 +38,9 @@ import java.util.concurrent.TimeUnit;
  * 5. 通过反射将线程池实例注入到目标字段
  *
  * 线程池配置：
- * - 存活时间：60秒（空闲线程回收时间）
- * - 队列类型：LinkedBlockingQueue（无界队列）
- * - 线程工厂：Executors.defaultThreadFactory()
+ * - 通过SmartPoolBuilder构建，自动注册到ThreadPoolManager
+ * - 线程数、队列容量、队列类型、存活时间、核心线程超时：来自@SmartPool注解
+ * - 线程工厂：SmartPoolBuilder默认线程工厂
  * - 拒绝策略：ThreadPoolExecutor.AbortPolicy()
  *
  * 异常处理：
@@ -93,17 +94,21 @@ public class SmartThreadPoolRegistrar implements BeanPostProcessor {
      * 1. 获取Bean类的所有声明字段（包括私有字段）
      * 2. 遍历字段，识别带有@SmartPool注解的字段
      * 3. 提取注解参数，确定线程池名称（注解name优先，字段名备选）
-     * 4. 创建DynamicThreadPoolExecutor实例，配置核心参数
-     * 5. 注册到ThreadPoolManager进行生命周期管理
+     * 4. 通过SmartPoolBuilder按注解参数创建DynamicThreadPoolExecutor实例
+     * 5. 由SmartPoolBuilder注册到ThreadPoolManager进行生命周期管理
      * 6. 通过反射设置字段可访问性并注入线程池实例
      *
      * 线程池配置详解：
      * - poolName：线程池唯一标识，用于监控和管理
      * - corePoolSize：核心线程数，来自@SmartPool注解
      * - maxPoolSize：最大线程数，来自@SmartPool注解
-     * - keepAliveTime：60秒，空闲线程回收时间
-     * - workQueue：LinkedBlockingQueue，无界队列设计
-     * - threadFactory：默认线程工厂，标准化线程创建
+     * - sizing：CPU_BOUND/IO_BOUND时按cgroup CPU配额计算线程数，替代corePoolSize和maxPoolSize
+     * - queueCapacity / queueType：有界工作队列的容量和实现，来自@SmartPool注解
+     * - priorityAgingMillis：优先级队列的老化时间，仅PRIORITY队列生效
+     * - drainBatchSize：工作线程单次批量出队的最大任务数
+     * - scalingPolicy：按名称绑定到AdaptiveStrategyManager中的调节策略，STABLE表示不调节
+     * - keepAliveTime / allowCoreThreadTimeout：来自@SmartPool注解
+     * - threadFactory：SmartPoolBuilder默认线程工厂，标准化线程命名
      * - handler：AbortPolicy，任务拒绝时抛出异常
      *
      * 命名策略：
@@ -140,18 +145,30 @@ public class SmartThreadPoolRegistrar implements BeanPostProcessor {
 
                 String poolName = annotation.name().isEmpty() ? field.getName() : annotation.name();
 
-                DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
-                        poolName,
-                        annotation.corePoolSize(),
-                        annotation.maxPoolSize(),
-                        60,
-                        TimeUnit.SECONDS,
-                        new LinkedBlockingQueue<>(),
-                        Executors.defaultThreadFactory(),
-                        new ThreadPoolExecutor.AbortPolicy()
-                );
-
-                ThreadPoolManager.register(poolName, executor);
+                SmartPoolBuilder builder = SmartPoolBuilder.create(poolName)
+                        .corePoolSize(annotation.corePoolSize())
+                        .maxPoolSize(annotation.maxPoolSize())
+                        .queueCapacity(annotation.queueCapacity())
+                        .queueType(annotation.queueType())
+                        .keepAliveTime(annotation.keepAliveSeconds())
+                        .allowCoreThreadTimeOut(annotation.allowCoreThreadTimeout())
+                        .drainBatch(annotation.drainBatchSize())
+                        .adaptiveStrategies(annotation.scalingPolicy())
+                        .rejectedHandler(new ThreadPoolExecutor.AbortPolicy());
+                if (annotation.sizing() == SizingMode.CPU_BOUND) {
+                    builder.cpuBound();
+                } else if (annotation.sizing() == SizingMode.IO_BOUND) {
+                    builder.ioBound(annotation.targetUtilization(), annotation.waitComputeRatio());
+                }
+                if (annotation.adjustIntervalMillis() > 0) {
+                    builder.adjustInterval(annotation.adjustIntervalMillis(), TimeUnit.MILLISECONDS);
+                } else if (annotation.adjustIntervalSeconds() > 0) {
+                    builder.adjustInterval(annotation.adjustIntervalSeconds(), TimeUnit.SECONDS);
+                }
+                if (annotation.queueType() == QueueType.PRIORITY) {
+                    builder.priorityAging(annotation.priorityAgingMillis(), TimeUnit.MILLISECONDS);
+                }
+                DynamicThreadPoolExecutor executor = builder.build();
 
                 field.setAccessible(true);
                 try {